@@ -0,0 +1,67 @@
+package org.example.mapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.dto.response.TicketResponse;
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+import org.example.repository.TicketFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The response side of a listing: MapStruct mapping of entities to {@link TicketResponse}
+ * and Jackson serialization of the mapped list, configured like Spring Boot's ObjectMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicketResponseBenchmark {
+
+    @Param({"1", "1000"})
+    public int tickets;
+
+    private TicketMapper mapper;
+    private ObjectWriter writer;
+    private List<TicketEntity> entities;
+    private List<TicketResponse> responses;
+
+    @Setup
+    public void setUp() {
+        mapper = new TicketMapperImpl();
+        writer = new ObjectMapper().registerModule(new JavaTimeModule()).writer();
+        entities = new ArrayList<>(tickets);
+        for (int i = 0; i < tickets; i++) {
+            entities.add(TicketFixtures.ticket(i, TicketStatus.values()[i % TicketStatus.values().length]));
+        }
+        responses = entities.stream().map(mapper::toResponse).toList();
+    }
+
+    @Benchmark
+    public List<TicketResponse> toResponse() {
+        return entities.stream().map(mapper::toResponse).toList();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(responses);
+    }
+}
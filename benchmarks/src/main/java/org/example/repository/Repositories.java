@@ -0,0 +1,33 @@
+package org.example.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.client.GoogleSheetsProperties;
+import org.example.client.SheetsRequestExecutor;
+import org.example.client.SheetsServiceProvider;
+import org.example.repository.snapshot.SnapshotProperties;
+import org.example.repository.wal.WalProperties;
+
+/**
+ * Wires a {@link GoogleSheetsTicketRepository} the way Spring does, with write-behind, WAL and sync disabled.
+ */
+public final class Repositories {
+
+    public static final String SPREADSHEET_ID = "benchmark";
+    public static final String TAB_NAME = "List 1";
+
+    private Repositories() {
+    }
+
+    public static GoogleSheetsTicketRepository sheets(SheetsServiceProvider provider, TicketStore store) {
+        GoogleSheetsProperties properties = new GoogleSheetsProperties();
+        properties.setSpreadsheetId(SPREADSHEET_ID);
+        properties.setTabName(TAB_NAME);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new GoogleSheetsTicketRepository(provider, store, properties, meterRegistry, new WalProperties(),
+                new SheetsRequestExecutor(meterRegistry, properties), new SnapshotProperties());
+    }
+
+    public static TicketStore store() {
+        return new TicketStore(event -> { }, true);
+    }
+}
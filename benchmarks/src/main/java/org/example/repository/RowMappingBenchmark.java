@@ -0,0 +1,47 @@
+package org.example.repository;
+
+import org.example.entity.TicketEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning one sheet row into a {@link TicketEntity} with {@link TicketRowDecoder}: cell access,
+ * the status lookup, parent ID deduplication and up to two timestamp parses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMappingBenchmark {
+
+    private static final int ROWS = 1024;
+
+    private TicketRowDecoder decoder;
+    private List<List<Object>> rows;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        decoder = new TicketRowDecoder();
+        rows = TicketFixtures.rows(ROWS, 42);
+    }
+
+    @Benchmark
+    public TicketEntity decode() {
+        next = (next + 1) & (ROWS - 1);
+        return decoder.decode(rows.get(next));
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.repository;
+
+import com.google.api.client.json.Json;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.services.sheets.v4.Sheets;
+import com.google.api.services.sheets.v4.model.AppendValuesResponse;
+import com.google.api.services.sheets.v4.model.BatchUpdateValuesResponse;
+import com.google.api.services.sheets.v4.model.UpdateValuesResponse;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import org.example.client.SheetsServiceProvider;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * {@link SheetsServiceProvider} backed by an in-process HTTP transport, so benchmarks exercise the real
+ * client request building and JSON parsing without network access.
+ * Every read returns the same serialized tab; writes are acknowledged with a fixed one-row response.
+ */
+public class StubSheetsServiceProvider implements SheetsServiceProvider {
+
+    private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+
+    private final Sheets sheets;
+
+    public StubSheetsServiceProvider(String tabName, List<List<Object>> tab) {
+        byte[] readResponse = toJson(new ValueRange().setRange(tabName + "!A1:F" + tab.size()).setValues(tab));
+        byte[] appendResponse = toJson(new AppendValuesResponse()
+                .setUpdates(new UpdateValuesResponse().setUpdatedRange(tabName + "!A" + (tab.size() + 1) + ":F" + (tab.size() + 1))));
+        byte[] updateResponse = toJson(new UpdateValuesResponse().setUpdatedRange(tabName + "!A2:F2").setUpdatedRows(1));
+        byte[] batchUpdateResponse = toJson(new BatchUpdateValuesResponse().setTotalUpdatedRows(1));
+
+        MockHttpTransport transport = new MockHttpTransport() {
+            @Override
+            public MockLowLevelHttpRequest buildRequest(String method, String url) {
+                byte[] content;
+                if ("GET".equals(method)) {
+                    content = readResponse;
+                } else if (url.contains(":append")) {
+                    content = appendResponse;
+                } else if (url.contains(":batchUpdate")) {
+                    content = batchUpdateResponse;
+                } else {
+                    content = updateResponse;
+                }
+                return new MockLowLevelHttpRequest(url).setResponse(new MockLowLevelHttpResponse()
+                        .setContentType(Json.MEDIA_TYPE)
+                        .setContent(content));
+            }
+        };
+        this.sheets = new Sheets.Builder(transport, JSON_FACTORY, null)
+                .setApplicationName("benchmarks")
+                .build();
+    }
+
+    @Override
+    public Sheets getSheetsService() {
+        return sheets;
+    }
+
+    private static byte[] toJson(Object value) {
+        try {
+            return JSON_FACTORY.toByteArray(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
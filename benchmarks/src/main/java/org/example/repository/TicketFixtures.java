@@ -0,0 +1,76 @@
+package org.example.repository;
+
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic ticket data for the benchmarks. The same seed always produces the same tickets,
+ * so runs are comparable across machines and commits.
+ */
+public final class TicketFixtures {
+
+    public static final List<Object> HEADER = List.of("ID", "Description", "Parent ID", "Status", "Created At", "Updated At");
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final String[] DESCRIPTIONS = {
+            "Printer on the third floor is out of toner",
+            "VPN disconnects every few minutes",
+            "Cannot log in to the expense portal after password reset",
+            "Monitor flickers when connected through the docking station",
+            "Request access to the shared finance drive"
+    };
+
+    private TicketFixtures() {
+    }
+
+    /**
+     * Generates sheet rows as the Sheets API returns them: strings, with trailing empty cells omitted.
+     *
+     * @param count the number of rows, without header
+     * @param seed  the random seed
+     * @return the generated rows
+     */
+    public static List<List<Object>> rows(int count, long seed) {
+        Random random = new Random(seed);
+        List<List<Object>> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = "AD-" + new UUID(random.nextLong(), random.nextLong());
+            String parentId = i > 0 && random.nextInt(10) == 0 ? "AD-parent-" + random.nextInt(i) : "";
+            TicketStatus status = TicketStatus.values()[random.nextInt(TicketStatus.values().length)];
+            LocalDateTime createdAt = EPOCH.plusSeconds(i * 60L).plusNanos(random.nextInt(1_000_000) * 1000L);
+            String description = DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)];
+            if (status == TicketStatus.OPEN) {
+                rows.add(List.of(id, description, parentId, status.name(), createdAt.toString()));
+            } else {
+                rows.add(List.of(id, description, parentId, status.name(), createdAt.toString(),
+                        createdAt.plusHours(1 + random.nextInt(48)).toString()));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Generates sheet rows including the header row, as read from a whole tab.
+     */
+    public static List<List<Object>> tab(int count, long seed) {
+        List<List<Object>> tab = new ArrayList<>(count + 1);
+        tab.add(HEADER);
+        tab.addAll(rows(count, seed));
+        return tab;
+    }
+
+    public static TicketEntity ticket(int index, TicketStatus status) {
+        return TicketEntity.builder()
+                .id("AD-bench-" + index)
+                .description(DESCRIPTIONS[index % DESCRIPTIONS.length])
+                .status(status)
+                .createdAt(EPOCH.plusSeconds(index))
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.repository;
+
+import org.example.exception.TicketRepositoryException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start of the repository: one full-tab read through the stubbed Sheets client,
+ * JSON parsing, row mapping and indexing into a fresh {@link TicketStore}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TicketLoadBenchmark {
+
+    @Param({"1000", "100000"})
+    public int tickets;
+
+    private StubSheetsServiceProvider provider;
+
+    @Setup
+    public void setUp() {
+        provider = new StubSheetsServiceProvider(Repositories.TAB_NAME, TicketFixtures.tab(tickets, 42));
+    }
+
+    @Benchmark
+    public int loadAll() throws TicketRepositoryException {
+        return Repositories.sheets(provider, Repositories.store()).findAll().size();
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.CacheProperties;
+import org.example.config.TicketSearchProperties;
+import org.example.entity.TicketEntity;
+import org.example.exception.TicketRepositoryException;
+import org.example.repository.GoogleSheetsTicketRepository;
+import org.example.repository.Repositories;
+import org.example.repository.StubSheetsServiceProvider;
+import org.example.repository.TicketFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TicketSearchIndex#search} over a store loaded through the stubbed Sheets client. The fixtures use five
+ * descriptions, so every word matches a fifth of the tickets or more, which is the expensive case for ranking.
+ *
+ * <ul>
+ *     <li>{@code word}: one whole word</li>
+ *     <li>{@code prefix}: one letter, expanded to every indexed word starting with it</li>
+ *     <li>{@code allWords}: two words that must both occur</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TicketSearchBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int tickets;
+
+    private TicketSearchIndex index;
+
+    @Setup
+    public void setUp() throws TicketRepositoryException {
+        GoogleSheetsTicketRepository repository = Repositories.sheets(
+                new StubSheetsServiceProvider(Repositories.TAB_NAME, TicketFixtures.tab(tickets, 42)), Repositories.store());
+        index = new TicketSearchIndex(repository,
+                new TicketByIdCache(repository, new CacheProperties(), new SimpleMeterRegistry(), Runnable::run),
+                new TicketSearchProperties());
+        index.search("warmup", 1);
+    }
+
+    @Benchmark
+    public List<TicketEntity> word() throws TicketRepositoryException {
+        return index.search("vpn", 20);
+    }
+
+    @Benchmark
+    public List<TicketEntity> prefix() throws TicketRepositoryException {
+        return index.search("p", 20);
+    }
+
+    @Benchmark
+    public List<TicketEntity> allWords() throws TicketRepositoryException {
+        return index.search("printer toner", 20);
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.CacheProperties;
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+import org.example.exception.TicketRepositoryException;
+import org.example.mapper.TicketMapperImpl;
+import org.example.repository.ExecutorAsyncTicketRepository;
+import org.example.repository.GoogleSheetsTicketRepository;
+import org.example.repository.Repositories;
+import org.example.repository.StubSheetsServiceProvider;
+import org.example.repository.TicketCursor;
+import org.example.repository.TicketFixtures;
+import org.example.repository.TicketStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ManageTicketsServiceImpl#getTicketsByStatus} over a store loaded through the stubbed Sheets client.
+ *
+ * <ul>
+ *     <li>{@code listing}: unchanged status listing, served from the partition snapshot</li>
+ *     <li>{@code listingAfterWrite}: listing right after a ticket of that status changed, so the snapshot is rebuilt</li>
+ *     <li>{@code page}: one page of 100 tickets after a cursor in the middle of the partition</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TicketsByStatusBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int tickets;
+
+    private ExecutorAsyncTicketRepository asyncRepository;
+    private ManageTicketsServiceImpl service;
+    private TicketStore store;
+    private TicketEntity changing;
+    private TicketCursor middle;
+
+    @Setup
+    public void setUp() throws TicketRepositoryException {
+        store = Repositories.store();
+        GoogleSheetsTicketRepository repository = Repositories.sheets(
+                new StubSheetsServiceProvider(Repositories.TAB_NAME, TicketFixtures.tab(tickets, 42)), store);
+        TicketIdGenerator idGenerator = () -> "AD-" + UUID.randomUUID();
+        asyncRepository = new ExecutorAsyncTicketRepository(repository);
+        service = new ManageTicketsServiceImpl(repository, new TicketMapperImpl(), idGenerator,
+                new TicketByIdCache(repository, new CacheProperties(), new SimpleMeterRegistry(), asyncRepository.executor()),
+                asyncRepository);
+
+        List<TicketEntity> open = service.getTicketsByStatus(TicketStatus.OPEN);
+        changing = open.get(0).toBuilder().build();
+        middle = TicketCursor.of(open.get(open.size() / 2));
+    }
+
+    @TearDown
+    public void tearDown() {
+        asyncRepository.stop();
+    }
+
+    @Benchmark
+    public List<TicketEntity> listing() throws TicketRepositoryException {
+        return service.getTicketsByStatus(TicketStatus.OPEN);
+    }
+
+    @Benchmark
+    public List<TicketEntity> listingAfterWrite() throws TicketRepositoryException {
+        store.put(changing);
+        return service.getTicketsByStatus(TicketStatus.OPEN);
+    }
+
+    @Benchmark
+    public List<TicketEntity> page() throws TicketRepositoryException {
+        return service.getTicketsByStatus(TicketStatus.OPEN, middle, 100);
+    }
+}
@@ -12,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.exception.GoogleSheetsClientException;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
 import org.springframework.core.io.ClassPathResource;
 import com.google.api.client.json.jackson2.JacksonFactory;
 import org.springframework.stereotype.Component;
@@ -29,10 +30,14 @@ import java.util.List;
  *     <li><code>google.sheets.credentials-path</code>: Path to the service account credentials file</li>
  *     <li><code>google.sheets.application-name</code>: Application name for Google Sheets API</li>
  * </ul>
+ *
+ * <p>Replaced by {@link org.example.client.emulator.SheetsEmulatorClient} when the {@code sheets-emulator} profile is active,
+ * and not created at all when only the {@code jpa} profile is active, which does not use Google Sheets.</p>
  */
 @Slf4j
 @Getter
 @Component
+@Profile("!sheets-emulator & (!jpa | tiered)")
 @RequiredArgsConstructor
 public class GoogleSheetsClient implements SheetsServiceProvider {
 
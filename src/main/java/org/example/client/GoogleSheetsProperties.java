@@ -3,10 +3,100 @@ package org.example.client;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "google.sheets")
 @Data
 public class GoogleSheetsProperties {
     private String credentialsPath;
     private String applicationName;
-}
+    private String spreadsheetId;
+    private String tabName;
+    private WriteBehind writeBehind = new WriteBehind();
+    private Sync sync = new Sync();
+    private Limiter limiter = new Limiter();
+    private Retry retry = new Retry();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Quota quota = new Quota();
+
+    /**
+     * Settings of the write-behind mode, in which saves are acknowledged once queued
+     * and written to the sheet in batches.
+     */
+    @Data
+    public static class WriteBehind {
+        private boolean enabled = false;
+        private int batchSize = 100;
+        private Duration flushInterval = Duration.ofSeconds(2);
+        private int queueCapacity = 10_000;
+        private Duration offerTimeout = Duration.ofMillis(500);
+    }
+
+    /**
+     * Settings of the background synchronization that picks up rows written to the sheet by others.
+     * New rows are fetched every {@code interval}; the whole tab is compared every {@code reconcileInterval}.
+     */
+    @Data
+    public static class Sync {
+        private boolean enabled = false;
+        private Duration interval = Duration.ofSeconds(30);
+        private Duration reconcileInterval = Duration.ofMinutes(10);
+    }
 
+    /**
+     * Settings of the limiter that bounds the number of Sheets calls in flight, so a large number of
+     * concurrent requests, e.g. on virtual threads, queues up instead of flooding the API.
+     * Callers wait up to {@code acquireTimeout} for a permit; 0 permits disables the limiter.
+     * Reads and writes additionally have their own bulkhead, so a burst of one kind cannot take every permit.
+     */
+    @Data
+    public static class Limiter {
+        private int maxConcurrentRequests = 32;
+        private int maxConcurrentReads = 24;
+        private int maxConcurrentWrites = 16;
+        private Duration acquireTimeout = Duration.ofSeconds(10);
+    }
+
+    /**
+     * Settings of the retry of calls that failed with a transient error (429, 5xx or a network error).
+     * The delay before attempt {@code n + 1} is drawn uniformly from {@code [0, initialBackoff * 2^(n-1)]},
+     * capped at {@code maxBackoff}, and is never shorter than a Retry-After sent by the API.
+     * 1 attempt disables retries.
+     */
+    @Data
+    public static class Retry {
+        private int maxAttempts = 4;
+        private Duration initialBackoff = Duration.ofMillis(200);
+        private Duration maxBackoff = Duration.ofSeconds(10);
+    }
+
+    /**
+     * Settings of the circuit breaker that stops calling the API after {@code failureThreshold} consecutive
+     * transient failures. Calls are rejected for {@code openDuration}; then a single trial call decides
+     * whether the circuit closes again.
+     */
+    @Data
+    public static class CircuitBreaker {
+        private boolean enabled = true;
+        private int failureThreshold = 5;
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Settings of the client-side quota scheduler, which spends the per-minute read and write quotas of the API
+     * through one token bucket each. Calls wait up to {@code maxWait} for a token, higher priorities first,
+     * and background calls leave {@code backgroundReserve} of each bucket to user requests.
+     * With {@code coalesceReads}, identical reads of the same priority that are in flight at the same time share one call,
+     * whether or not the quota is enabled.
+     */
+    @Data
+    public static class Quota {
+        private boolean enabled = false;
+        private int readRequestsPerWindow = 300;
+        private int writeRequestsPerWindow = 300;
+        private Duration window = Duration.ofMinutes(1);
+        private double backgroundReserve = 0.25;
+        private Duration maxWait = Duration.ofSeconds(10);
+        private boolean coalesceReads = false;
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.client;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Circuit breaker for the Sheets API.
+ *
+ * <p>While {@link State#CLOSED} every call is allowed. After {@code failureThreshold} consecutive transient failures
+ * the circuit opens and calls are rejected without reaching the API. Once {@code openDuration} has passed,
+ * the circuit becomes {@link State#HALF_OPEN} and lets a single trial call through: if it succeeds the circuit
+ * closes, otherwise it opens again.</p>
+ *
+ * <p>The state is only touched in short critical sections, never around a call.</p>
+ */
+class SheetsCircuitBreaker {
+
+    enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final Consumer<State> transitionListener;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    SheetsCircuitBreaker(int failureThreshold, Duration openDuration, Consumer<State> transitionListener) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.transitionListener = transitionListener;
+    }
+
+    /**
+     * Decides whether a call may be made now. An allowed call must be followed by
+     * {@link #onSuccess()} or {@link #onFailure()}.
+     *
+     * @return true if the call may go ahead
+     */
+    synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return false;
+                }
+                transition(State.HALF_OPEN);
+                trialInFlight = true;
+                return true;
+            default:
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    /**
+     * Records a call that reached the API and did not fail with a transient error.
+     */
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        if (state != State.CLOSED) {
+            transition(State.CLOSED);
+        }
+    }
+
+    /**
+     * Records a call that failed with a transient error.
+     */
+    synchronized void onFailure() {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            openedAt = System.nanoTime();
+            transition(State.OPEN);
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    /**
+     * @return the time left until a trial call is allowed, zero unless the circuit is open
+     */
+    synchronized Duration remainingOpenTime() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openNanos - (System.nanoTime() - openedAt)));
+    }
+
+    private void transition(State next) {
+        state = next;
+        transitionListener.accept(next);
+    }
+}
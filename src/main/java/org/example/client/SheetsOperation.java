@@ -0,0 +1,19 @@
+package org.example.client;
+
+/**
+ * Kind of Sheets values call, used to tag request metrics.
+ */
+public enum SheetsOperation {
+    READ,
+    APPEND,
+    UPDATE,
+    BATCH_UPDATE;
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+
+    public boolean isWrite() {
+        return this != READ;
+    }
+}
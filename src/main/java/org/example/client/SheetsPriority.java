@@ -0,0 +1,28 @@
+package org.example.client;
+
+/**
+ * Priority class of a Sheets call, used when calls compete for quota.
+ * Declared from highest to lowest priority.
+ */
+public enum SheetsPriority {
+    /**
+     * Writes made on behalf of an API or CLI request, including queued write-behind batches.
+     */
+    USER_WRITE,
+    /**
+     * Reads a request is waiting for, such as the initial load or a lookup of an unknown ticket.
+     */
+    USER_READ,
+    /**
+     * Reads of the background synchronization, which can always run a little later.
+     */
+    BACKGROUND;
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+
+    static SheetsPriority defaultFor(SheetsOperation operation) {
+        return operation.isWrite() ? USER_WRITE : USER_READ;
+    }
+}
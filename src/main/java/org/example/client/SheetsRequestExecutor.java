@@ -0,0 +1,539 @@
+package org.example.client;
+
+import com.google.api.client.googleapis.services.json.AbstractGoogleJsonClientRequest;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.services.sheets.v4.model.BatchUpdateValuesRequest;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.exception.SheetsRequestRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single point through which every Sheets API call is executed, so all calls are measured and limited the same way.
+ *
+ * <p>A fair semaphore bounds the number of calls in flight to <code>google.sheets.limiter.max-concurrent-requests</code>.
+ * Callers block until a permit is free, which is cheap on virtual threads, and fail with
+ * {@link SheetsRequestRejectedException} after <code>google.sheets.limiter.acquire-timeout</code>.
+ * Reads and writes also need a permit of their own bulkhead, sized by <code>google.sheets.limiter.max-concurrent-reads</code>
+ * and <code>max-concurrent-writes</code>.</p>
+ *
+ * <p>With <code>google.sheets.quota.enabled</code> every attempt first takes a token from the read or write
+ * {@link SheetsTokenBucket}, which refill at the per-minute quota of the API. Calls carry a {@link SheetsPriority}:
+ * user writes are served before user reads, and both before background synchronization, which also has to leave
+ * a reserve in each bucket. A call that gets no token within <code>google.sheets.quota.max-wait</code> is rejected
+ * with the time until the next token. The token is given back when the attempt is then rejected by the limiter or the
+ * circuit breaker, so calls that never reach the API do not spend quota. Concurrent identical reads of the same
+ * priority share a single call.</p>
+ *
+ * <p>Calls that fail with a transient error (429, 5xx or a network error) are retried up to
+ * <code>google.sheets.retry.max-attempts</code> times with exponential backoff and full jitter, waiting at least
+ * as long as a Retry-After header asks for. Appends are only retried on 429, since after any other failure
+ * the rows may already have been written. Permits are released while waiting for the next attempt.</p>
+ *
+ * <p>Transient failures also feed a {@link SheetsCircuitBreaker}. While it is open, calls fail at once with a
+ * {@link SheetsRequestRejectedException} that carries the remaining open time, instead of piling up on a struggling API.
+ * Reads are then still served from the in-memory store, which is updated whenever the sheet is reachable.</p>
+ *
+ * <p>Published meters, all tagged with the {@link SheetsOperation}:</p>
+ * <ul>
+ *     <li><code>sheets.requests</code>: latency timer, additionally tagged with the outcome</li>
+ *     <li><code>sheets.rows</code>: rows read or written per call</li>
+ *     <li><code>sheets.payload</code>: approximate size of the cell values read or written per call, in bytes</li>
+ *     <li><code>sheets.limiter.wait</code>: time spent waiting for a permit</li>
+ *     <li><code>sheets.limiter.rejected</code>: calls that did not get a permit in time</li>
+ *     <li><code>sheets.retries</code>: attempts repeated after a transient failure</li>
+ *     <li><code>sheets.circuit.rejected</code>: calls rejected because the circuit was open</li>
+ *     <li><code>sheets.quota.wait</code> and <code>sheets.quota.rejected</code>: time spent waiting for a quota token
+ *     and calls that got none in time, additionally tagged with the priority</li>
+ *     <li><code>sheets.reads.coalesced</code>: reads answered by a call another caller already had in flight</li>
+ * </ul>
+ * <p>The untagged gauge <code>sheets.limiter.in.flight</code> reports the calls currently holding a permit,
+ * <code>sheets.bulkhead.in.flight</code> does the same per bulkhead, and <code>sheets.circuit.state</code> reports
+ * the circuit state as 0 (closed), 1 (half open) or 2 (open). Every state change counts in <code>sheets.circuit.transitions</code>.
+ * <code>sheets.quota.tokens</code> reports the tokens left in each bucket.</p>
+ */
+@Slf4j
+@Component
+public class SheetsRequestExecutor {
+
+    /**
+     * Per-cell allowance for the JSON quotes and separator around a value.
+     */
+    private static final int CELL_OVERHEAD = 3;
+
+    private final Map<SheetsOperation, Timer> successTimers = new EnumMap<>(SheetsOperation.class);
+    private final Map<SheetsOperation, Timer> failureTimers = new EnumMap<>(SheetsOperation.class);
+    private final Map<SheetsOperation, DistributionSummary> rows = new EnumMap<>(SheetsOperation.class);
+    private final Map<SheetsOperation, DistributionSummary> payload = new EnumMap<>(SheetsOperation.class);
+    private final Map<SheetsOperation, Timer> permitWaits = new EnumMap<>(SheetsOperation.class);
+    private final Map<SheetsOperation, Counter> rejections = new EnumMap<>(SheetsOperation.class);
+    private final Map<SheetsOperation, Counter> retries = new EnumMap<>(SheetsOperation.class);
+    private final Map<SheetsOperation, Counter> circuitRejections = new EnumMap<>(SheetsOperation.class);
+
+    private final Semaphore permits;
+    private final int maxConcurrentRequests;
+    private final Duration acquireTimeout;
+
+    private final Semaphore readBulkhead;
+    private final Semaphore writeBulkhead;
+
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+
+    private final SheetsCircuitBreaker circuitBreaker;
+
+    private final SheetsTokenBucket readQuota;
+    private final SheetsTokenBucket writeQuota;
+    private final Duration quotaMaxWait;
+    private final Map<SheetsOperation, Map<SheetsPriority, Timer>> quotaWaits = new EnumMap<>(SheetsOperation.class);
+    private final Map<SheetsOperation, Map<SheetsPriority, Counter>> quotaRejections = new EnumMap<>(SheetsOperation.class);
+
+    private final boolean coalesceReads;
+    private final Map<String, CompletableFuture<Object>> readsInFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedReads;
+
+    public SheetsRequestExecutor(MeterRegistry meterRegistry, GoogleSheetsProperties properties) {
+        GoogleSheetsProperties.Limiter limiter = properties.getLimiter();
+        this.maxConcurrentRequests = limiter.getMaxConcurrentRequests();
+        this.acquireTimeout = limiter.getAcquireTimeout();
+        this.permits = maxConcurrentRequests > 0 ? new Semaphore(maxConcurrentRequests, true) : null;
+        if (permits != null) {
+            Gauge.builder("sheets.limiter.in.flight", permits, semaphore -> maxConcurrentRequests - semaphore.availablePermits())
+                    .description("Sheets calls currently holding a limiter permit")
+                    .register(meterRegistry);
+        }
+        this.readBulkhead = bulkhead(meterRegistry, "read", limiter.getMaxConcurrentReads());
+        this.writeBulkhead = bulkhead(meterRegistry, "write", limiter.getMaxConcurrentWrites());
+
+        GoogleSheetsProperties.Retry retry = properties.getRetry();
+        this.maxAttempts = Math.max(1, retry.getMaxAttempts());
+        this.initialBackoffNanos = retry.getInitialBackoff().toNanos();
+        this.maxBackoffNanos = retry.getMaxBackoff().toNanos();
+
+        GoogleSheetsProperties.CircuitBreaker breaker = properties.getCircuitBreaker();
+        if (breaker.isEnabled()) {
+            Map<SheetsCircuitBreaker.State, Counter> transitions = new EnumMap<>(SheetsCircuitBreaker.State.class);
+            for (SheetsCircuitBreaker.State state : SheetsCircuitBreaker.State.values()) {
+                transitions.put(state, Counter.builder("sheets.circuit.transitions")
+                        .description("Changes of the Sheets circuit breaker state")
+                        .tag("state", state.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+            this.circuitBreaker = new SheetsCircuitBreaker(breaker.getFailureThreshold(), breaker.getOpenDuration(), state -> {
+                transitions.get(state).increment();
+                log.warn("Sheets circuit breaker is now {}", state.name().toLowerCase());
+            });
+            Gauge.builder("sheets.circuit.state", circuitBreaker, circuit -> circuit.state().ordinal())
+                    .description("Sheets circuit breaker state: 0 closed, 1 half open, 2 open")
+                    .register(meterRegistry);
+        } else {
+            this.circuitBreaker = null;
+        }
+
+        GoogleSheetsProperties.Quota quota = properties.getQuota();
+        this.quotaMaxWait = quota.getMaxWait();
+        this.coalesceReads = quota.isCoalesceReads();
+        this.coalescedReads = Counter.builder("sheets.reads.coalesced")
+                .description("Sheets reads answered by an identical call that was already in flight")
+                .register(meterRegistry);
+        if (quota.isEnabled()) {
+            this.readQuota = quotaBucket(meterRegistry, "read", quota.getReadRequestsPerWindow(), quota);
+            this.writeQuota = quotaBucket(meterRegistry, "write", quota.getWriteRequestsPerWindow(), quota);
+        } else {
+            this.readQuota = null;
+            this.writeQuota = null;
+        }
+
+        for (SheetsOperation operation : SheetsOperation.values()) {
+            Map<SheetsPriority, Timer> waits = new EnumMap<>(SheetsPriority.class);
+            Map<SheetsPriority, Counter> quotaRejected = new EnumMap<>(SheetsPriority.class);
+            for (SheetsPriority priority : SheetsPriority.values()) {
+                waits.put(priority, Timer.builder("sheets.quota.wait")
+                        .description("Time spent waiting for a Sheets quota token")
+                        .tag("operation", operation.tag())
+                        .tag("priority", priority.tag())
+                        .register(meterRegistry));
+                quotaRejected.put(priority, Counter.builder("sheets.quota.rejected")
+                        .description("Sheets calls rejected because no quota token became available in time")
+                        .tag("operation", operation.tag())
+                        .tag("priority", priority.tag())
+                        .register(meterRegistry));
+            }
+            quotaWaits.put(operation, waits);
+            quotaRejections.put(operation, quotaRejected);
+            successTimers.put(operation, timer(meterRegistry, operation, "success"));
+            failureTimers.put(operation, timer(meterRegistry, operation, "error"));
+            rows.put(operation, DistributionSummary.builder("sheets.rows")
+                    .description("Rows transferred per Sheets call")
+                    .tag("operation", operation.tag())
+                    .register(meterRegistry));
+            payload.put(operation, DistributionSummary.builder("sheets.payload")
+                    .description("Approximate size of the cell values transferred per Sheets call")
+                    .baseUnit("bytes")
+                    .tag("operation", operation.tag())
+                    .register(meterRegistry));
+            permitWaits.put(operation, Timer.builder("sheets.limiter.wait")
+                    .description("Time spent waiting for a Sheets limiter permit")
+                    .tag("operation", operation.tag())
+                    .register(meterRegistry));
+            rejections.put(operation, Counter.builder("sheets.limiter.rejected")
+                    .description("Sheets calls rejected because no limiter permit became free in time")
+                    .tag("operation", operation.tag())
+                    .register(meterRegistry));
+            retries.put(operation, Counter.builder("sheets.retries")
+                    .description("Sheets calls repeated after a transient failure")
+                    .tag("operation", operation.tag())
+                    .register(meterRegistry));
+            circuitRejections.put(operation, Counter.builder("sheets.circuit.rejected")
+                    .description("Sheets calls rejected because the circuit breaker was open")
+                    .tag("operation", operation.tag())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Executes a request with the default priority of its operation: {@link SheetsPriority#USER_WRITE} for writes
+     * and {@link SheetsPriority#USER_READ} for reads.
+     *
+     * @see #execute(SheetsOperation, SheetsPriority, AbstractGoogleJsonClientRequest)
+     */
+    public <T> T execute(SheetsOperation operation, AbstractGoogleJsonClientRequest<T> request) throws IOException {
+        return execute(operation, SheetsPriority.defaultFor(operation), request);
+    }
+
+    /**
+     * Executes a request, retrying transient failures, and records the latency, outcome and transferred rows
+     * of every attempt. A read that is identical to one already in flight with the same priority waits for that call
+     * and returns its response, which must then be treated as read-only.
+     *
+     * @param operation the kind of call, used as metric tag
+     * @param priority  the priority of the call when competing for quota
+     * @param request   the prepared request
+     * @param <T>       the response type
+     * @return the parsed response
+     * @throws SheetsRequestRejectedException if no quota token or permit becomes available in time, or the circuit is open
+     * @throws IOException if the call fails and is not retried, or the last attempt fails
+     */
+    public <T> T execute(SheetsOperation operation, SheetsPriority priority, AbstractGoogleJsonClientRequest<T> request)
+            throws IOException {
+        if (!coalesceReads || operation.isWrite()) {
+            return executeWithRetries(operation, priority, request);
+        }
+        String key = priority.tag() + " " + request.buildHttpRequestUrl().build();
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = readsInFlight.putIfAbsent(key, call);
+        if (inFlight != null) {
+            coalescedReads.increment();
+            return awaitCoalesced(inFlight);
+        }
+        try {
+            T response = executeWithRetries(operation, priority, request);
+            call.complete(response);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            readsInFlight.remove(key, call);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T awaitCoalesced(CompletableFuture<Object> inFlight) throws IOException {
+        try {
+            return (T) inFlight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a coalesced Sheets read");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private <T> T executeWithRetries(SheetsOperation operation, SheetsPriority priority, AbstractGoogleJsonClientRequest<T> request)
+            throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                acquireQuota(operation, priority);
+                try {
+                    return attempt(operation, request);
+                } catch (SheetsRequestRejectedException e) {
+                    releaseQuota(operation);
+                    throw e;
+                }
+            } catch (IOException e) {
+                long delay = attempt < maxAttempts && isRetryable(operation, e) ? backoffNanos(attempt, e) : -1;
+                if (delay < 0) {
+                    throw e;
+                }
+                retries.get(operation).increment();
+                log.debug("Retrying Sheets {} in {} ms after attempt {} failed: {}", operation.tag(),
+                        TimeUnit.NANOSECONDS.toMillis(delay), attempt, e.getMessage());
+                sleep(delay);
+            }
+        }
+    }
+
+    private <T> T attempt(SheetsOperation operation, AbstractGoogleJsonClientRequest<T> request) throws IOException {
+        Semaphore bulkhead = operation.isWrite() ? writeBulkhead : readBulkhead;
+        acquirePermits(operation, bulkhead);
+        try {
+            if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+                circuitRejections.get(operation).increment();
+                Duration retryAfter = circuitBreaker.remainingOpenTime();
+                throw new SheetsRequestRejectedException("The Sheets circuit breaker is open, calls resume in "
+                        + retryAfter.toSeconds() + " s", retryAfter);
+            }
+            long start = System.nanoTime();
+            try {
+                T response = request.execute();
+                successTimers.get(operation).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                recordOutcome(null);
+                recordTransfer(operation, operation == SheetsOperation.READ ? response : request.getJsonContent());
+                return response;
+            } catch (IOException | RuntimeException e) {
+                failureTimers.get(operation).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                recordOutcome(e);
+                throw e;
+            }
+        } finally {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    private void acquireQuota(SheetsOperation operation, SheetsPriority priority) throws IOException {
+        SheetsTokenBucket bucket = operation.isWrite() ? writeQuota : readQuota;
+        if (bucket == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = bucket.acquire(priority, quotaMaxWait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for Sheets quota");
+        } finally {
+            quotaWaits.get(operation).get(priority).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            quotaRejections.get(operation).get(priority).increment();
+            Duration retryAfter = bucket.timeUntilAvailable(priority);
+            throw new SheetsRequestRejectedException("No Sheets " + (operation.isWrite() ? "write" : "read")
+                    + " quota became available within " + quotaMaxWait, retryAfter);
+        }
+    }
+
+    private void releaseQuota(SheetsOperation operation) {
+        SheetsTokenBucket bucket = operation.isWrite() ? writeQuota : readQuota;
+        if (bucket != null) {
+            bucket.release();
+        }
+    }
+
+    private void acquirePermits(SheetsOperation operation, Semaphore bulkhead) throws IOException {
+        if (permits == null && bulkhead == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + acquireTimeout.toNanos();
+        try {
+            if (permits != null && !acquire(permits, deadline)) {
+                rejections.get(operation).increment();
+                throw new SheetsRequestRejectedException("No Sheets request permit became free within " + acquireTimeout
+                        + ", " + maxConcurrentRequests + " calls are in flight");
+            }
+            boolean acquired = false;
+            try {
+                acquired = bulkhead == null || acquire(bulkhead, deadline);
+            } finally {
+                // the global permit must not leak when the bulkhead wait times out or is interrupted
+                if (!acquired && permits != null) {
+                    permits.release();
+                }
+            }
+            if (!acquired) {
+                rejections.get(operation).increment();
+                throw new SheetsRequestRejectedException("No Sheets " + (operation.isWrite() ? "write" : "read")
+                        + " permit became free within " + acquireTimeout);
+            }
+        } finally {
+            permitWaits.get(operation).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static boolean acquire(Semaphore semaphore, long deadline) throws InterruptedIOException {
+        try {
+            return semaphore.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a Sheets request permit");
+        }
+    }
+
+    private void recordOutcome(Exception failure) {
+        if (circuitBreaker == null) {
+            return;
+        }
+        if (failure instanceof IOException e && isTransient(e)) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+    }
+
+    /**
+     * A failure is transient if the API asked to slow down (429), failed on its side (5xx)
+     * or could not be reached at all.
+     */
+    private static boolean isTransient(IOException e) {
+        if (e instanceof HttpResponseException response) {
+            return response.getStatusCode() == 429 || response.getStatusCode() >= 500;
+        }
+        if (e instanceof SheetsRequestRejectedException) {
+            return false;
+        }
+        return !(e instanceof InterruptedIOException) || e instanceof SocketTimeoutException;
+    }
+
+    private static boolean isRetryable(SheetsOperation operation, IOException e) {
+        if (operation == SheetsOperation.APPEND) {
+            return e instanceof HttpResponseException response && response.getStatusCode() == 429;
+        }
+        return isTransient(e);
+    }
+
+    /**
+     * @return the delay before the next attempt, or -1 if the API asked to wait longer than the maximum backoff
+     */
+    private long backoffNanos(int attempt, IOException e) {
+        long ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 30));
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        long retryAfter = retryAfterNanos(e);
+        if (retryAfter > maxBackoffNanos) {
+            return -1;
+        }
+        return Math.max(delay, retryAfter);
+    }
+
+    /**
+     * @return the Retry-After of an HTTP error in nanoseconds, or 0 if there is none in the delta-seconds form
+     */
+    private static long retryAfterNanos(IOException e) {
+        if (!(e instanceof HttpResponseException response) || response.getHeaders() == null) {
+            return 0;
+        }
+        String retryAfter = response.getHeaders().getRetryAfter();
+        if (retryAfter == null) {
+            return 0;
+        }
+        try {
+            return TimeUnit.SECONDS.toNanos(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException ignored) {
+            return 0;
+        }
+    }
+
+    private static void sleep(long nanos) throws InterruptedIOException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry a Sheets call");
+        }
+    }
+
+    private void recordTransfer(SheetsOperation operation, Object content) {
+        long rowCount = 0;
+        long bytes = 0;
+        if (content instanceof ValueRange range) {
+            rowCount = count(range.getValues());
+            bytes = size(range.getValues());
+        } else if (content instanceof BatchUpdateValuesRequest batch && batch.getData() != null) {
+            for (ValueRange range : batch.getData()) {
+                rowCount += count(range.getValues());
+                bytes += size(range.getValues());
+            }
+        }
+        rows.get(operation).record(rowCount);
+        payload.get(operation).record(bytes);
+    }
+
+    private static int count(List<List<Object>> values) {
+        return values != null ? values.size() : 0;
+    }
+
+    private static long size(List<List<Object>> values) {
+        if (values == null) {
+            return 0;
+        }
+        long bytes = 0;
+        for (List<Object> row : values) {
+            for (Object cell : row) {
+                bytes += String.valueOf(cell).length() + CELL_OVERHEAD;
+            }
+        }
+        return bytes;
+    }
+
+    private static SheetsTokenBucket quotaBucket(MeterRegistry meterRegistry, String kind, int requestsPerWindow,
+                                                 GoogleSheetsProperties.Quota quota) {
+        SheetsTokenBucket bucket = new SheetsTokenBucket(requestsPerWindow, quota.getWindow(), quota.getBackgroundReserve());
+        Gauge.builder("sheets.quota.tokens", bucket, SheetsTokenBucket::availableTokens)
+                .description("Sheets quota tokens left in the bucket")
+                .tag("bucket", kind)
+                .register(meterRegistry);
+        return bucket;
+    }
+
+    private static Semaphore bulkhead(MeterRegistry meterRegistry, String kind, int size) {
+        if (size <= 0) {
+            return null;
+        }
+        Semaphore bulkhead = new Semaphore(size, true);
+        Gauge.builder("sheets.bulkhead.in.flight", bulkhead, semaphore -> size - semaphore.availablePermits())
+                .description("Sheets calls currently holding a bulkhead permit")
+                .tag("bulkhead", kind)
+                .register(meterRegistry);
+        return bulkhead;
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, SheetsOperation operation, String outcome) {
+        return Timer.builder("sheets.requests")
+                .description("Latency of Sheets API calls")
+                .tag("operation", operation.tag())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.client;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket that spends one token per Sheets call and refills continuously at the quota rate.
+ *
+ * <p>Waiting callers are served by {@link SheetsPriority}: a caller does not take a token while a caller of higher
+ * priority is waiting. Each priority may also have to leave a reserve in the bucket, so background calls cannot
+ * drain the tokens that user requests need.</p>
+ */
+class SheetsTokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final double[] reserves;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final int[] waiting = new int[SheetsPriority.values().length];
+
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * @param requestsPerWindow the bucket size and the number of tokens added per window
+     * @param window            the quota window
+     * @param backgroundReserve the share of the bucket that {@link SheetsPriority#BACKGROUND} calls must leave untouched
+     */
+    SheetsTokenBucket(int requestsPerWindow, Duration window, double backgroundReserve) {
+        this.capacity = requestsPerWindow;
+        this.tokensPerNano = requestsPerWindow / (double) window.toNanos();
+        this.reserves = new double[SheetsPriority.values().length];
+        this.reserves[SheetsPriority.BACKGROUND.ordinal()] = capacity * backgroundReserve;
+        this.tokens = capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * Takes a token, waiting for one to be refilled if necessary.
+     *
+     * @param priority the priority of the call
+     * @param timeout  the longest time to wait
+     * @return true if a token was taken, false if none became available in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean acquire(SheetsPriority priority, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        int rank = priority.ordinal();
+        lock.lock();
+        try {
+            waiting[rank]++;
+            try {
+                while (true) {
+                    refill();
+                    double required = 1 + reserves[rank];
+                    if (tokens >= required && !higherPriorityWaiting(rank)) {
+                        tokens -= 1;
+                        return true;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    long untilRefilled = (long) Math.ceil(Math.max(0, required - tokens) / tokensPerNano);
+                    changed.awaitNanos(Math.min(remaining, Math.max(untilRefilled, TimeUnit.MILLISECONDS.toNanos(1))));
+                }
+            } finally {
+                waiting[rank]--;
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Puts back a token that was taken for a call that was never sent.
+     */
+    void release() {
+        lock.lock();
+        try {
+            refill();
+            tokens = Math.min(capacity, tokens + 1);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the time until a token is available to the given priority, ignoring other waiters
+     */
+    Duration timeUntilAvailable(SheetsPriority priority) {
+        lock.lock();
+        try {
+            refill();
+            double missing = 1 + reserves[priority.ordinal()] - tokens;
+            return missing <= 0 ? Duration.ZERO : Duration.ofNanos((long) Math.ceil(missing / tokensPerNano));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    double availableTokens() {
+        lock.lock();
+        try {
+            refill();
+            return tokens;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean higherPriorityWaiting(int rank) {
+        for (int i = 0; i < rank; i++) {
+            if (waiting[i] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.client.emulator;
+
+/**
+ * Parsed A1 range such as {@code List 1!A2:F}, {@code List 1!A:A} or {@code List 1}.
+ * Rows are 1-based and columns 0-based; an open end is {@link Integer#MAX_VALUE}.
+ *
+ * @param tab      the sheet (tab) name
+ * @param startRow the first row, inclusive
+ * @param endRow   the last row, inclusive
+ * @param startCol the first column, inclusive
+ * @param endCol   the last column, inclusive
+ */
+record A1Range(String tab, int startRow, int endRow, int startCol, int endCol) {
+
+    static final int OPEN = Integer.MAX_VALUE;
+
+    /**
+     * Parses an A1 range.
+     *
+     * @param range      the range as sent by the client
+     * @param defaultTab the tab to use when the range does not name one
+     * @return the parsed range
+     * @throws IllegalArgumentException if the range cannot be parsed
+     */
+    static A1Range parse(String range, String defaultTab) {
+        int bang = range.lastIndexOf('!');
+        String tab = bang >= 0 ? unquote(range.substring(0, bang)) : defaultTab;
+        String cells = bang >= 0 ? range.substring(bang + 1) : "";
+        if (bang < 0 && !looksLikeCells(range)) {
+            tab = unquote(range);
+        } else if (bang < 0) {
+            cells = range;
+        }
+        if (cells.isEmpty()) {
+            return new A1Range(tab, 1, OPEN, 0, OPEN);
+        }
+
+        int colon = cells.indexOf(':');
+        Cell start = Cell.parse(colon >= 0 ? cells.substring(0, colon) : cells, range);
+        Cell end = colon >= 0 ? Cell.parse(cells.substring(colon + 1), range) : start;
+        return new A1Range(tab,
+                start.row() != null ? start.row() : 1,
+                end.row() != null ? end.row() : OPEN,
+                start.col() != null ? start.col() : 0,
+                end.col() != null ? end.col() : OPEN);
+    }
+
+    /**
+     * Formats a bounded range of the given size starting at the top-left corner of this one.
+     */
+    String format(int rows, int cols) {
+        return quote(tab) + "!" + column(startCol) + startRow + ":" + column(startCol + Math.max(cols, 1) - 1) + (startRow + Math.max(rows, 1) - 1);
+    }
+
+    static String column(int index) {
+        StringBuilder letters = new StringBuilder();
+        for (int n = index + 1; n > 0; n = (n - 1) / 26) {
+            letters.insert(0, (char) ('A' + (n - 1) % 26));
+        }
+        return letters.toString();
+    }
+
+    private static boolean looksLikeCells(String range) {
+        return range.matches("[A-Za-z]*[0-9]*(:[A-Za-z]*[0-9]*)?") && !range.isEmpty();
+    }
+
+    private static String unquote(String tab) {
+        return tab.length() > 1 && tab.startsWith("'") && tab.endsWith("'") ? tab.substring(1, tab.length() - 1).replace("''", "'") : tab;
+    }
+
+    private static String quote(String tab) {
+        return tab.matches("[A-Za-z0-9_]+") ? tab : "'" + tab.replace("'", "''") + "'";
+    }
+
+    private record Cell(Integer col, Integer row) {
+        static Cell parse(String cell, String range) {
+            int i = 0;
+            while (i < cell.length() && Character.isLetter(cell.charAt(i))) {
+                i++;
+            }
+            String letters = cell.substring(0, i).toUpperCase();
+            String digits = cell.substring(i);
+            if (!digits.chars().allMatch(Character::isDigit)) {
+                throw new IllegalArgumentException("Unable to parse range: " + range);
+            }
+            Integer col = null;
+            if (!letters.isEmpty()) {
+                int index = 0;
+                for (char letter : letters.toCharArray()) {
+                    index = index * 26 + (letter - 'A' + 1);
+                }
+                col = index - 1;
+            }
+            return new Cell(col, digits.isEmpty() ? null : Integer.parseInt(digits));
+        }
+    }
+}
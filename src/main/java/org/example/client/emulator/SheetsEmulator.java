@@ -0,0 +1,161 @@
+package org.example.client.emulator;
+
+import com.google.api.services.sheets.v4.model.AppendValuesResponse;
+import com.google.api.services.sheets.v4.model.BatchUpdateValuesRequest;
+import com.google.api.services.sheets.v4.model.BatchUpdateValuesResponse;
+import com.google.api.services.sheets.v4.model.UpdateValuesResponse;
+import com.google.api.services.sheets.v4.model.ValueRange;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * In-memory spreadsheet implementing the subset of the Sheets values API used by the repository:
+ * get, append, update and batch update with A1 ranges.
+ *
+ * <p>Cells are stored as sent and returned as-is, which matches the {@code RAW} value input option.
+ * Like the real API, reads omit trailing empty cells and rows, and appends go below the last non-empty row.
+ * A single spreadsheet is emulated; the spreadsheet ID in requests is not checked.</p>
+ */
+public class SheetsEmulator {
+
+    private final Map<String, List<List<Object>>> tabs = new LinkedHashMap<>();
+
+    /**
+     * Creates a tab, or clears an existing one, and fills it with the given rows.
+     *
+     * @param tab  the tab name
+     * @param rows the initial content, starting at row 1
+     */
+    public synchronized void resetTab(String tab, List<List<Object>> rows) {
+        List<List<Object>> grid = new ArrayList<>(rows.size());
+        rows.forEach(row -> grid.add(new ArrayList<>(row)));
+        tabs.put(tab, grid);
+    }
+
+    /**
+     * Returns the number of rows up to the last non-empty one, including the header.
+     *
+     * @param tab the tab name
+     * @return the row count
+     */
+    public synchronized int rowCount(String tab) {
+        return lastRow(grid(tab));
+    }
+
+    public synchronized ValueRange get(String range) {
+        A1Range a1 = parse(range);
+        List<List<Object>> grid = grid(a1.tab());
+        List<List<Object>> values = new ArrayList<>();
+        int lastRow = Math.min(a1.endRow(), lastRow(grid));
+        for (int row = a1.startRow(); row <= lastRow; row++) {
+            values.add(slice(grid.get(row - 1), a1.startCol(), a1.endCol()));
+        }
+        while (!values.isEmpty() && values.get(values.size() - 1).isEmpty()) {
+            values.remove(values.size() - 1);
+        }
+        int cols = values.stream().mapToInt(List::size).max().orElse(0);
+        ValueRange response = new ValueRange()
+                .setRange(a1.format(Math.max(lastRow - a1.startRow() + 1, 1), cols))
+                .setMajorDimension("ROWS");
+        return values.isEmpty() ? response : response.setValues(values);
+    }
+
+    public synchronized AppendValuesResponse append(String range, List<List<Object>> values) {
+        A1Range a1 = parse(range);
+        int firstRow = Math.max(lastRow(grid(a1.tab())), a1.startRow() - 1) + 1;
+        A1Range target = new A1Range(a1.tab(), firstRow, A1Range.OPEN, a1.startCol(), A1Range.OPEN);
+        return new AppendValuesResponse()
+                .setTableRange(a1.format(firstRow - a1.startRow(), width(values)))
+                .setUpdates(write(target, values));
+    }
+
+    public synchronized UpdateValuesResponse update(String range, List<List<Object>> values) {
+        return write(parse(range), values);
+    }
+
+    public synchronized BatchUpdateValuesResponse batchUpdate(BatchUpdateValuesRequest request) {
+        List<UpdateValuesResponse> responses = new ArrayList<>();
+        int rows = 0;
+        int cells = 0;
+        for (ValueRange data : request.getData()) {
+            UpdateValuesResponse response = write(parse(data.getRange()), data.getValues());
+            responses.add(response);
+            rows += response.getUpdatedRows();
+            cells += response.getUpdatedCells();
+        }
+        return new BatchUpdateValuesResponse()
+                .setTotalUpdatedRows(rows)
+                .setTotalUpdatedCells(cells)
+                .setTotalUpdatedSheets(responses.isEmpty() ? 0 : 1)
+                .setResponses(responses);
+    }
+
+    private UpdateValuesResponse write(A1Range a1, List<List<Object>> values) {
+        List<List<Object>> grid = grid(a1.tab());
+        List<List<Object>> rows = values != null ? values : List.of();
+        int cells = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            int rowIndex = a1.startRow() - 1 + i;
+            while (grid.size() <= rowIndex) {
+                grid.add(new ArrayList<>());
+            }
+            List<Object> row = grid.get(rowIndex);
+            List<Object> source = rows.get(i);
+            for (int j = 0; j < source.size(); j++) {
+                int colIndex = a1.startCol() + j;
+                while (row.size() <= colIndex) {
+                    row.add("");
+                }
+                row.set(colIndex, source.get(j) != null ? source.get(j) : "");
+                cells++;
+            }
+        }
+        return new UpdateValuesResponse()
+                .setUpdatedRange(a1.format(rows.size(), width(rows)))
+                .setUpdatedRows(rows.size())
+                .setUpdatedColumns(width(rows))
+                .setUpdatedCells(cells);
+    }
+
+    private A1Range parse(String range) {
+        return A1Range.parse(range, tabs.isEmpty() ? "" : tabs.keySet().iterator().next());
+    }
+
+    private List<List<Object>> grid(String tab) {
+        List<List<Object>> grid = tabs.get(tab);
+        if (grid == null) {
+            throw new NoSuchElementException("Unable to parse range: unknown sheet " + tab);
+        }
+        return grid;
+    }
+
+    private static int lastRow(List<List<Object>> grid) {
+        int last = grid.size();
+        while (last > 0 && trimmed(grid.get(last - 1)).isEmpty()) {
+            last--;
+        }
+        return last;
+    }
+
+    private static List<Object> slice(List<Object> row, int startCol, int endCol) {
+        List<Object> cells = trimmed(row);
+        int end = (int) Math.min((long) endCol + 1, cells.size());
+        return startCol >= end ? new ArrayList<>() : new ArrayList<>(cells.subList(startCol, end));
+    }
+
+    private static List<Object> trimmed(List<Object> row) {
+        int end = row.size();
+        while (end > 0 && (row.get(end - 1) == null || "".equals(row.get(end - 1)))) {
+            end--;
+        }
+        return row.subList(0, end);
+    }
+
+    private static int width(List<List<Object>> values) {
+        return values == null ? 0 : values.stream().mapToInt(List::size).max().orElse(0);
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.client.emulator;
+
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.services.sheets.v4.Sheets;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.client.GoogleSheetsProperties;
+import org.example.client.SheetsServiceProvider;
+import org.example.enums.TicketStatus;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Provides a {@link Sheets} client backed by the in-process {@link SheetsEmulator},
+ * so the repository can be load tested end to end without credentials, network or real quota.
+ * Active with the {@code sheets-emulator} profile, in place of {@link org.example.client.GoogleSheetsClient}.
+ *
+ * <p>The configured tab starts with the header row and {@code google.sheets.emulator.seed-tickets} generated tickets.</p>
+ */
+@Slf4j
+@Getter
+@Component
+@Profile("sheets-emulator")
+@RequiredArgsConstructor
+public class SheetsEmulatorClient implements SheetsServiceProvider {
+
+    static final List<Object> HEADER = List.of("ID", "Description", "Parent ID", "Status", "Created At", "Updated At");
+
+    private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+    private static final LocalDateTime SEED_EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final GoogleSheetsProperties sheetsProperties;
+    private final SheetsEmulatorProperties emulatorProperties;
+
+    private final SheetsEmulator emulator = new SheetsEmulator();
+
+    private Sheets sheetsService;
+
+    @PostConstruct
+    public void init() {
+        emulator.resetTab(sheetsProperties.getTabName(), seedRows(emulatorProperties.getSeedTickets()));
+        sheetsService = new Sheets.Builder(new SheetsEmulatorTransport(emulator, emulatorProperties, Clock.systemUTC()), JSON_FACTORY, null)
+                .setApplicationName(sheetsProperties.getApplicationName())
+                .build();
+        log.warn("Using the in-process Sheets emulator with {} seeded tickets; nothing is written to Google Sheets",
+                emulatorProperties.getSeedTickets());
+    }
+
+    private static List<List<Object>> seedRows(int count) {
+        List<List<Object>> rows = new ArrayList<>(count + 1);
+        rows.add(HEADER);
+        TicketStatus[] statuses = TicketStatus.values();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime createdAt = SEED_EPOCH.plusMinutes(i);
+            rows.add(List.of("AD-seed-" + i, "Seeded ticket " + i, "", statuses[i % statuses.length].name(), createdAt.toString()));
+        }
+        return rows;
+    }
+}
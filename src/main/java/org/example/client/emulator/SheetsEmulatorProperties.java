@@ -0,0 +1,30 @@
+package org.example.client.emulator;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Behaviour of the in-process Sheets emulator used by the {@code sheets-emulator} profile.
+ * Quotas are counted per fixed window like the per-minute quotas of the real API; 0 disables a quota.
+ * The error rates are probabilities between 0 and 1 applied to every request that passes the quotas.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "google.sheets.emulator")
+public class SheetsEmulatorProperties {
+
+    private Duration latency = Duration.ofMillis(80);
+    private Duration jitter = Duration.ofMillis(40);
+    private int readRequestsPerWindow = 300;
+    private int writeRequestsPerWindow = 300;
+    private Duration quotaWindow = Duration.ofMinutes(1);
+    private double tooManyRequestsRate = 0.0;
+    private double serverErrorRate = 0.0;
+    private int seedTickets = 0;
+
+}
@@ -0,0 +1,174 @@
+package org.example.client.emulator;
+
+import com.google.api.client.json.Json;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.services.sheets.v4.model.BatchUpdateValuesRequest;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * HTTP transport that answers Sheets values API requests from a {@link SheetsEmulator} instead of the network.
+ * Each request sleeps for the configured latency plus a uniform jitter, is then checked against the
+ * read or write quota and finally may fail with an injected 429 or 503, before it reaches the emulator.
+ * Errors use the JSON error format of Google APIs, so the client raises the same exceptions as in production.
+ */
+@Slf4j
+public class SheetsEmulatorTransport extends MockHttpTransport {
+
+    private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+    private static final String VALUES_PATH = "/values/";
+    private static final String APPEND_SUFFIX = ":append";
+    private static final String BATCH_UPDATE_SUFFIX = "/values:batchUpdate";
+
+    private final SheetsEmulator emulator;
+    private final SheetsEmulatorProperties properties;
+    private final QuotaWindow readQuota;
+    private final QuotaWindow writeQuota;
+
+    public SheetsEmulatorTransport(SheetsEmulator emulator, SheetsEmulatorProperties properties, Clock clock) {
+        this.emulator = emulator;
+        this.properties = properties;
+        this.readQuota = new QuotaWindow(properties.getReadRequestsPerWindow(), properties.getQuotaWindow().toMillis(), clock);
+        this.writeQuota = new QuotaWindow(properties.getWriteRequestsPerWindow(), properties.getQuotaWindow().toMillis(), clock);
+    }
+
+    @Override
+    public MockLowLevelHttpRequest buildRequest(String method, String url) {
+        return new MockLowLevelHttpRequest(url) {
+            @Override
+            public MockLowLevelHttpResponse execute() throws IOException {
+                return handle(method, url, getContentAsString());
+            }
+        };
+    }
+
+    private MockLowLevelHttpResponse handle(String method, String url, String body) throws IOException {
+        simulateLatency();
+
+        boolean read = "GET".equals(method);
+        if (!(read ? readQuota : writeQuota).tryAcquire()) {
+            return error(429, "RESOURCE_EXHAUSTED", "Quota exceeded for quota metric '" + (read ? "Read" : "Write") + " requests'");
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < properties.getTooManyRequestsRate()) {
+            return error(429, "RESOURCE_EXHAUSTED", "Injected rate limit");
+        }
+        if (random.nextDouble() < properties.getServerErrorRate()) {
+            return error(503, "UNAVAILABLE", "Injected server error");
+        }
+
+        try {
+            return ok(dispatch(method, url, body));
+        } catch (NoSuchElementException | IllegalArgumentException e) {
+            return error(400, "INVALID_ARGUMENT", e.getMessage());
+        }
+    }
+
+    private Object dispatch(String method, String url, String body) throws IOException {
+        String path = url.contains("?") ? url.substring(0, url.indexOf('?')) : url;
+        if ("POST".equals(method) && path.endsWith(BATCH_UPDATE_SUFFIX)) {
+            return emulator.batchUpdate(JSON_FACTORY.fromString(body, BatchUpdateValuesRequest.class));
+        }
+        int values = path.indexOf(VALUES_PATH);
+        if (values < 0) {
+            throw new IllegalArgumentException("Unsupported request: " + method + " " + path);
+        }
+        String range = path.substring(values + VALUES_PATH.length());
+        if ("POST".equals(method) && range.endsWith(APPEND_SUFFIX)) {
+            range = decode(range.substring(0, range.length() - APPEND_SUFFIX.length()));
+            return emulator.append(range, JSON_FACTORY.fromString(body, ValueRange.class).getValues());
+        }
+        if ("PUT".equals(method)) {
+            return emulator.update(decode(range), JSON_FACTORY.fromString(body, ValueRange.class).getValues());
+        }
+        if ("GET".equals(method)) {
+            return emulator.get(decode(range));
+        }
+        throw new IllegalArgumentException("Unsupported request: " + method + " " + path);
+    }
+
+    private void simulateLatency() throws IOException {
+        long latency = properties.getLatency().toMillis();
+        long jitter = properties.getJitter().toMillis();
+        long delay = Math.max(0, latency + (jitter > 0 ? ThreadLocalRandom.current().nextLong(-jitter, jitter + 1) : 0));
+        if (delay == 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while simulating Sheets latency");
+        }
+    }
+
+    private static String decode(String range) {
+        return URLDecoder.decode(range.replace("+", "%2B"), StandardCharsets.UTF_8);
+    }
+
+    private static MockLowLevelHttpResponse ok(Object body) throws IOException {
+        return new MockLowLevelHttpResponse()
+                .setContentType(Json.MEDIA_TYPE)
+                .setContent(JSON_FACTORY.toByteArray(body));
+    }
+
+    private static MockLowLevelHttpResponse error(int code, String status, String message) {
+        log.debug("Sheets emulator answers {} {}: {}", code, status, message);
+        String body = "{\"error\":{\"code\":" + code + ",\"message\":" + quote(message) + ",\"status\":\"" + status + "\"}}";
+        return new MockLowLevelHttpResponse()
+                .setStatusCode(code)
+                .setReasonPhrase(status)
+                .setContentType(Json.MEDIA_TYPE)
+                .setContent(body);
+    }
+
+    private static String quote(String message) {
+        return "\"" + String.valueOf(message).replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    /**
+     * Request counter that resets at the start of every window; a limit of 0 means unlimited.
+     */
+    private static final class QuotaWindow {
+        private final int limit;
+        private final long windowMillis;
+        private final Clock clock;
+        private long windowStart;
+        private int used;
+
+        QuotaWindow(int limit, long windowMillis, Clock clock) {
+            this.limit = limit;
+            this.windowMillis = windowMillis;
+            this.clock = clock;
+            this.windowStart = clock.millis();
+        }
+
+        synchronized boolean tryAcquire() {
+            if (limit <= 0) {
+                return true;
+            }
+            long now = clock.millis();
+            if (now - windowStart >= windowMillis) {
+                windowStart = now - (now - windowStart) % windowMillis;
+                used = 0;
+            }
+            if (used >= limit) {
+                return false;
+            }
+            used++;
+            return true;
+        }
+    }
+}
@@ -1,19 +1,20 @@
 package org.example.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.CacheLoader;
-import com.github.benmanes.caffeine.cache.LoadingCache;
 import lombok.RequiredArgsConstructor;
-import org.example.entity.TicketEntity;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.List;
-
-
+/**
+ * Caffeine configuration. Every cache is sized and expired according to {@link CacheProperties#resolve(String)}.
+ *
+ * <p>Caches of the Spring cache abstraction have no loader, so <code>refresh-after-write</code> only applies
+ * to loading caches built with {@link #newBuilder(CacheProperties.Spec, boolean)}.</p>
+ */
 @Configuration
 @EnableCaching
 @RequiredArgsConstructor
@@ -22,25 +23,33 @@ public class CacheConfig {
     private final CacheProperties cacheProperties;
 
     @Bean
-    public Caffeine<Object, Object> caffeineConfig() {
-        return Caffeine.newBuilder()
-                .expireAfterWrite(cacheProperties.getExpireAfterWrite())
-                .refreshAfterWrite(cacheProperties.getRefreshAfterWrite())
-                .maximumSize(500);
-    }
-
-    @Bean
-    public CacheManager defaultCacheManager(Caffeine<Object, Object> caffeine) {
-        CaffeineCacheManager manager = new CaffeineCacheManager();
-        manager.setCacheLoader(new CacheLoader<Object, Object>() {
+    public CacheManager defaultCacheManager() {
+        return new CaffeineCacheManager() {
             @Override
-            public Object load(Object key) {
-                return null;
+            protected Cache<Object, Object> createNativeCaffeineCache(String name) {
+                return newBuilder(cacheProperties.resolve(name), false).build();
             }
-        });
-        manager.setCaffeine(caffeine);
-        return manager;
+        };
     }
 
+    /**
+     * Creates a Caffeine builder from cache settings, with statistics enabled for metrics.
+     *
+     * @param spec    the resolved settings of the cache
+     * @param loading whether the cache will be built with a loader, which is required for refreshing
+     * @return the configured builder
+     */
+    public static Caffeine<Object, Object> newBuilder(CacheProperties.Spec spec, boolean loading) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (spec.getMaximumSize() != null) {
+            builder.maximumSize(spec.getMaximumSize());
+        }
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (loading && spec.getRefreshAfterWrite() != null) {
+            builder.refreshAfterWrite(spec.getRefreshAfterWrite());
+        }
+        return builder;
+    }
 }
-
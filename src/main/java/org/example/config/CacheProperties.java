@@ -1,19 +1,72 @@
 package org.example.config;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
+/**
+ * Caffeine settings. <code>cache.default.*</code> applies to every cache,
+ * <code>cache.specs.&lt;name&gt;.*</code> overrides single settings of the cache with that name.
+ */
 @Getter
 @Setter
 @Component
-@ConfigurationProperties(prefix = "cache.default")
+@ConfigurationProperties(prefix = "cache")
 public class CacheProperties {
 
-    private Duration expireAfterWrite;
-    private Duration refreshAfterWrite;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Spec defaultSpec = new Spec();
+    private Map<String, Spec> specs = new HashMap<>();
 
+    public Spec getDefault() {
+        return defaultSpec;
+    }
+
+    public void setDefault(Spec defaultSpec) {
+        this.defaultSpec = defaultSpec;
+    }
+
+    /**
+     * Resolves the settings of a cache, falling back to the defaults for anything it does not set.
+     *
+     * @param name the cache name
+     * @return the effective settings
+     */
+    public Spec resolve(String name) {
+        Spec spec = specs.get(name);
+        if (spec == null) {
+            return defaultSpec;
+        }
+        Spec resolved = new Spec();
+        resolved.setMaximumSize(spec.getMaximumSize() != null ? spec.getMaximumSize() : defaultSpec.getMaximumSize());
+        resolved.setExpireAfterWrite(spec.getExpireAfterWrite() != null ? spec.getExpireAfterWrite() : defaultSpec.getExpireAfterWrite());
+        resolved.setRefreshAfterWrite(spec.getRefreshAfterWrite() != null ? spec.getRefreshAfterWrite() : defaultSpec.getRefreshAfterWrite());
+        resolved.setMaximumWeight(spec.getMaximumWeight() != null ? spec.getMaximumWeight() : defaultSpec.getMaximumWeight());
+        resolved.setNegativeExpireAfterWrite(spec.getNegativeExpireAfterWrite() != null
+                ? spec.getNegativeExpireAfterWrite() : defaultSpec.getNegativeExpireAfterWrite());
+        return resolved;
+    }
+
+    @Getter
+    @Setter
+    public static class Spec {
+        private Long maximumSize;
+        private Duration expireAfterWrite;
+        private Duration refreshAfterWrite;
+        /**
+         * Upper bound of the summed entry weights, for caches that define a weigher.
+         */
+        private Long maximumWeight;
+        /**
+         * How long a "not found" result is kept, for caches that cache absent values.
+         */
+        private Duration negativeExpireAfterWrite;
+    }
 }
@@ -0,0 +1,12 @@
+package org.example.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs, such as the periodic sheet synchronization.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,19 @@
+package org.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of the ticket search index: how many indexed terms a query word may expand to as a prefix.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "tickets.search")
+public class TicketSearchProperties {
+
+    private int maxExpansions = 64;
+
+}
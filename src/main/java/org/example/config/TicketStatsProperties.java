@@ -0,0 +1,23 @@
+package org.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the ticket statistics: the width of a time bucket and how many of the most recent buckets
+ * are returned.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "tickets.stats")
+public class TicketStatsProperties {
+
+    private Duration bucketSize = Duration.ofDays(1);
+    private int maxBuckets = 30;
+
+}
@@ -1,5 +1,7 @@
 package org.example.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -8,25 +10,39 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.dto.request.BatchCreateTicketsRequest;
+import org.example.dto.request.BatchUpdateStatusRequest;
 import org.example.dto.request.CreateTicketRequest;
 import org.example.dto.request.UpdateTicketRequest;
+import org.example.dto.response.BatchTicketResponse;
+import org.example.dto.response.TicketPageResponse;
 import org.example.dto.response.TicketResponse;
+import org.example.dto.response.TicketRollupResponse;
+import org.example.dto.response.TicketStatsResponse;
 import org.example.enums.TicketStatus;
 import org.example.exception.TicketRepositoryException;
 import org.example.facade.TicketFacade;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 import static org.springframework.util.MimeTypeUtils.APPLICATION_JSON_VALUE;
 
 /**
  * REST controller for managing tickets.
  * Exposes endpoints for creating, updating, and retrieving tickets via HTTP.
  * Delegates business logic to the {@link TicketFacade}.
+ * Create, update and listing endpoints return a {@link CompletableFuture}, so the request thread is
+ * released while Sheets is called and the response is written once the future completes.
  *
  * <p>Base path: <code>/api/tickets</code></p>
  */
@@ -36,15 +52,18 @@ import static org.springframework.util.MimeTypeUtils.APPLICATION_JSON_VALUE;
 @Slf4j
 public class TicketController {
 
+    private static final int STREAM_PAGE_SIZE = 500;
+
     private final TicketFacade ticketFacade;
 
+    private final ObjectMapper objectMapper;
+
 
     /**
      * Creates a new ticket.
      *
      * @param requestBody the ticket creation request
-     * @return the created ticket wrapped in a {@link ResponseEntity}
-     * @throws TicketRepositoryException if persistence fails
+     * @return a future of the created ticket wrapped in a {@link ResponseEntity}
      */
     @PostMapping("/create")
     @Tag(name = "Tickets")
@@ -54,15 +73,75 @@ public class TicketController {
             ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Field validation",
+                    description = "Field validation or a cyclic parent hierarchy",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                            mediaType = APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Parent ticket not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                            mediaType = APPLICATION_JSON_VALUE)
+            )
+    })
+    public CompletableFuture<ResponseEntity<TicketResponse>> createTicket(@Valid @RequestBody CreateTicketRequest requestBody) {
+
+        return ticketFacade.createTicketAsync(requestBody)
+                .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    /**
+     * Creates several tickets with a single write to the database.
+     * Invalid items are reported in the results and do not prevent the others from being created.
+     *
+     * @param requestBody the tickets to create, at most {@value BatchCreateTicketsRequest#MAX_SIZE}
+     * @return the result of every item wrapped in a {@link ResponseEntity}
+     * @throws TicketRepositoryException if persistence fails
+     */
+    @PostMapping("/batch")
+    @Tag(name = "Tickets")
+    @Operation(summary = "Creates several tickets in the database", description = "Creates several tickets with a single write and returns the result of every item", responses = {
+            @ApiResponse(responseCode = "200",
+                    content = @Content(mediaType = APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Empty or oversized batch",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class),
                             mediaType = APPLICATION_JSON_VALUE)
             )
     })
-    public ResponseEntity<TicketResponse> createTicket(@Valid @RequestBody CreateTicketRequest requestBody) throws TicketRepositoryException {
+    public ResponseEntity<BatchTicketResponse> createTickets(@Valid @RequestBody BatchCreateTicketsRequest requestBody) throws TicketRepositoryException {
 
-        TicketResponse response = ticketFacade.createTicket(requestBody);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        BatchTicketResponse response = ticketFacade.createTickets(requestBody);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    /**
+     * Changes the status of several tickets with a single write to the database.
+     * Invalid or unknown items are reported in the results and do not prevent the others from being updated.
+     *
+     * @param requestBody the ticket IDs and their new status, at most {@value BatchUpdateStatusRequest#MAX_SIZE}
+     * @return the result of every item wrapped in a {@link ResponseEntity}
+     * @throws TicketRepositoryException if persistence fails
+     */
+    @PatchMapping("/batch/status")
+    @Tag(name = "Tickets")
+    @Operation(summary = "Updates the status of several tickets in the database", description = "Updates the status of several tickets with a single write and returns the result of every item", responses = {
+            @ApiResponse(responseCode = "200",
+                    content = @Content(mediaType = APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Empty or oversized batch",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                            mediaType = APPLICATION_JSON_VALUE)
+            )
+    })
+    public ResponseEntity<BatchTicketResponse> updateTicketStatuses(@Valid @RequestBody BatchUpdateStatusRequest requestBody) throws TicketRepositoryException {
+
+        BatchTicketResponse response = ticketFacade.updateTicketStatuses(requestBody);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
     /**
@@ -70,8 +149,7 @@ public class TicketController {
      *
      * @param ticketId the ID of the ticket to update
      * @param requestBody the update request containing the new status
-     * @return the updated ticket wrapped in a {@link ResponseEntity}
-     * @throws TicketRepositoryException if persistence fails
+     * @return a future of the updated ticket wrapped in a {@link ResponseEntity}
      */
     @PutMapping("/{ticketId}")
     @Tag(name = "Tickets")
@@ -86,19 +164,138 @@ public class TicketController {
                             mediaType = APPLICATION_JSON_VALUE)
             )
     })
-    public ResponseEntity<TicketResponse> updateTicket(@PathVariable String ticketId,
-                                                       @Valid @RequestBody UpdateTicketRequest requestBody) throws TicketRepositoryException {
+    public CompletableFuture<ResponseEntity<TicketResponse>> updateTicket(@PathVariable String ticketId,
+                                                                          @Valid @RequestBody UpdateTicketRequest requestBody) {
 
-        TicketResponse response = ticketFacade.updateTicket(ticketId, requestBody);
-        return ResponseEntity.status(HttpStatus.OK).body(response);
+        return ticketFacade.updateTicketAsync(ticketId, requestBody)
+                .thenApply(response -> ResponseEntity.status(HttpStatus.OK).body(response));
+    }
+
+    /**
+     * Retrieves the direct children of a ticket.
+     *
+     * @param ticketId the ID of the parent ticket
+     * @return the child tickets wrapped in a {@link ResponseEntity}
+     * @throws TicketRepositoryException if retrieval fails
+     */
+    @GetMapping("/{ticketId}/children")
+    @Tag(name = "Tickets")
+    @Operation(summary = "Returns the children of a ticket", description = "Returns the tickets whose parent is the given ticket", responses = {
+            @ApiResponse(responseCode = "200",
+                    content = @Content(mediaType = APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Ticket not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                            mediaType = APPLICATION_JSON_VALUE)
+            )
+    })
+    public ResponseEntity<List<TicketResponse>> getChildren(@PathVariable String ticketId) throws TicketRepositoryException {
+
+        return ResponseEntity.status(HttpStatus.OK).body(ticketFacade.getChildren(ticketId));
+    }
+
+    /**
+     * Retrieves a ticket and all its descendants.
+     *
+     * @param ticketId the ID of the subtree root
+     * @return the tickets of the subtree, root first, wrapped in a {@link ResponseEntity}
+     * @throws TicketRepositoryException if retrieval fails
+     */
+    @GetMapping("/{ticketId}/subtree")
+    @Tag(name = "Tickets")
+    @Operation(summary = "Returns the subtree of a ticket", description = "Returns the ticket followed by all its descendants, level by level", responses = {
+            @ApiResponse(responseCode = "200",
+                    content = @Content(mediaType = APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Ticket not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                            mediaType = APPLICATION_JSON_VALUE)
+            )
+    })
+    public ResponseEntity<List<TicketResponse>> getSubtree(@PathVariable String ticketId) throws TicketRepositoryException {
+
+        return ResponseEntity.status(HttpStatus.OK).body(ticketFacade.getSubtree(ticketId));
+    }
+
+    /**
+     * Counts the tickets of a subtree by status.
+     *
+     * @param ticketId the ID of the subtree root
+     * @return the status counts wrapped in a {@link ResponseEntity}
+     * @throws TicketRepositoryException if retrieval fails
+     */
+    @GetMapping("/{ticketId}/rollup")
+    @Tag(name = "Tickets")
+    @Operation(summary = "Returns the status rollup of a ticket subtree", description = "Counts the ticket and all its descendants by status", responses = {
+            @ApiResponse(responseCode = "200",
+                    content = @Content(mediaType = APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Ticket not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                            mediaType = APPLICATION_JSON_VALUE)
+            )
+    })
+    public ResponseEntity<TicketRollupResponse> getSubtreeRollup(@PathVariable String ticketId) throws TicketRepositoryException {
+
+        return ResponseEntity.status(HttpStatus.OK).body(ticketFacade.getSubtreeRollup(ticketId));
+    }
+
+    /**
+     * Searches the ticket descriptions.
+     *
+     * @param q the words to search for; every word must occur in the description, as a whole word or as a prefix
+     * @param limit the maximum number of results, 20 if omitted
+     * @return the matching tickets, best match first, wrapped in a {@link ResponseEntity}
+     * @throws TicketRepositoryException if the search index cannot be built
+     */
+    @GetMapping("/search")
+    @Tag(name = "Tickets")
+    @Operation(summary = "Searches the ticket descriptions", description = "Returns the tickets whose description contains all words of the query, best match first", responses = {
+            @ApiResponse(responseCode = "200",
+                    content = @Content(mediaType = APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Blank query or limit out of range",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                            mediaType = APPLICATION_JSON_VALUE)
+            )
+    })
+    public ResponseEntity<List<TicketResponse>> searchTickets(@RequestParam String q,
+                                                              @RequestParam(defaultValue = "20") int limit) throws TicketRepositoryException {
+
+        return ResponseEntity.status(HttpStatus.OK).body(ticketFacade.searchTickets(q, limit));
+    }
+
+    /**
+     * Retrieves the ticket statistics.
+     *
+     * @return the counts per status, per time bucket and the average time to close wrapped in a {@link ResponseEntity}
+     * @throws TicketRepositoryException if the counters cannot be built
+     */
+    @GetMapping("/stats")
+    @Tag(name = "Tickets")
+    @Operation(summary = "Returns the ticket statistics", description = "Counts the tickets per status, the tickets created and closed per time bucket and the average time to close", responses = {
+            @ApiResponse(responseCode = "200",
+                    content = @Content(mediaType = APPLICATION_JSON_VALUE)
+            )
+    })
+    public ResponseEntity<TicketStatsResponse> getStats() throws TicketRepositoryException {
+
+        return ResponseEntity.status(HttpStatus.OK).body(ticketFacade.getStats());
     }
 
     /**
      * Retrieves all tickets matching the specified status.
      *
      * @param status the status to filter tickets by
-     * @return a list of matching tickets wrapped in a {@link ResponseEntity}
-     * @throws TicketRepositoryException if retrieval fails
+     * @return a future of the list of matching tickets wrapped in a {@link ResponseEntity}
      */
     @GetMapping("/find/status/{status}")
     @Tag(name = "Tickets")
@@ -113,9 +310,79 @@ public class TicketController {
                             mediaType = APPLICATION_JSON_VALUE)
             )
     })
-    public ResponseEntity<List<TicketResponse>> getTicketsByStatus(@PathVariable TicketStatus status) throws TicketRepositoryException {
+    public CompletableFuture<ResponseEntity<List<TicketResponse>>> getTicketsByStatus(@PathVariable TicketStatus status) {
+
+        return ticketFacade.getTicketsByStatusAsync(status)
+                .thenApply(response -> ResponseEntity.status(HttpStatus.OK).body(response));
+    }
 
-        List<TicketResponse> response = ticketFacade.getTicketsByStatus(status);
+    /**
+     * Retrieves one page of tickets matching the specified status, oldest first.
+     *
+     * @param status the status to filter tickets by
+     * @param limit the maximum number of tickets on the page
+     * @param cursor the {@code nextCursor} of the previous page, omitted for the first page
+     * @return the page of tickets wrapped in a {@link ResponseEntity}
+     * @throws TicketRepositoryException if retrieval fails
+     */
+    @GetMapping("/find/status/{status}/page")
+    @Tag(name = "Tickets")
+    @Operation(summary = "Returns one page of the tickets by their status", description = "Returns tickets by their status ordered by creation time, resuming after the given cursor", responses = {
+            @ApiResponse(responseCode = "200",
+                    content = @Content(mediaType = APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid limit or cursor",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                            mediaType = APPLICATION_JSON_VALUE)
+            )
+    })
+    public ResponseEntity<TicketPageResponse> getTicketsByStatusPage(@PathVariable TicketStatus status,
+                                                                     @RequestParam(defaultValue = "100") int limit,
+                                                                     @RequestParam(required = false) String cursor) throws TicketRepositoryException {
+
+        TicketPageResponse response = ticketFacade.getTicketsByStatusPage(status, cursor, limit);
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
+
+    /**
+     * Streams all tickets matching the specified status as newline-delimited JSON, oldest first.
+     * Tickets are read and written in pages, so memory use does not grow with the size of the result.
+     *
+     * @param status the status to filter tickets by
+     * @return the streaming body wrapped in a {@link ResponseEntity}
+     */
+    @GetMapping(value = "/find/status/{status}/stream", produces = APPLICATION_NDJSON_VALUE)
+    @Tag(name = "Tickets")
+    @Operation(summary = "Streams all the tickets by their status", description = "Streams all the tickets by their status as newline-delimited JSON", responses = {
+            @ApiResponse(responseCode = "200",
+                    content = @Content(mediaType = APPLICATION_NDJSON_VALUE)
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> streamTicketsByStatus(@PathVariable TicketStatus status) {
+
+        StreamingResponseBody body = outputStream -> writeTicketsByStatus(status, outputStream);
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private void writeTicketsByStatus(TicketStatus status, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TicketResponse.class);
+        String cursor = null;
+        try {
+            do {
+                TicketPageResponse page = ticketFacade.getTicketsByStatusPage(status, cursor, STREAM_PAGE_SIZE);
+                for (TicketResponse ticket : page.getItems()) {
+                    outputStream.write(writer.writeValueAsBytes(ticket));
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+        } catch (TicketRepositoryException e) {
+            throw new IOException("Failed to stream tickets with status " + status, e);
+        }
+    }
 }
@@ -0,0 +1,23 @@
+package org.example.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Request payload for changing the status of several tickets at once.
+ * Items are validated one by one, so an invalid item is reported in the results without failing the batch.
+ */
+@Getter
+@Setter
+public class BatchUpdateStatusRequest {
+    public static final int MAX_SIZE = 1000;
+
+    @NotEmpty
+    @Size(max = MAX_SIZE)
+    private List<TicketStatusUpdate> updates;
+
+}
@@ -0,0 +1,21 @@
+package org.example.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.example.enums.TicketStatus;
+
+/**
+ * One item of a {@link BatchUpdateStatusRequest}: the ticket to change and its new status.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketStatusUpdate {
+    private String id;
+
+    private TicketStatus status;
+
+}
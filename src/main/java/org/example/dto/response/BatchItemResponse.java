@@ -0,0 +1,28 @@
+package org.example.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of one item of a batch request.
+ * {@code status} is the HTTP status the item would have had as a single request;
+ * {@code ticket} is present on success and {@code error} on failure.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResponse {
+    int index;
+
+    int status;
+
+    TicketResponse ticket;
+
+    String error;
+
+}
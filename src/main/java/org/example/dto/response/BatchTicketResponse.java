@@ -0,0 +1,26 @@
+package org.example.dto.response;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response payload of a batch request, with one result per item in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchTicketResponse {
+    @NotNull
+    List<BatchItemResponse> results;
+
+    int succeeded;
+
+    int failed;
+
+}
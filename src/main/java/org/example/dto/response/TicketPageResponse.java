@@ -0,0 +1,27 @@
+package org.example.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response payload representing one page of tickets.
+ * {@code nextCursor} is absent on the last page; otherwise it is passed back to fetch the next one.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TicketPageResponse {
+    @NotNull
+    List<TicketResponse> items;
+
+    String nextCursor;
+
+}
@@ -0,0 +1,29 @@
+package org.example.dto.response;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.enums.TicketStatus;
+
+import java.util.Map;
+
+/**
+ * Response payload summarizing the statuses of a ticket and all its descendants.
+ * {@code byStatus} holds an entry for every status, zero if no ticket of the subtree has it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketRollupResponse {
+    @NotNull
+    String ticketId;
+
+    int total;
+
+    @NotNull
+    Map<TicketStatus, Integer> byStatus;
+
+}
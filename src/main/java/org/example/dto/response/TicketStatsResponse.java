@@ -0,0 +1,48 @@
+package org.example.dto.response;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.enums.TicketStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response payload with the ticket statistics.
+ * {@code byStatus} holds an entry for every status; {@code buckets} lists the most recent non-empty time buckets,
+ * oldest first. {@code averageTimeToCloseSeconds} is {@code null} while no ticket is closed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketStatsResponse {
+
+    long total;
+
+    @NotNull
+    Map<TicketStatus, Long> byStatus;
+
+    @NotNull
+    List<Bucket> buckets;
+
+    Long averageTimeToCloseSeconds;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Bucket {
+        @NotNull
+        LocalDateTime start;
+
+        long created;
+
+        long closed;
+    }
+
+}
@@ -13,13 +13,12 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 @Slf4j
 @Entity
 @Table(name = "tickets")
 public class TicketEntity {
     @Id
-    @GeneratedValue
     private String id;
 
     private String description;
@@ -30,17 +29,21 @@ public class TicketEntity {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
-    //posibility of migrating to JPA/Hibernate.
+    // IDs and creation times are assigned by the service; the callbacks only fill in what is missing under JPA.
     @PrePersist
     public void onCreate() {
-        log.info("Setting createdAt for ticket {}", id);
-        this.createdAt = LocalDateTime.now();
+        if (createdAt == null) {
+            log.debug("Setting createdAt for ticket {}", id);
+            this.createdAt = LocalDateTime.now();
+        }
     }
 
     @PreUpdate
     public void onUpdate() {
-        log.info("Updating updatedAt for ticket {}", id);
-        this.updatedAt = LocalDateTime.now();
+        if (updatedAt == null) {
+            log.debug("Setting updatedAt for ticket {}", id);
+            this.updatedAt = LocalDateTime.now();
+        }
     }
 
 }
@@ -0,0 +1,40 @@
+package org.example.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A ticket change that still has to be mirrored to the sheet.
+ * Written in the same transaction as the change itself and deleted once the sheet has been updated.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "ticket_replication_log")
+public class TicketReplicationEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_replication_seq")
+    @SequenceGenerator(name = "ticket_replication_seq", sequenceName = "ticket_replication_seq", allocationSize = 50)
+    private Long seq;
+
+    private String ticketId;
+
+    /**
+     * Row checksum of the version the change replaced, or {@code null} if the ticket was new.
+     */
+    private Long baseChecksum;
+
+    private LocalDateTime recordedAt;
+}
@@ -1,7 +1,9 @@
 package org.example.exception;
 
+import com.google.api.client.http.HttpResponseException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -16,6 +18,8 @@ import java.util.Map;
  * Global exception handler for REST controllers.
  * Captures and transforms common exceptions into meaningful HTTP responses.
  * Covers validation errors, entity lookup failures, and generic server errors.
+ * Repository failures caused by the Sheets API being unavailable or over quota answer 503,
+ * with a Retry-After header when the wait is known, so clients back off instead of retrying at once.
  */
 @Slf4j
 @ControllerAdvice
@@ -29,6 +33,22 @@ public class GlobalExceptionHandler {
                 .body("An unexpected error occurred. Please try again later.");
     }
 
+    @ExceptionHandler(TicketRepositoryException.class)
+    public ResponseEntity<String> handleRepositoryError(TicketRepositoryException ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof SheetsRequestRejectedException rejected) {
+                log.warn("Ticket storage rejected the request: {}", rejected.getMessage());
+                return unavailable(rejected.getRetryAfter() != null ? Math.max(1, rejected.getRetryAfter().toSeconds()) : null);
+            }
+            if (cause instanceof HttpResponseException response
+                    && (response.getStatusCode() == 429 || response.getStatusCode() == 503)) {
+                log.warn("Ticket storage is unavailable: {}", response.getStatusMessage());
+                return unavailable(null);
+            }
+        }
+        return handleGenericException(ex);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<Map<String, String>> handleValidationError(MethodArgumentNotValidException ex) {
@@ -55,5 +75,11 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body("Invalid input: " + ex.getMessage());
     }
 
-
+    private ResponseEntity<String> unavailable(Long retryAfterSeconds) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+        if (retryAfterSeconds != null) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        }
+        return response.body("Ticket storage is temporarily unavailable. Please try again later.");
+    }
 }
@@ -0,0 +1,28 @@
+package org.example.exception;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Thrown when a Sheets call is not attempted because the client-side limits leave no room for it.
+ */
+public class SheetsRequestRejectedException extends IOException {
+
+    private final Duration retryAfter;
+
+    public SheetsRequestRejectedException(String message) {
+        this(message, null);
+    }
+
+    public SheetsRequestRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return how long callers should wait before trying again, or {@code null} if unknown
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
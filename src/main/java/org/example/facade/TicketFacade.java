@@ -2,21 +2,39 @@ package org.example.facade;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.dto.request.BatchCreateTicketsRequest;
+import org.example.dto.request.BatchUpdateStatusRequest;
 import org.example.dto.request.CreateTicketRequest;
 import org.example.dto.request.UpdateTicketRequest;
+import org.example.dto.response.BatchItemResponse;
+import org.example.dto.response.BatchTicketResponse;
+import org.example.dto.response.TicketPageResponse;
 import org.example.dto.response.TicketResponse;
+import org.example.dto.response.TicketRollupResponse;
+import org.example.dto.response.TicketStatsResponse;
 import org.example.entity.TicketEntity;
 import org.example.enums.TicketStatus;
 import org.example.exception.TicketRepositoryException;
 import org.example.mapper.TicketMapper;
 import org.example.repository.GoogleSheetsTicketRepository;
+import org.example.repository.TicketCursor;
+import org.example.service.BatchItemResult;
 import org.example.service.ManageTicketsService;
+import org.example.service.TicketSearchIndex;
+import org.example.service.TicketStatistics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Facade layer for ticket operations.
@@ -31,8 +49,20 @@ public class TicketFacade {
 
     private final ManageTicketsService ticketService;
 
+    private final TicketListingCache listingCache;
+
+    private final TicketStatistics statistics;
+
+    private final TicketSearchIndex searchIndex;
+
     private GoogleSheetsTicketRepository googleSheetsTicketRepository;
 
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    public static final int MAX_SEARCH_RESULTS = 100;
+
+    private static final char CURSOR_SEPARATOR = '|';
+
 
     /**
      * Creates a new ticket based on the provided request.
@@ -47,6 +77,17 @@ public class TicketFacade {
         return mapper.toResponse(ticket);
     }
 
+    /**
+     * Asynchronous variant of {@link #createTicket(CreateTicketRequest)}.
+     *
+     * @param request the ticket creation request
+     * @return a future of the created ticket as a {@link TicketResponse}
+     */
+    public CompletableFuture<TicketResponse> createTicketAsync(CreateTicketRequest request) {
+        log.info("Creating ticket");
+        return ticketService.createTicketAsync(request).thenApply(mapper::toResponse);
+    }
+
     /**
      * Updates the status of an existing ticket.
      * Delegates update logic to the {@link ManageTicketsService} and maps the result to a response DTO.
@@ -61,20 +102,223 @@ public class TicketFacade {
         return mapper.toResponse(ticket);
     }
 
+    /**
+     * Asynchronous variant of {@link #updateTicket(String, UpdateTicketRequest)}.
+     *
+     * @param ticketId the ID of the ticket to update
+     * @param request the update request containing the new status
+     * @return a future of the updated ticket as a {@link TicketResponse}
+     */
+    public CompletableFuture<TicketResponse> updateTicketAsync(String ticketId, UpdateTicketRequest request) {
+        log.info("Updating ticket {}", ticketId);
+        return ticketService.updateTicketAsync(ticketId, request).thenApply(mapper::toResponse);
+    }
+
+    /**
+     * Creates a batch of tickets with a single write, see {@link ManageTicketsService#createTickets(List)}.
+     *
+     * @param request the tickets to create
+     * @return one result per ticket, in request order
+     */
+    public BatchTicketResponse createTickets(BatchCreateTicketsRequest request) throws TicketRepositoryException {
+        log.info("Creating {} tickets", request.getTickets().size());
+        return toBatchResponse(ticketService.createTickets(request.getTickets()));
+    }
+
+    /**
+     * Changes the status of a batch of tickets with a single write, see {@link ManageTicketsService#updateTicketStatuses(List)}.
+     *
+     * @param request the ticket IDs and their new status
+     * @return one result per update, in request order
+     */
+    public BatchTicketResponse updateTicketStatuses(BatchUpdateStatusRequest request) throws TicketRepositoryException {
+        log.info("Updating the status of {} tickets", request.getUpdates().size());
+        return toBatchResponse(ticketService.updateTicketStatuses(request.getUpdates()));
+    }
+
     /**
      * Retrieves all tickets matching the specified status.
-     * Delegates filtering to the {@link ManageTicketsService} and maps results to response DTOs.
+     * Served from the {@link TicketListingCache}, which loads through the {@link ManageTicketsService}
+     * and drops a listing as soon as a ticket with that status changes.
      *
      * @param status the status to filter tickets by
-     * @return a list of matching tickets as {@link TicketResponse} objects
+     * @return a read-only list of matching tickets as {@link TicketResponse} objects
      */
     public List<TicketResponse> getTicketsByStatus(TicketStatus status) throws TicketRepositoryException {
         log.info("Retrieving tickets by status: {}", status);
-        List<TicketEntity> ticketEntities = ticketService.getTicketsByStatus(status);
+        return listingCache.get(status);
+    }
+
+    /**
+     * Asynchronous variant of {@link #getTicketsByStatus(TicketStatus)}, served from the same cache.
+     *
+     * @param status the status to filter tickets by
+     * @return a future of the read-only list of matching tickets
+     */
+    public CompletableFuture<List<TicketResponse>> getTicketsByStatusAsync(TicketStatus status) {
+        log.info("Retrieving tickets by status: {}", status);
+        return listingCache.getAsync(status);
+    }
+
+    /**
+     * Retrieves one page of tickets matching the specified status, ordered by creation time and then by ID.
+     * The cursor is opaque to clients: it is the value of {@code nextCursor} from the previous page.
+     *
+     * @param status the status to filter tickets by
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit the maximum number of tickets on the page, between 1 and {@value #MAX_PAGE_SIZE}
+     * @return the page of tickets and the cursor of the next page, if there is one
+     * @throws IllegalArgumentException if the limit is out of range or the cursor is malformed
+     */
+    public TicketPageResponse getTicketsByStatusPage(TicketStatus status, String cursor, int limit) throws TicketRepositoryException {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<TicketEntity> ticketEntities = ticketService.getTicketsByStatus(status, decodeCursor(cursor), limit + 1);
+
+        boolean hasMore = ticketEntities.size() > limit;
+        List<TicketEntity> page = hasMore ? ticketEntities.subList(0, limit) : ticketEntities;
+        return TicketPageResponse.builder()
+                .items(page.stream().map(mapper::toResponse).toList())
+                .nextCursor(hasMore ? encodeCursor(TicketCursor.of(page.get(limit - 1))) : null)
+                .build();
+    }
+
+    /**
+     * Lists the direct children of a ticket.
+     *
+     * @param ticketId the ID of the parent ticket
+     * @return the child tickets
+     */
+    public List<TicketResponse> getChildren(String ticketId) throws TicketRepositoryException {
+        log.info("Retrieving children of ticket {}", ticketId);
+        return ticketService.getChildren(ticketId).stream().map(mapper::toResponse).toList();
+    }
+
+    /**
+     * Lists a ticket and all its descendants, the root first and then level by level.
+     * Each ticket carries its {@code parentId}, so clients can rebuild the tree.
+     *
+     * @param ticketId the ID of the subtree root
+     * @return the tickets of the subtree
+     */
+    public List<TicketResponse> getSubtree(String ticketId) throws TicketRepositoryException {
+        log.info("Retrieving subtree of ticket {}", ticketId);
+        return ticketService.getSubtree(ticketId).stream().map(mapper::toResponse).toList();
+    }
+
+    /**
+     * Counts the tickets of a subtree by status in a single pass over the subtree.
+     *
+     * @param ticketId the ID of the subtree root
+     * @return the number of tickets in the subtree, in total and per status
+     */
+    public TicketRollupResponse getSubtreeRollup(String ticketId) throws TicketRepositoryException {
+        log.info("Rolling up the statuses of the subtree of ticket {}", ticketId);
+        List<TicketEntity> subtree = ticketService.getSubtree(ticketId);
+        Map<TicketStatus, Integer> byStatus = new EnumMap<>(TicketStatus.class);
+        for (TicketStatus status : TicketStatus.values()) {
+            byStatus.put(status, 0);
+        }
+        for (TicketEntity ticket : subtree) {
+            byStatus.merge(ticket.getStatus(), 1, Integer::sum);
+        }
+        return TicketRollupResponse.builder()
+                .ticketId(ticketId)
+                .total(subtree.size())
+                .byStatus(byStatus)
+                .build();
+    }
+
+    /**
+     * Searches the ticket descriptions, see {@link TicketSearchIndex#search(String, int)}.
+     *
+     * @param query the words to search for; each also matches as a word prefix
+     * @param limit the maximum number of results, between 1 and {@value #MAX_SEARCH_RESULTS}
+     * @return the matching tickets, best match first
+     * @throws IllegalArgumentException if the query has no words or the limit is out of range
+     */
+    public List<TicketResponse> searchTickets(String query, int limit) throws TicketRepositoryException {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("q must not be blank");
+        }
+        log.info("Searching tickets for '{}'", query);
+        return searchIndex.search(query, limit).stream().map(mapper::toResponse).toList();
+    }
+
+    /**
+     * Returns the ticket counts per status, the tickets created and closed per time bucket and the average
+     * time to close. Read from the running counters of {@link TicketStatistics}, not by scanning the tickets.
+     *
+     * @return the current statistics
+     */
+    public TicketStatsResponse getStats() throws TicketRepositoryException {
+        log.info("Retrieving ticket statistics");
+        TicketStatistics.Snapshot snapshot = statistics.snapshot();
+        return TicketStatsResponse.builder()
+                .total(snapshot.total())
+                .byStatus(snapshot.byStatus())
+                .buckets(snapshot.buckets().stream()
+                        .map(bucket -> TicketStatsResponse.Bucket.builder()
+                                .start(bucket.start())
+                                .created(bucket.created())
+                                .closed(bucket.closed())
+                                .build())
+                        .toList())
+                .averageTimeToCloseSeconds(snapshot.averageTimeToClose() != null ? snapshot.averageTimeToClose().toSeconds() : null)
+                .build();
+    }
+
+    private BatchTicketResponse toBatchResponse(List<BatchItemResult> results) {
+        List<BatchItemResponse> items = results.stream()
+                .map(result -> BatchItemResponse.builder()
+                        .index(result.index())
+                        .status(toHttpStatus(result.outcome()).value())
+                        .ticket(result.ticket() != null ? mapper.toResponse(result.ticket()) : null)
+                        .error(result.error())
+                        .build())
+                .toList();
+        int succeeded = (int) results.stream().filter(result -> result.outcome().isSuccess()).count();
+        return BatchTicketResponse.builder()
+                .results(items)
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .build();
+    }
+
+    private static HttpStatus toHttpStatus(BatchItemResult.Outcome outcome) {
+        return switch (outcome) {
+            case CREATED -> HttpStatus.CREATED;
+            case UPDATED -> HttpStatus.OK;
+            case INVALID -> HttpStatus.BAD_REQUEST;
+            case NOT_FOUND -> HttpStatus.NOT_FOUND;
+        };
+    }
+
+    private static String encodeCursor(TicketCursor cursor) {
+        String createdAt = cursor.createdAt() != null ? cursor.createdAt().toString() : "";
+        String raw = createdAt + CURSOR_SEPARATOR + cursor.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
 
-        return ticketEntities.stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+    private static TicketCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(CURSOR_SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            String createdAt = raw.substring(0, separator);
+            return new TicketCursor(createdAt.isEmpty() ? null : LocalDateTime.parse(createdAt), raw.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
     }
 
 
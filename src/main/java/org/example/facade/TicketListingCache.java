@@ -0,0 +1,121 @@
+package org.example.facade;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.CacheConfig;
+import org.example.config.CacheProperties;
+import org.example.dto.response.TicketResponse;
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+import org.example.exception.TicketRepositoryException;
+import org.example.mapper.TicketMapper;
+import org.example.repository.ExecutorAsyncTicketRepository;
+import org.example.repository.event.TicketChangedEvent;
+import org.example.repository.event.TicketsReloadedEvent;
+import org.example.service.ManageTicketsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Cache of the mapped ticket listing per status, backed by a Caffeine {@link AsyncLoadingCache}.
+ * Concurrent misses for the same status share one load, and entries past <code>refresh-after-write</code>
+ * are reloaded in the background while the current listing is still served. Loads block on the repository, so they
+ * run on the virtual threads of the {@link ExecutorAsyncTicketRepository} rather than the common pool.
+ *
+ * <p>Entries are invalidated as soon as the primary repository reports a change, but only for the statuses the
+ * changed ticket moved from and to, so writes are visible to the next read without dropping the other listings.
+ * Changes of the Sheets mirror of the {@code tiered} profile are ignored.</p>
+ *
+ * <p>Configured with <code>cache.specs.tickets-by-status.*</code>; statistics are published as the
+ * <code>tickets-by-status</code> cache.</p>
+ */
+@Slf4j
+@Component
+public class TicketListingCache {
+
+    public static final String NAME = "tickets-by-status";
+
+    private final AsyncLoadingCache<TicketStatus, List<TicketResponse>> cache;
+
+    @Autowired
+    public TicketListingCache(ManageTicketsService ticketService, TicketMapper mapper, CacheProperties cacheProperties,
+                              MeterRegistry meterRegistry, ExecutorAsyncTicketRepository asyncTicketRepository) {
+        this(ticketService, mapper, cacheProperties, meterRegistry, asyncTicketRepository.executor());
+    }
+
+    /**
+     * @param loadExecutor runs the blocking loads and refreshes; Caffeine would otherwise use the common pool
+     */
+    public TicketListingCache(ManageTicketsService ticketService, TicketMapper mapper, CacheProperties cacheProperties,
+                              MeterRegistry meterRegistry, Executor loadExecutor) {
+        this.cache = CacheConfig.newBuilder(cacheProperties.resolve(NAME), true)
+                .executor(loadExecutor)
+                .buildAsync(status -> ticketService.getTicketsByStatus(status).stream()
+                        .map(mapper::toResponse)
+                        .toList());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    /**
+     * Returns the mapped listing of a status, loading it on a miss.
+     *
+     * @param status the status to list
+     * @return a read-only list of {@link TicketResponse} objects
+     * @throws TicketRepositoryException if the tickets cannot be loaded
+     */
+    public List<TicketResponse> get(TicketStatus status) throws TicketRepositoryException {
+        try {
+            return cache.get(status).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TicketRepositoryException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the mapped listing of a status without blocking; a miss completes once the load finishes.
+     *
+     * @param status the status to list
+     * @return a future of the read-only list, failing with the cause of a failed load
+     */
+    public CompletableFuture<List<TicketResponse>> getAsync(TicketStatus status) {
+        return cache.get(status);
+    }
+
+    @EventListener
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (!event.primary()) {
+            return;
+        }
+        invalidate(event.previous());
+        invalidate(event.current());
+    }
+
+    @EventListener
+    public void onTicketsReloaded(TicketsReloadedEvent event) {
+        if (!event.primary()) {
+            return;
+        }
+        log.debug("Store reloaded with {} tickets, dropping all cached listings", event.size());
+        cache.synchronous().invalidateAll();
+    }
+
+    private void invalidate(TicketEntity ticket) {
+        if (ticket != null && ticket.getStatus() != null) {
+            cache.synchronous().invalidate(ticket.getStatus());
+        }
+    }
+}
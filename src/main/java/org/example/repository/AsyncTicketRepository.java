@@ -0,0 +1,20 @@
+package org.example.repository;
+
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link TicketRepository}.
+ * Every call returns immediately; a failure completes the future exceptionally with a
+ * {@link org.example.exception.TicketRepositoryException}, wrapped in a
+ * {@link java.util.concurrent.CompletionException} when observed through dependent stages.
+ */
+public interface AsyncTicketRepository {
+    CompletableFuture<TicketEntity> saveTicket(TicketEntity ticket);
+    CompletableFuture<TicketEntity> findById(String ticketId);
+    CompletableFuture<List<TicketEntity>> findByStatus(TicketStatus status);
+    CompletableFuture<List<TicketEntity>> findByStatus(TicketStatus status, TicketCursor after, int limit);
+}
@@ -0,0 +1,82 @@
+package org.example.repository;
+
+import jakarta.annotation.PreDestroy;
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+import org.example.exception.TicketRepositoryException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * {@link AsyncTicketRepository} that runs the calls of the blocking {@link TicketRepository} on virtual threads.
+ * A blocked call only parks its virtual thread, so independent calls overlap without a sized pool;
+ * the number of Sheets calls in flight is still bounded by the Sheets request limiter.
+ */
+@Component
+public class ExecutorAsyncTicketRepository implements AsyncTicketRepository {
+
+    private final TicketRepository ticketRepository;
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("tickets-io-", 0).factory());
+
+    public ExecutorAsyncTicketRepository(TicketRepository ticketRepository) {
+        this.ticketRepository = ticketRepository;
+    }
+
+    @Override
+    public CompletableFuture<TicketEntity> saveTicket(TicketEntity ticket) {
+        return submit(() -> ticketRepository.saveTicket(ticket));
+    }
+
+    @Override
+    public CompletableFuture<TicketEntity> findById(String ticketId) {
+        return submit(() -> ticketRepository.findById(ticketId));
+    }
+
+    @Override
+    public CompletableFuture<List<TicketEntity>> findByStatus(TicketStatus status) {
+        return submit(() -> ticketRepository.findByStatus(status));
+    }
+
+    @Override
+    public CompletableFuture<List<TicketEntity>> findByStatus(TicketStatus status, TicketCursor after, int limit) {
+        return submit(() -> ticketRepository.findByStatus(status, after, limit));
+    }
+
+    /**
+     * @return the executor the repository calls run on, for other blocking work that should not occupy a pool thread
+     */
+    public Executor executor() {
+        return executor;
+    }
+
+    /**
+     * Stops accepting calls; calls already submitted still complete.
+     */
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(RepositoryCall<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.execute();
+            } catch (TicketRepositoryException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    @FunctionalInterface
+    private interface RepositoryCall<T> {
+        T execute() throws TicketRepositoryException;
+    }
+}
@@ -1,120 +1,850 @@
 package org.example.repository;
 
 import com.google.api.services.sheets.v4.Sheets;
+import com.google.api.services.sheets.v4.model.AppendValuesResponse;
+import com.google.api.services.sheets.v4.model.BatchUpdateValuesRequest;
 import com.google.api.services.sheets.v4.model.ValueRange;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.annotation.Timed;
+import org.example.client.GoogleSheetsProperties;
+import org.example.client.SheetsOperation;
+import org.example.client.SheetsPriority;
+import org.example.client.SheetsRequestExecutor;
 import org.example.client.SheetsServiceProvider;
 import org.example.entity.TicketEntity;
 import org.example.enums.TicketStatus;
 import org.example.exception.TicketRepositoryException;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
+import org.example.repository.snapshot.SnapshotProperties;
+import org.example.repository.snapshot.TicketSnapshot;
+import org.example.repository.snapshot.TicketSnapshotFile;
+import org.example.repository.wal.TicketWriteAheadLog;
+import org.example.repository.wal.WalProperties;
+import org.example.repository.wal.WalRecord;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeParseException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
 
 /**
  * Repository implementation that persists and retrieves tickets using Google Sheets.
  * Treats a spreadsheet tab as a flat table and maps rows to {@link TicketEntity}.
  * Uses the Sheets API to append and read data, scoped by configuration properties.
  *
+ * <p>The tab is downloaded once into the {@link TicketStore}, which then serves all reads.
+ * Every successful write is applied to the store as well (write-through).
+ * Rows are decoded by a {@link TicketRowDecoder}; invalid rows are logged, counted and skipped.</p>
+ *
+ * <p>The sheet row of every known ticket is tracked, so updates overwrite that row in place
+ * and only new tickets are appended. The tab therefore holds one row per ticket.</p>
+ *
+ * <p>With <code>google.sheets.write-behind.enabled</code> a save is acknowledged as soon as it is queued;
+ * queued writes are then coalesced into one multi-row append plus one batch update per flush.</p>
+ *
+ * <p>With <code>tickets.wal.enabled</code> every save is also recorded in a local {@link TicketWriteAheadLog}
+ * before it is sent to the sheet, and marked as written by a checkpoint once the sheet confirmed it.
+ * Changes and removals picked up from the sheet are logged as well, so a replay does not bring back deleted tickets.
+ * On startup the log is replayed into the store instead of downloading the tab, and writes that were logged
+ * but never confirmed are sent again. Row positions are then resolved lazily from the ID column, which also
+ * brings in the rows that others appended to the sheet while the service was down.</p>
+ *
+ * <p>With <code>tickets.snapshot.enabled</code> the store and the row positions are periodically written to a
+ * columnar {@link TicketSnapshotFile}. When the write-ahead log did not restore the store, startup loads the
+ * snapshot instead of downloading the tab, serves reads from it right away and runs {@link #reconcile()}
+ * in the background to pick up what changed in the sheet since the snapshot was taken.</p>
+ *
+ * <p>Rows added or edited in the sheet by others are picked up without reloading the tab:
+ * {@link #syncAppendedRows()} fetches only the rows below the last known one, and {@link #reconcile()}
+ * compares a checksum of every row with the last seen version to find edits and deletions.
+ * Both are run by {@link SheetsSyncScheduler}.</p>
+ *
+ * <p>Every Sheets call goes through the {@link SheetsRequestExecutor}, which records its latency and volume.</p>
+ *
+ * <p>Replaced by {@link JpaTicketRepository} when the {@code jpa} profile is active. With the {@code tiered} profile
+ * both are active: the database serves all requests and {@link SheetsReplicator} mirrors its changes here.</p>
+ *
  * <p>Configuration:</p>
  * <ul>
  *     <li><code>google.sheets.spreadsheet-id</code></li>
  *     <li><code>google.sheets.tab-name</code></li>
+ *     <li><code>google.sheets.write-behind.*</code></li>
+ *     <li><code>google.sheets.sync.*</code></li>
+ *     <li><code>tickets.wal.*</code></li>
+ *     <li><code>tickets.snapshot.*</code></li>
  * </ul>
  */
 @Slf4j
 @Repository
+@Profile("!jpa | tiered")
 @RequiredArgsConstructor
+@Timed(value = "tickets.repository", description = "Latency of ticket repository calls")
 public class GoogleSheetsTicketRepository implements TicketRepository{
 
+    private static final int CELL_SEPARATOR = 0x1F;
+
     private final SheetsServiceProvider sheetsProvider;
 
-    @Value("${google.sheets.spreadsheet-id}")
-    private String spreadsheetId;
+    private final TicketStore ticketStore;
+
+    private final GoogleSheetsProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final WalProperties walProperties;
+
+    private final SheetsRequestExecutor requestExecutor;
+
+    private final SnapshotProperties snapshotProperties;
+
+    private SheetsWriteBehindQueue writeBehindQueue;
+
+    private TicketWriteAheadLog wal;
 
-    @Value("${google.sheets.tab-name}")
-    private String tabName;
+    /**
+     * Sheet row number (1-based, header is row 1) of every ticket known to this repository.
+     */
+    private final Map<String, Integer> rowNumbers = new ConcurrentHashMap<>();
+
+    private volatile boolean rowNumbersLoaded;
+
+    /**
+     * Checksum of every row as last read from or written to the sheet, keyed by ticket ID.
+     */
+    private final Map<String, Long> rowChecksums = new ConcurrentHashMap<>();
+
+    /**
+     * Number of the last sheet row known to this repository; rows below it are new to the store.
+     */
+    private final AtomicInteger lastRow = new AtomicInteger();
+
+    /**
+     * IDs of the tickets whose latest write-ahead log record had not been written to the sheet when it was replayed.
+     */
+    private final Set<String> recoveredWrites = ConcurrentHashMap.newKeySet();
+
+    /*
+     * Concurrent callers share one initial load, and concurrent lookup misses share one fetch of appended rows.
+     */
+    private final SingleFlight<Void> initialLoad = new SingleFlight<>(() -> countJoined("load"));
+    private final SingleFlight<Integer> missSync = new SingleFlight<>(() -> countJoined("sync"));
+
+    /*
+     * Explicit locks rather than monitors around Sheets calls, so waiting virtual threads do not pin their carrier.
+     */
+    private final ReentrantLock rowNumbersLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    /*
+     * Write-ahead log sequence of the first record of every save that is logged but not yet confirmed by the sheet.
+     * Concurrent saves complete in any order, so the checkpoint never passes the oldest of them.
+     */
+    private final NavigableSet<Long> unconfirmedWrites = new ConcurrentSkipListSet<>();
+    private final ReentrantLock walLock = new ReentrantLock();
+    private long lastLoggedWrite;
+
+    @PostConstruct
+    void start() throws IOException {
+        List<WalRecord> unflushed = new ArrayList<>();
+        if (walProperties.isEnabled()) {
+            wal = new TicketWriteAheadLog(walProperties);
+            replayWriteAheadLog(unflushed);
+        }
+        if (snapshotProperties.isEnabled() && !ticketStore.isLoaded()) {
+            restoreSnapshot();
+        }
+        if (properties.getWriteBehind().isEnabled()) {
+            writeBehindQueue = new SheetsWriteBehindQueue(properties.getWriteBehind(), this::writeBatch, wal, meterRegistry);
+            unflushed.forEach(record -> writeBehindQueue.enqueueRecovered(record.ticket(), record.sequence()));
+            writeBehindQueue.start();
+        } else if (!unflushed.isEmpty()) {
+            flushRecovered(unflushed);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (writeBehindQueue != null) {
+            writeBehindQueue.close();
+        }
+        if (snapshotProperties.isEnabled()) {
+            try {
+                writeSnapshot();
+            } catch (IOException e) {
+                log.warn("Failed to write the ticket snapshot on shutdown", e);
+            }
+        }
+        if (wal != null) {
+            wal.close();
+        }
+    }
 
     public TicketEntity saveTicket(TicketEntity ticket) throws TicketRepositoryException {
+        ensureLoaded();
+        if (writeBehindQueue != null) {
+            writeBehindQueue.enqueue(ticket);
+            ticketStore.put(ticket);
+            return ticket;
+        }
+        ensureRowNumbers();
+        long logged = logPending(List.of(ticket));
         try {
             Sheets sheetsService = sheetsProvider.getSheetsService();
 
-            ValueRange body = new ValueRange().setValues(List.of(List.of(
-                    ticket.getId().toString(),
-                    ticket.getDescription(),
-                    ticket.getParentId() != null ? ticket.getParentId().toString() : "",
-                    ticket.getStatus().name(),
-                    ticket.getCreatedAt().toString(),
-                    ticket.getUpdatedAt() != null ? ticket.getUpdatedAt().toString() : ""
-            )));
-
-            sheetsService.spreadsheets().values()
-                    .append(spreadsheetId, tabName + "!A1", body)
-                    .setValueInputOption("RAW")
-                    .setInsertDataOption("INSERT_ROWS")
-                    .execute();
+            List<Object> row = toRow(ticket);
+            ValueRange body = new ValueRange().setValues(List.of(row));
 
-            log.info("Ticket successfully saved to database");
+            Integer rowNumber = rowNumbers.get(ticket.getId());
+            if (rowNumber != null) {
+                requestExecutor.execute(SheetsOperation.UPDATE, sheetsService.spreadsheets().values()
+                        .update(properties.getSpreadsheetId(), rowRange(rowNumber), body)
+                        .setValueInputOption("RAW"));
+            } else {
+                AppendValuesResponse response = requestExecutor.execute(SheetsOperation.APPEND, sheetsService.spreadsheets().values()
+                        .append(properties.getSpreadsheetId(), properties.getTabName() + "!A1", body)
+                        .setValueInputOption("RAW")
+                        .setInsertDataOption("INSERT_ROWS"));
+                rowNumber = parseStartRow(response.getUpdates().getUpdatedRange());
+            }
+            recordRow(ticket.getId(), rowNumber, row);
 
-            return ticket;
+            log.info("Ticket successfully saved to database");
+            ticketStore.put(ticket);
 
         } catch (Exception e) {
+            logRejected(List.of(ticket));
             throw new TicketRepositoryException("Failed to write ticket to database", e);
+        } finally {
+            confirmLogged(logged);
         }
+        return ticket;
     }
 
+    /**
+     * Saves a batch of tickets with at most two Sheets calls: one batch update for tickets that already
+     * have a row and one multi-row append for new ones. With write-behind enabled, the tickets are queued instead.
+     * The batch is written as a whole: if a call fails, the store is not changed.
+     *
+     * @param tickets the tickets to save; when a ticket occurs more than once, the last occurrence wins
+     * @return the saved tickets
+     * @throws TicketRepositoryException if the batch cannot be written
+     */
+    @Override
+    public List<TicketEntity> saveAll(List<TicketEntity> tickets) throws TicketRepositoryException {
+        ensureLoaded();
+        if (tickets.isEmpty()) {
+            return tickets;
+        }
+        if (writeBehindQueue != null) {
+            for (TicketEntity ticket : tickets) {
+                writeBehindQueue.enqueue(ticket);
+                ticketStore.put(ticket);
+            }
+            return tickets;
+        }
+
+        long logged = logPending(tickets);
+        try {
+            writeBatch(tickets);
+        } catch (TicketRepositoryException e) {
+            logRejected(tickets);
+            throw e;
+        } finally {
+            confirmLogged(logged);
+        }
+        tickets.forEach(ticketStore::put);
+        return tickets;
+    }
+
+    /**
+     * Looks up a ticket in the store. With <code>google.sheets.sync.enabled</code>, a miss first fetches
+     * the rows appended since the last sync, so tickets created by other writers are found right away.
+     * Concurrent misses share one such fetch.
+     *
+     * @param ticketId the ticket ID
+     * @return a copy of the ticket, or {@code null} if not found
+     * @throws TicketRepositoryException if the initial load from the sheet fails
+     */
     public TicketEntity findById(String ticketId) throws TicketRepositoryException {
+        log.info("Fetching ticket with ID: {}", ticketId);
+        ensureLoaded();
+        TicketEntity ticket = ticketStore.findById(ticketId);
+        if (ticket == null && properties.getSync().isEnabled()) {
+            try {
+                missSync.run(() -> syncAppendedRows(SheetsPriority.USER_READ));
+            } catch (TicketRepositoryException e) {
+                log.warn("Could not check the sheet for new tickets while looking up {}", ticketId, e);
+            }
+            ticket = ticketStore.findById(ticketId);
+        }
+        return ticket;
+    }
+
+    public List<TicketEntity> findAll() throws TicketRepositoryException {
+        ensureLoaded();
+        return ticketStore.findAll();
+    }
+
+    public List<TicketEntity> findByStatus(TicketStatus status) throws TicketRepositoryException {
+        ensureLoaded();
+        return ticketStore.findByStatus(status);
+    }
+
+    /**
+     * Lists one page of tickets with the given status, ordered by creation time and then by ID.
+     *
+     * @param status the status to filter by
+     * @param after  the last ticket of the previous page, or {@code null} for the first page
+     * @param limit  the maximum number of tickets to return
+     * @return the tickets following the cursor
+     * @throws TicketRepositoryException if the initial load from the sheet fails
+     */
+    @Override
+    public List<TicketEntity> findByStatus(TicketStatus status, TicketCursor after, int limit) throws TicketRepositoryException {
+        ensureLoaded();
+        return ticketStore.findByStatus(status, after, limit);
+    }
+
+    @Override
+    public List<TicketEntity> findByParentId(String parentId) throws TicketRepositoryException {
+        ensureLoaded();
+        return ticketStore.findByParentId(parentId);
+    }
+
+    @Override
+    public List<TicketEntity> findSubtree(String rootId) throws TicketRepositoryException {
+        ensureLoaded();
+        return ticketStore.findSubtree(rootId);
+    }
+
+    /**
+     * Fetches the rows appended to the sheet since the last known row and adds their tickets to the store.
+     * Rows of tickets that are already known, such as the ones appended by this repository, are skipped.
+     * When the store was restored from the write-ahead log, the row positions are resolved first.
+     * The read is made with {@link SheetsPriority#BACKGROUND} priority.
+     *
+     * @return the number of tickets added to the store
+     * @throws TicketRepositoryException if the rows cannot be read
+     */
+    public int syncAppendedRows() throws TicketRepositoryException {
+        return syncAppendedRows(SheetsPriority.BACKGROUND);
+    }
+
+    private int syncAppendedRows(SheetsPriority priority) throws TicketRepositoryException {
+        if (!ticketStore.isLoaded()) {
+            return 0;
+        }
+        return ensureRowNumbers() + readAppendedRows(priority);
+    }
+
+    private int readAppendedRows(SheetsPriority priority) throws TicketRepositoryException {
+        syncLock.lock();
         try {
-            log.info("Fetching ticket with ID: {}", ticketId);
+            int firstRow = lastRow.get() + 1;
+            List<List<Object>> rows;
+            try {
+                ValueRange response = requestExecutor.execute(SheetsOperation.READ, priority, sheetsProvider.getSheetsService().spreadsheets().values()
+                        .get(properties.getSpreadsheetId(), properties.getTabName() + "!A" + firstRow + ":F"));
+                rows = response.getValues() != null ? response.getValues() : List.of();
+            } catch (Exception e) {
+                throw new TicketRepositoryException("Failed to read appended tickets from database", e);
+            }
+
+            List<TicketEntity> added = new ArrayList<>();
+            TicketRowDecoder decoder = new TicketRowDecoder();
+            for (int i = 0; i < rows.size(); i++) {
+                List<Object> row = rows.get(i);
+                String ticketId = getCell(row, 0);
+                if (ticketId.isEmpty() || rowNumbers.containsKey(ticketId)) {
+                    continue;
+                }
+                TicketEntity ticket = decodeRow(decoder, row, firstRow + i);
+                if (ticket != null) {
+                    recordRow(ticketId, firstRow + i, row);
+                    if (ticketStore.compareAndPut(null, ticket)) {
+                        added.add(ticket);
+                    }
+                }
+            }
+            lastRow.accumulateAndGet(firstRow + rows.size() - 1, Math::max);
+            logSheetChanges(added, List.of());
+            return added.size();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Reads the whole tab and applies rows that were edited, added or removed directly in the sheet.
+     * A row counts as changed when its checksum differs from the last version this repository read or wrote,
+     * so unchanged rows are not parsed. A change is only applied if the ticket was not modified locally
+     * while the tab was being read. Tickets restored from the write-ahead log have no row checksum yet and are
+     * compared with the restored state instead; when a write recovered from the log is still to be sent,
+     * the differing row is counted as a conflict and left to be overwritten by that write.
+     *
+     * <p>Every stored ticket without a row is removed, unless a write of it is still on its way to the sheet.
+     * Applied changes and removals are recorded in the write-ahead log. Row positions are rebuilt, since deleting
+     * rows shifts the ones below. The read is made with {@link SheetsPriority#BACKGROUND} priority.</p>
+     *
+     * @return the number of tickets added, replaced or removed in the store
+     * @throws TicketRepositoryException if the tab cannot be read
+     */
+    public int reconcile() throws TicketRepositoryException {
+        if (!ticketStore.isLoaded()) {
+            return 0;
+        }
+        syncLock.lock();
+        try {
+            Map<String, TicketEntity> stored = new HashMap<>();
+            ticketStore.findAll().forEach(ticket -> stored.put(ticket.getId(), ticket));
+            Map<String, Integer> knownRows = Map.copyOf(rowNumbers);
+
+            List<List<Object>> rows;
+            try {
+                ValueRange response = requestExecutor.execute(SheetsOperation.READ, SheetsPriority.BACKGROUND, sheetsProvider.getSheetsService().spreadsheets().values()
+                        .get(properties.getSpreadsheetId(), properties.getTabName()));
+                rows = response.getValues() != null ? response.getValues() : List.of();
+            } catch (Exception e) {
+                throw new TicketRepositoryException("Failed to read tickets from database", e);
+            }
+
+            List<TicketEntity> changed = new ArrayList<>();
+            List<String> removed = new ArrayList<>();
+            TicketRowDecoder decoder = new TicketRowDecoder();
+            Set<String> present = new HashSet<>();
+            for (int i = 1; i < rows.size(); i++) {
+                List<Object> row = rows.get(i);
+                String ticketId = getCell(row, 0);
+                if (ticketId.isEmpty()) {
+                    continue;
+                }
+                present.add(ticketId);
+                Long previous = rowChecksums.get(ticketId);
+                if (previous != null && previous == checksum(row)) {
+                    rowNumbers.put(ticketId, i + 1);
+                    continue;
+                }
+                if (previous == null && stored.containsKey(ticketId)) {
+                    // restored from the write-ahead log, so the restored ticket is the baseline to compare against
+                    if (checksum(stored.get(ticketId)) == checksum(row)) {
+                        recordRow(ticketId, i + 1, row);
+                        continue;
+                    }
+                    if (recoveredWrites.contains(ticketId)) {
+                        log.warn("Ticket {} was edited in the sheet while a recovered write of it is still to be sent", ticketId);
+                        meterRegistry.counter("tickets.repository.reconcile.conflicts").increment();
+                        rowNumbers.put(ticketId, i + 1);
+                        continue;
+                    }
+                }
+                TicketEntity ticket = decodeRow(decoder, row, i + 1);
+                if (ticket != null) {
+                    recordRow(ticketId, i + 1, row);
+                    if (ticketStore.compareAndPut(stored.get(ticketId), ticket)) {
+                        changed.add(ticket);
+                    }
+                }
+            }
+
+            // stored rather than known tickets, since the ones restored from the write-ahead log have no known row
+            for (Map.Entry<String, TicketEntity> entry : stored.entrySet()) {
+                String ticketId = entry.getKey();
+                if (present.contains(ticketId) || hasUnsentWrite(ticketId)) {
+                    continue;
+                }
+                Integer known = knownRows.get(ticketId);
+                if (known != null && !rowNumbers.remove(ticketId, known)) {
+                    continue;
+                }
+                rowChecksums.remove(ticketId);
+                if (ticketStore.compareAndPut(entry.getValue(), null)) {
+                    removed.add(ticketId);
+                }
+            }
+            lastRow.set(Math.max(rows.size(), 1));
+            rowNumbersLoaded = true;
+            logSheetChanges(changed, removed);
+            return changed.size() + removed.size();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the store and the row position of every ticket to the snapshot file.
+     * Tickets without a known row, such as queued writes that were never flushed, are left out.
+     *
+     * @return the number of tickets written, or -1 if the store or the row positions are not loaded yet
+     * @throws IOException if the snapshot file cannot be written
+     */
+    public int writeSnapshot() throws IOException {
+        if (!ticketStore.isLoaded() || !rowNumbersLoaded) {
+            return -1;
+        }
+        List<TicketSnapshot.Entry> entries = new ArrayList<>();
+        int last;
+        syncLock.lock();
+        try {
+            last = lastRow.get();
+            for (TicketEntity ticket : ticketStore.findAll()) {
+                Integer rowNumber = rowNumbers.get(ticket.getId());
+                if (rowNumber != null) {
+                    entries.add(new TicketSnapshot.Entry(ticket, rowNumber));
+                }
+            }
+        } finally {
+            syncLock.unlock();
+        }
+        TicketSnapshotFile.write(Path.of(snapshotProperties.getPath()), new TicketSnapshot(entries, last));
+        return entries.size();
+    }
+
+    /**
+     * Writes a batch of queued tickets with at most two Sheets calls:
+     * one batch update for tickets that already have a row and one multi-row append for new ones.
+     * Repeated writes of the same ticket within the batch are collapsed to the latest one.
+     *
+     * @param batch the queued tickets, oldest first
+     * @throws TicketRepositoryException if any of the calls fails; the batch can then be retried as a whole
+     */
+    private void writeBatch(List<TicketEntity> batch) throws TicketRepositoryException {
+        ensureRowNumbers();
+        Map<String, TicketEntity> latest = new LinkedHashMap<>();
+        batch.forEach(ticket -> latest.put(ticket.getId(), ticket));
+
+        List<ValueRange> updates = new ArrayList<>();
+        List<TicketEntity> updated = new ArrayList<>();
+        List<TicketEntity> appends = new ArrayList<>();
+        for (TicketEntity ticket : latest.values()) {
+            Integer rowNumber = rowNumbers.get(ticket.getId());
+            if (rowNumber != null) {
+                updates.add(new ValueRange().setRange(rowRange(rowNumber)).setValues(List.of(toRow(ticket))));
+                updated.add(ticket);
+            } else {
+                appends.add(ticket);
+            }
+        }
 
+        try {
             Sheets sheetsService = sheetsProvider.getSheetsService();
 
-            ValueRange response = sheetsService.spreadsheets().values()
-                    .get(spreadsheetId, tabName)
-                    .execute();
+            if (!updates.isEmpty()) {
+                BatchUpdateValuesRequest request = new BatchUpdateValuesRequest()
+                        .setValueInputOption("RAW")
+                        .setData(updates);
+                requestExecutor.execute(SheetsOperation.BATCH_UPDATE, sheetsService.spreadsheets().values()
+                        .batchUpdate(properties.getSpreadsheetId(), request));
+                for (TicketEntity ticket : updated) {
+                    recordRow(ticket.getId(), rowNumbers.get(ticket.getId()), toRow(ticket));
+                }
+            }
 
-            List<List<Object>> rows = response.getValues();
-            if (rows == null || rows.isEmpty()) {
-                return null;
+            if (!appends.isEmpty()) {
+                ValueRange body = new ValueRange().setValues(appends.stream().map(GoogleSheetsTicketRepository::toRow).toList());
+                AppendValuesResponse response = requestExecutor.execute(SheetsOperation.APPEND, sheetsService.spreadsheets().values()
+                        .append(properties.getSpreadsheetId(), properties.getTabName() + "!A1", body)
+                        .setValueInputOption("RAW")
+                        .setInsertDataOption("INSERT_ROWS"));
+                int firstRow = parseStartRow(response.getUpdates().getUpdatedRange());
+                for (int i = 0; i < appends.size(); i++) {
+                    recordRow(appends.get(i).getId(), firstRow + i, toRow(appends.get(i)));
+                }
             }
 
-            return rows.stream()
-                    .skip(1)
-                    .map(this::mapRowToEntity)
-                    .filter(ticket -> ticket.getId().equals(ticketId))
-                    .findFirst()
-                    .orElse(null);
+            log.info("Flushed {} updated and {} new tickets to database", updates.size(), appends.size());
 
         } catch (Exception e) {
-            throw new TicketRepositoryException("Failed to read ticket from database", e);
+            throw new TicketRepositoryException("Failed to write ticket batch to database", e);
         }
     }
 
-    @Cacheable(value = "allTicketsCache")
-    public List<TicketEntity> findAll() throws TicketRepositoryException {
+    /**
+     * Populates the {@link TicketStore} from the spreadsheet on first use.
+     * Concurrent callers share the single initial load instead of issuing their own, including its failure.
+     *
+     * @throws TicketRepositoryException if the tab cannot be read
+     */
+    private void ensureLoaded() throws TicketRepositoryException {
+        if (ticketStore.isLoaded()) {
+            return;
+        }
+        initialLoad.run(() -> {
+            if (!ticketStore.isLoaded()) {
+                loadFromSheet();
+                log.info("Loaded {} tickets into the in-memory store", ticketStore.size());
+                seedWriteAheadLog();
+            }
+            return null;
+        });
+    }
+
+    private void countJoined(String task) {
+        meterRegistry.counter("tickets.repository.single.flight.joined", "task", task).increment();
+    }
+
+    /**
+     * Rebuilds the store from the write-ahead log, if it holds any records.
+     *
+     * @param unflushed receives the latest pending write of every ticket that was never flushed to the sheet,
+     *                  in log order
+     */
+    private void replayWriteAheadLog(List<WalRecord> unflushed) throws IOException {
+        Map<String, WalRecord> latest = new LinkedHashMap<>();
+        wal.replay(record -> latest.put(record.ticket().getId(), record));
+        if (latest.isEmpty()) {
+            return;
+        }
+        ticketStore.replaceAll(latest.values().stream().filter(record -> !record.removed()).map(WalRecord::ticket).toList());
+        latest.values().stream().filter(wal::isUnflushed).sorted(Comparator.comparingLong(WalRecord::sequence)).forEach(unflushed::add);
+        unflushed.forEach(record -> recoveredWrites.add(record.ticket().getId()));
+        log.info("Restored {} tickets from the write-ahead log, {} writes still to be flushed", latest.size(), unflushed.size());
+    }
+
+    /**
+     * Rebuilds the store and the row positions from the snapshot file, if there is a valid one.
+     * Row checksums are derived from the restored tickets, so the background reconciliation
+     * only parses the rows that changed in the sheet since the snapshot was written.
+     */
+    private void restoreSnapshot() {
+        Path path = Path.of(snapshotProperties.getPath());
+        if (!Files.exists(path)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        TicketSnapshot snapshot;
         try {
-            log.info("Fetching tickets from database: {}", spreadsheetId);
+            snapshot = TicketSnapshotFile.read(path);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable ticket snapshot {}", path, e);
+            return;
+        }
 
-            Sheets sheetsService = sheetsProvider.getSheetsService();
+        List<TicketEntity> tickets = new ArrayList<>(snapshot.entries().size());
+        for (TicketSnapshot.Entry entry : snapshot.entries()) {
+            tickets.add(entry.ticket());
+            recordRow(entry.ticket().getId(), entry.rowNumber(), toRow(entry.ticket()));
+        }
+        lastRow.accumulateAndGet(snapshot.lastRow(), Math::max);
+        rowNumbersLoaded = true;
+        ticketStore.replaceAll(tickets);
+        log.info("Restored {} tickets from the snapshot in {} ms", tickets.size(), System.currentTimeMillis() - start);
+        seedWriteAheadLog();
+
+        Thread.ofVirtual().name("snapshot-reconcile").start(() -> {
+            try {
+                int applied = reconcile();
+                log.info("Applied {} sheet changes made since the snapshot was written", applied);
+            } catch (TicketRepositoryException e) {
+                log.warn("Could not reconcile the restored snapshot with the sheet", e);
+            }
+        });
+    }
 
-            ValueRange response = sheetsService.spreadsheets().values()
-                    .get(spreadsheetId, tabName)
-                    .execute();
+    /**
+     * Logs tickets as pending before they are sent to the sheet, so a crash during the Sheets call is repaired
+     * on the next start by sending them again.
+     *
+     * @return the sequence of the first record, to be passed to {@link #confirmLogged(long)} once the call returned;
+     *         {@code 0} without a write-ahead log
+     * @throws TicketRepositoryException if the tickets cannot be logged; nothing has been sent to the sheet then
+     */
+    private long logPending(List<TicketEntity> tickets) throws TicketRepositoryException {
+        if (wal == null) {
+            return 0;
+        }
+        long first = 0;
+        long last = 0;
+        try {
+            walLock.lock();
+            try {
+                for (TicketEntity ticket : tickets) {
+                    last = wal.write(ticket, true);
+                    if (first == 0) {
+                        first = last;
+                        unconfirmedWrites.add(first);
+                    }
+                }
+                lastLoggedWrite = last;
+            } finally {
+                walLock.unlock();
+            }
+            wal.awaitDurable(last);
+            return first;
+        } catch (IOException e) {
+            confirmLogged(first);
+            throw new TicketRepositoryException("Failed to write tickets to the write-ahead log", e);
+        }
+    }
+
+    /**
+     * Ends a save started by {@link #logPending(List)} and checkpoints every write logged before the oldest save
+     * that is still in flight. A failed save was superseded by {@link #logRejected(List)} before, so it is
+     * neither sent again nor restored.
+     */
+    private void confirmLogged(long first) {
+        if (first == 0) {
+            return;
+        }
+        long confirmed;
+        walLock.lock();
+        try {
+            unconfirmedWrites.remove(first);
+            confirmed = unconfirmedWrites.isEmpty() ? lastLoggedWrite : unconfirmedWrites.first() - 1;
+        } finally {
+            walLock.unlock();
+        }
+        try {
+            wal.checkpoint(confirmed);
+        } catch (IOException e) {
+            log.warn("Failed to checkpoint the write-ahead log, confirmed writes may be sent again after a restart", e);
+        }
+    }
+
+    /**
+     * Logs the stored state of tickets whose save failed after it was logged, or a removal for tickets that are
+     * not stored, so a replay restores what the caller was told rather than the rejected version.
+     * Should the failed Sheets call have been applied after all, the next reconcile picks it up from the sheet.
+     */
+    private void logRejected(List<TicketEntity> tickets) {
+        if (wal == null) {
+            return;
+        }
+        List<TicketEntity> stored = new ArrayList<>();
+        List<String> absent = new ArrayList<>();
+        for (TicketEntity ticket : tickets) {
+            TicketEntity current = ticketStore.findById(ticket.getId());
+            if (current != null) {
+                stored.add(current);
+            } else {
+                absent.add(ticket.getId());
+            }
+        }
+        try {
+            wal.appendAll(stored, absent);
+        } catch (IOException e) {
+            log.error("Failed to log the state of {} tickets whose save failed, a restart may restore the rejected version",
+                    tickets.size(), e);
+        }
+    }
+
+    private void flushRecovered(List<WalRecord> unflushed) {
+        try {
+            writeBatch(unflushed.stream().map(WalRecord::ticket).toList());
+            wal.checkpoint(unflushed.stream().mapToLong(WalRecord::sequence).max().orElse(0));
+        } catch (TicketRepositoryException | IOException e) {
+            log.error("Failed to flush {} recovered writes, they are kept in the write-ahead log", unflushed.size(), e);
+        }
+    }
+
+    /**
+     * Records the freshly downloaded tab in an empty write-ahead log, so the next start can skip the download.
+     */
+    private void seedWriteAheadLog() {
+        if (wal == null) {
+            return;
+        }
+        try {
+            wal.appendAll(ticketStore.findAll());
+        } catch (IOException e) {
+            log.warn("Failed to seed the write-ahead log from the sheet", e);
+        }
+    }
 
-            List<List<Object>> rows = response.getValues();
-            if (rows == null || rows.isEmpty()) {
-                return List.of();
+    /**
+     * Loads the row position of every ticket from the ID column, when the store was restored without reading the tab.
+     * Rows whose ticket is not in the store were added to the sheet while the service was down; they are fetched
+     * the same way as appended rows, before any save can move the last known row past them.
+     *
+     * @return the number of tickets added to the store
+     */
+    private int ensureRowNumbers() throws TicketRepositoryException {
+        if (rowNumbersLoaded) {
+            return 0;
+        }
+        rowNumbersLock.lock();
+        try {
+            if (rowNumbersLoaded) {
+                return 0;
             }
+            int firstUnknownRow = 0;
+            try {
+                ValueRange response = requestExecutor.execute(SheetsOperation.READ, sheetsProvider.getSheetsService().spreadsheets().values()
+                        .get(properties.getSpreadsheetId(), properties.getTabName() + "!A:A"));
+                List<List<Object>> rows = response.getValues() != null ? response.getValues() : List.of();
+                for (int i = 1; i < rows.size(); i++) {
+                    if (rows.get(i).isEmpty()) {
+                        continue;
+                    }
+                    String ticketId = rows.get(i).get(0).toString();
+                    if (ticketStore.findById(ticketId) != null) {
+                        rowNumbers.put(ticketId, i + 1);
+                    } else if (firstUnknownRow == 0) {
+                        firstUnknownRow = i + 1;
+                    }
+                }
+                lastRow.set(firstUnknownRow > 0 ? firstUnknownRow - 1 : rows.size());
+            } catch (Exception e) {
+                throw new TicketRepositoryException("Failed to read ticket positions from database", e);
+            }
+            int added = firstUnknownRow > 0 ? readAppendedRows(SheetsPriority.BACKGROUND) : 0;
+            if (added > 0) {
+                log.info("Added {} tickets that were appended to the sheet while the service was down", added);
+            }
+            rowNumbersLoaded = true;
+            return added;
+        } finally {
+            rowNumbersLock.unlock();
+        }
+    }
+
+    private void loadFromSheet() throws TicketRepositoryException {
+        try {
+            log.info("Fetching tickets from database: {}", properties.getSpreadsheetId());
+
+            Sheets sheetsService = sheetsProvider.getSheetsService();
 
-            return rows.stream()
-                    .skip(1)
-                    .map(this::mapRowToEntity)
-                    .toList();
+            ValueRange response = requestExecutor.execute(SheetsOperation.READ, sheetsService.spreadsheets().values()
+                    .get(properties.getSpreadsheetId(), properties.getTabName()));
+
+            List<List<Object>> rows = response.getValues() != null ? response.getValues() : List.of();
+            List<TicketEntity> tickets = new ArrayList<>(rows.size());
+
+            rowNumbers.clear();
+            rowChecksums.clear();
+            TicketRowDecoder decoder = new TicketRowDecoder();
+            for (int i = 1; i < rows.size(); i++) {
+                List<Object> row = rows.get(i);
+                if (getCell(row, 0).isEmpty()) {
+                    continue;
+                }
+                TicketEntity ticket = decodeRow(decoder, row, i + 1);
+                if (ticket != null) {
+                    tickets.add(ticket);
+                    recordRow(ticket.getId(), i + 1, row);
+                }
+            }
+            lastRow.set(rows.size());
+            rowNumbersLoaded = true;
+            ticketStore.replaceAll(tickets);
 
         } catch (Exception e) {
             throw new TicketRepositoryException("Failed to read tickets from database", e);
@@ -122,40 +852,126 @@ public class GoogleSheetsTicketRepository implements TicketRepository{
     }
 
     /**
-     * Maps a row from the spreadsheet to a {@link TicketEntity}.
-     * Assumes column order: ID, Description, Parent ID, Status, Created At, Updated At.
+     * Decodes a row, reporting and skipping it if it is invalid, so one bad row does not fail the rest of the tab.
      *
-     * @param row the spreadsheet row
-     * @return the mapped ticket entity
+     * @return the decoded ticket, or {@code null} if the row is invalid
      */
-    private TicketEntity mapRowToEntity(List<Object> row) {
-        String id = getCell(row, 0);
-        String description = getCell(row, 1);
-        String parentId = getCell(row, 2);
-        String statusStr = getCell(row, 3);
-        String createdAtStr = getCell(row, 4);
-        String updatedAtStr = getCell(row, 5);
+    private TicketEntity decodeRow(TicketRowDecoder decoder, List<Object> row, int rowNumber) {
+        try {
+            return decoder.decode(row);
+        } catch (IllegalArgumentException e) {
+            log.warn("Skipping invalid ticket in row {}: {}", rowNumber, e.getMessage());
+            meterRegistry.counter("sheets.rows.invalid").increment();
+            return null;
+        }
+    }
 
-        return TicketEntity.builder()
-                .id(id)
-                .description(description)
-                .parentId(parentId.isEmpty() ? null : parentId)
-                .status(TicketStatus.valueOf(statusStr))
-                .createdAt(parseDate(createdAtStr))
-                .updatedAt(updatedAtStr.isEmpty() ? null : parseDate(updatedAtStr))
-                .build();
+    private void recordRow(String ticketId, int rowNumber, List<Object> row) {
+        rowNumbers.put(ticketId, rowNumber);
+        rowChecksums.put(ticketId, checksum(row));
+        lastRow.accumulateAndGet(rowNumber, Math::max);
+        recoveredWrites.remove(ticketId);
     }
 
-    private String getCell(List<Object> row, int index) {
-        return index < row.size() ? row.get(index).toString() : "";
+    /**
+     * Returns whether a local write of the ticket may not have reached the sheet yet, so a missing row is expected.
+     */
+    private boolean hasUnsentWrite(String ticketId) {
+        return recoveredWrites.contains(ticketId) || writeBehindQueue != null && writeBehindQueue.isQueued(ticketId);
     }
 
-    private LocalDateTime parseDate(String dateToParse) {
+    /**
+     * Records changes picked up from the sheet in the write-ahead log, so a replay does not restore an older state.
+     */
+    private void logSheetChanges(List<TicketEntity> changed, List<String> removed) {
+        if (wal == null || changed.isEmpty() && removed.isEmpty()) {
+            return;
+        }
         try {
-            return LocalDateTime.parse(dateToParse);
-        } catch (DateTimeParseException e) {
-            log.warn("Invalid date format: '{}'. Returning null.", dateToParse);
-            return null;
+            wal.appendAll(changed, removed);
+        } catch (IOException e) {
+            log.warn("Failed to log {} changes read from the sheet, a restart restores the previous state until the next reconcile",
+                    changed.size() + removed.size(), e);
         }
     }
+
+    /**
+     * Computes the checksum of the row a ticket is written as, comparable with {@link #rowChecksum(String)}.
+     *
+     * @param ticket the ticket
+     * @return the CRC32C of the cell values of its row
+     */
+    public static long checksum(TicketEntity ticket) {
+        return checksum(toRow(ticket));
+    }
+
+    /**
+     * Returns the checksum of a ticket's row as last read from or written to the sheet.
+     *
+     * @param ticketId the ticket ID
+     * @return the row checksum, or {@code null} if the ticket has no known row or its row was not read yet
+     * @throws TicketRepositoryException if the initial load from the sheet fails
+     */
+    public Long rowChecksum(String ticketId) throws TicketRepositoryException {
+        ensureLoaded();
+        return rowChecksums.get(ticketId);
+    }
+
+    /**
+     * Computes a checksum of the cell values of a row.
+     * Trailing empty cells are ignored, since the Sheets API omits them when reading.
+     *
+     * @param row the row as read from or written to the sheet
+     * @return the CRC32C of the cell values
+     */
+    private static long checksum(List<Object> row) {
+        int length = row.size();
+        while (length > 0 && row.get(length - 1).toString().isEmpty()) {
+            length--;
+        }
+        CRC32C crc = new CRC32C();
+        for (int i = 0; i < length; i++) {
+            crc.update(row.get(i).toString().getBytes(StandardCharsets.UTF_8));
+            crc.update(CELL_SEPARATOR);
+        }
+        return crc.getValue();
+    }
+
+    private static List<Object> toRow(TicketEntity ticket) {
+        return List.of(
+                ticket.getId(),
+                ticket.getDescription(),
+                ticket.getParentId() != null ? ticket.getParentId() : "",
+                ticket.getStatus().name(),
+                ticket.getCreatedAt() != null ? ticket.getCreatedAt().toString() : "",
+                ticket.getUpdatedAt() != null ? ticket.getUpdatedAt().toString() : ""
+        );
+    }
+
+    private String rowRange(int rowNumber) {
+        return properties.getTabName() + "!A" + rowNumber + ":F" + rowNumber;
+    }
+
+    /**
+     * Extracts the first row number from an A1 range such as {@code List 1!A7:F7}.
+     *
+     * @param range the A1 range returned by the Sheets API
+     * @return the 1-based row number the range starts at
+     */
+    private int parseStartRow(String range) {
+        String cells = range.substring(range.lastIndexOf('!') + 1);
+        int start = 0;
+        while (start < cells.length() && !Character.isDigit(cells.charAt(start))) {
+            start++;
+        }
+        int end = start;
+        while (end < cells.length() && Character.isDigit(cells.charAt(end))) {
+            end++;
+        }
+        return Integer.parseInt(cells.substring(start, end));
+    }
+
+    private String getCell(List<Object> row, int index) {
+        return index < row.size() ? row.get(index).toString() : "";
+    }
 }
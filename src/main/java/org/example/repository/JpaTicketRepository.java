@@ -0,0 +1,257 @@
+package org.example.repository;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+import org.example.exception.TicketRepositoryException;
+import org.example.repository.event.TicketChangedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Repository implementation that stores tickets in the embedded H2 database through JPA.
+ * Active with the {@code jpa} profile, in place of {@link GoogleSheetsTicketRepository}.
+ *
+ * <p>The schema is created by the Flyway migrations in <code>db/migration</code>, which index tickets by status
+ * (together with creation time and ID, the listing order), by parent ID and by creation time.</p>
+ *
+ * <p>A save runs in one transaction that first loads the stored versions of all its tickets with a single query,
+ * then inserts the new tickets and merges the known ones. Once it commits, a {@link TicketChangedEvent} is published
+ * for every ticket, so the caches keep working as they do with the in-memory store.
+ * A {@link TicketChangeLog} bean, if present, is handed every change inside the transaction.</p>
+ *
+ * <p>With the {@code tiered} profile, which includes {@code jpa}, this is the primary {@link TicketRepository}
+ * and its changes are mirrored to the sheet by {@link SheetsReplicator}.</p>
+ *
+ * <p>Every call reads from the database; returned entities are detached and may be modified by the caller.</p>
+ *
+ * <p>Configured with <code>spring.datasource.*</code> and <code>spring.jpa.*</code> in <code>application-jpa.properties</code>.</p>
+ */
+@Slf4j
+@Primary
+@Repository
+@Profile("jpa")
+@RequiredArgsConstructor
+@Timed(value = "tickets.repository", description = "Latency of ticket repository calls")
+public class JpaTicketRepository implements TicketRepository {
+
+    private final TicketJpaRepository jpaRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ObjectProvider<TicketChangeLog> changeLog;
+
+    @Override
+    public TicketEntity saveTicket(TicketEntity ticket) throws TicketRepositoryException {
+        return write(List.of(ticket), true).get(0);
+    }
+
+    /**
+     * Saves a batch of tickets in a single transaction: if a write fails, none of the tickets is changed.
+     *
+     * @param tickets the tickets to save; when a ticket occurs more than once, the last occurrence wins
+     * @return the saved tickets
+     * @throws TicketRepositoryException if the batch cannot be written
+     */
+    @Override
+    public List<TicketEntity> saveAll(List<TicketEntity> tickets) throws TicketRepositoryException {
+        if (tickets.isEmpty()) {
+            return tickets;
+        }
+        return write(tickets, true);
+    }
+
+    /**
+     * Saves tickets copied from another source, such as the sheet, without handing them to the {@link TicketChangeLog}.
+     *
+     * @param tickets the tickets to store
+     * @throws TicketRepositoryException if the tickets cannot be written
+     */
+    public void importAll(List<TicketEntity> tickets) throws TicketRepositoryException {
+        if (!tickets.isEmpty()) {
+            write(tickets, false);
+        }
+    }
+
+    /**
+     * @return true if the database holds no tickets
+     * @throws TicketRepositoryException if the query fails
+     */
+    public boolean isEmpty() throws TicketRepositoryException {
+        try {
+            return jpaRepository.count() == 0;
+        } catch (DataAccessException | PersistenceException e) {
+            throw new TicketRepositoryException("Failed to read tickets from database", e);
+        }
+    }
+
+    /**
+     * Looks up several tickets with a single query.
+     *
+     * @param ticketIds the ticket IDs
+     * @return the tickets that exist, in no particular order
+     * @throws TicketRepositoryException if the query fails
+     */
+    public List<TicketEntity> findAllById(Collection<String> ticketIds) throws TicketRepositoryException {
+        try {
+            return jpaRepository.findAllById(ticketIds);
+        } catch (DataAccessException | PersistenceException e) {
+            throw new TicketRepositoryException("Failed to read tickets from database", e);
+        }
+    }
+
+    @Override
+    public TicketEntity findById(String ticketId) throws TicketRepositoryException {
+        log.info("Fetching ticket with ID: {}", ticketId);
+        try {
+            return jpaRepository.findById(ticketId).orElse(null);
+        } catch (DataAccessException | PersistenceException e) {
+            throw new TicketRepositoryException("Failed to read ticket from database", e);
+        }
+    }
+
+    @Override
+    public List<TicketEntity> findAll() throws TicketRepositoryException {
+        try {
+            return jpaRepository.findAll();
+        } catch (DataAccessException | PersistenceException e) {
+            throw new TicketRepositoryException("Failed to read tickets from database", e);
+        }
+    }
+
+    @Override
+    public List<TicketEntity> findByStatus(TicketStatus status) throws TicketRepositoryException {
+        try {
+            return jpaRepository.findByStatusOrderByCreatedAtAscIdAsc(status);
+        } catch (DataAccessException | PersistenceException e) {
+            throw new TicketRepositoryException("Failed to read tickets from database", e);
+        }
+    }
+
+    /**
+     * Lists one page of tickets with the given status, ordered by creation time and then by ID.
+     *
+     * @param status the status to filter by
+     * @param after  the last ticket of the previous page, or {@code null} for the first page
+     * @param limit  the maximum number of tickets to return
+     * @return the tickets following the cursor
+     * @throws TicketRepositoryException if the query fails
+     */
+    @Override
+    public List<TicketEntity> findByStatus(TicketStatus status, TicketCursor after, int limit) throws TicketRepositoryException {
+        PageRequest page = PageRequest.of(0, limit);
+        try {
+            // created_at is mandatory, so every stored ticket sorts after a cursor without a creation time
+            if (after == null || after.createdAt() == null) {
+                return jpaRepository.findByStatusOrderByCreatedAtAscIdAsc(status, page);
+            }
+            return jpaRepository.findByStatusAfter(status, after.createdAt(), after.id(), page);
+        } catch (DataAccessException | PersistenceException e) {
+            throw new TicketRepositoryException("Failed to read tickets from database", e);
+        }
+    }
+
+    @Override
+    public List<TicketEntity> findByParentId(String parentId) throws TicketRepositoryException {
+        try {
+            return jpaRepository.findByParentIdOrderByCreatedAtAscIdAsc(parentId);
+        } catch (DataAccessException | PersistenceException e) {
+            throw new TicketRepositoryException("Failed to read tickets from database", e);
+        }
+    }
+
+    /**
+     * Lists a ticket and all its descendants with one indexed query per level of the subtree.
+     *
+     * @param rootId the ID of the subtree root
+     * @return the root followed by its descendants level by level; empty if the root does not exist
+     * @throws TicketRepositoryException if a query fails
+     */
+    @Override
+    public List<TicketEntity> findSubtree(String rootId) throws TicketRepositoryException {
+        TicketEntity root = findById(rootId);
+        if (root == null) {
+            return List.of();
+        }
+        List<TicketEntity> subtree = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        subtree.add(root);
+        visited.add(rootId);
+        List<String> level = List.of(rootId);
+        try {
+            while (!level.isEmpty()) {
+                List<String> next = new ArrayList<>();
+                for (TicketEntity child : jpaRepository.findByParentIdInOrderByCreatedAtAscIdAsc(level)) {
+                    if (visited.add(child.getId())) {
+                        subtree.add(child);
+                        next.add(child.getId());
+                    }
+                }
+                level = next;
+            }
+        } catch (DataAccessException | PersistenceException e) {
+            throw new TicketRepositoryException("Failed to read tickets from database", e);
+        }
+        return subtree;
+    }
+
+    private List<TicketEntity> write(List<TicketEntity> tickets, boolean logged) throws TicketRepositoryException {
+        TicketChangeLog recorder = logged ? changeLog.getIfAvailable() : null;
+        List<TicketChangedEvent> changes = new ArrayList<>(tickets.size());
+        List<TicketEntity> saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                Map<String, TicketEntity> stored = new HashMap<>();
+                jpaRepository.findAllById(tickets.stream().map(TicketEntity::getId).toList())
+                        .forEach(ticket -> stored.put(ticket.getId(), ticket));
+
+                List<TicketEntity> written = new ArrayList<>(tickets.size());
+                for (TicketEntity ticket : tickets) {
+                    TicketEntity current = stored.get(ticket.getId());
+                    TicketEntity previous = current != null ? current.toBuilder().build() : null;
+                    if (current == null) {
+                        entityManager.persist(ticket);
+                        current = ticket;
+                    } else {
+                        current = entityManager.merge(ticket);
+                    }
+                    stored.put(current.getId(), current);
+                    if (recorder != null) {
+                        recorder.record(previous, current);
+                    }
+                    changes.add(new TicketChangedEvent(previous, current, true));
+                    written.add(current);
+                }
+                return written;
+            });
+        } catch (DataAccessException | TransactionException | PersistenceException e) {
+            throw new TicketRepositoryException("Failed to write ticket to database", e);
+        }
+        changes.forEach(eventPublisher::publishEvent);
+        log.info("{} tickets successfully saved to database", tickets.size());
+        return saved;
+    }
+}
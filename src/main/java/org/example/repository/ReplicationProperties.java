@@ -0,0 +1,21 @@
+package org.example.repository;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "tickets.replication")
+public class ReplicationProperties {
+
+    private int batchSize = 500;
+    private Duration interval = Duration.ofSeconds(1);
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofMinutes(5);
+
+}
@@ -0,0 +1,184 @@
+package org.example.repository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.TicketEntity;
+import org.example.entity.TicketReplicationEntry;
+import org.example.exception.TicketRepositoryException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Mirrors the tickets of the local database to the sheet in the background, so requests never wait for Sheets.
+ * Active with the {@code tiered} profile, where {@link JpaTicketRepository} is the primary repository.
+ *
+ * <p>Every local write records a {@link TicketReplicationEntry} in its own transaction. The replicator reads
+ * the oldest entries in batches, writes the current local version of their tickets with one
+ * {@link GoogleSheetsTicketRepository#saveAll(List)} call and deletes the entries once the sheet has accepted them.
+ * The remaining entries are the checkpoint: after a crash or a failed call the same batch is sent again,
+ * which is harmless since rows are updated in place by ticket ID.</p>
+ *
+ * <p>Each entry keeps the row checksum of the version its change replaced. If the sheet holds a different row
+ * for the ticket, someone edited it there since it was last mirrored; the conflict is logged and counted, and the
+ * local version, as the primary copy, overwrites it. Rows that already match the local version are skipped.</p>
+ *
+ * <p>A failed batch is retried after an exponential backoff. When the database is empty on startup,
+ * it is first seeded with the tickets of the sheet.</p>
+ *
+ * <p>Configured with <code>tickets.replication.*</code>. The Sheets write-behind queue should stay disabled,
+ * since an entry must only be deleted once its ticket is actually in the sheet.</p>
+ */
+@Slf4j
+@Component
+@Profile("tiered")
+public class SheetsReplicator implements TicketChangeLog {
+
+    private final JpaTicketRepository localRepository;
+
+    private final GoogleSheetsTicketRepository sheetsRepository;
+
+    private final TicketReplicationLogRepository replicationLog;
+
+    private final ReplicationProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private volatile boolean seeded;
+
+    private int failures;
+
+    private long retryAt = System.nanoTime();
+
+    public SheetsReplicator(JpaTicketRepository localRepository, GoogleSheetsTicketRepository sheetsRepository,
+                            TicketReplicationLogRepository replicationLog, ReplicationProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.localRepository = localRepository;
+        this.sheetsRepository = sheetsRepository;
+        this.replicationLog = replicationLog;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("tickets.replication.pending", replicationLog, TicketReplicationLogRepository::count)
+                .description("Ticket changes not yet mirrored to the sheet")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void record(TicketEntity previous, TicketEntity current) {
+        replicationLog.save(TicketReplicationEntry.builder()
+                .ticketId(current.getId())
+                .baseChecksum(previous != null ? GoogleSheetsTicketRepository.checksum(previous) : null)
+                .recordedAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${tickets.replication.interval:PT1S}")
+    public void run() {
+        if (System.nanoTime() - retryAt < 0) {
+            return;
+        }
+        try {
+            int mirrored = replicate();
+            failures = 0;
+            if (mirrored > 0) {
+                log.debug("Mirrored {} tickets to the sheet", mirrored);
+            }
+        } catch (TicketRepositoryException e) {
+            failures++;
+            Duration backoff = backoff(failures);
+            retryAt = System.nanoTime() + backoff.toNanos();
+            meterRegistry.counter("tickets.replication.failures").increment();
+            log.warn("Mirroring tickets to the sheet failed {} times in a row, retrying in {}", failures, backoff, e);
+        }
+    }
+
+    /**
+     * Mirrors all pending changes, one batch at a time. Seeds the database from the sheet first if needed.
+     *
+     * @return the number of tickets written to the sheet
+     * @throws TicketRepositoryException if the database or the sheet cannot be accessed; the failed batch stays pending
+     */
+    public int replicate() throws TicketRepositoryException {
+        if (!seeded) {
+            seed();
+        }
+        int mirrored = 0;
+        List<TicketReplicationEntry> batch;
+        do {
+            batch = pendingBatch();
+            if (!batch.isEmpty()) {
+                mirrored += mirror(batch);
+            }
+        } while (batch.size() == properties.getBatchSize());
+        return mirrored;
+    }
+
+    private void seed() throws TicketRepositoryException {
+        if (localRepository.isEmpty()) {
+            List<TicketEntity> tickets = sheetsRepository.findAll();
+            localRepository.importAll(tickets);
+            log.info("Seeded the local database with {} tickets from the sheet", tickets.size());
+        }
+        seeded = true;
+    }
+
+    private List<TicketReplicationEntry> pendingBatch() throws TicketRepositoryException {
+        try {
+            return replicationLog.findAllByOrderBySeqAsc(PageRequest.of(0, properties.getBatchSize()));
+        } catch (RuntimeException e) {
+            throw new TicketRepositoryException("Failed to read the replication log", e);
+        }
+    }
+
+    private int mirror(List<TicketReplicationEntry> batch) throws TicketRepositoryException {
+        // the first entry of a ticket holds the version the sheet should still have
+        Map<String, Long> baseChecksums = new LinkedHashMap<>();
+        for (TicketReplicationEntry entry : batch) {
+            if (!baseChecksums.containsKey(entry.getTicketId())) {
+                baseChecksums.put(entry.getTicketId(), entry.getBaseChecksum());
+            }
+        }
+
+        List<TicketEntity> changed = new ArrayList<>();
+        for (TicketEntity ticket : localRepository.findAllById(baseChecksums.keySet())) {
+            long current = GoogleSheetsTicketRepository.checksum(ticket);
+            Long inSheet = sheetsRepository.rowChecksum(ticket.getId());
+            if (inSheet != null && inSheet == current) {
+                continue;
+            }
+            if (inSheet != null && !Objects.equals(inSheet, baseChecksums.get(ticket.getId()))) {
+                meterRegistry.counter("tickets.replication.conflicts").increment();
+                log.warn("Ticket {} was changed in the sheet since it was last mirrored, overwriting it with the local version",
+                        ticket.getId());
+            }
+            changed.add(ticket);
+        }
+
+        if (!changed.isEmpty()) {
+            sheetsRepository.saveAll(changed);
+        }
+        try {
+            replicationLog.deleteAllByIdInBatch(batch.stream().map(TicketReplicationEntry::getSeq).toList());
+        } catch (RuntimeException e) {
+            throw new TicketRepositoryException("Failed to checkpoint the replication log", e);
+        }
+        meterRegistry.counter("tickets.replication.mirrored").increment(changed.size());
+        return changed.size();
+    }
+
+    private Duration backoff(int failures) {
+        Duration max = properties.getMaxBackoff();
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(failures - 1, 20));
+        return backoff.compareTo(max) > 0 ? max : backoff;
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.exception.TicketRepositoryException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the background synchronization of {@link GoogleSheetsTicketRepository} with the sheet.
+ * Failures are logged and the job simply runs again at its next interval.
+ *
+ * <p>Enabled with <code>google.sheets.sync.enabled</code>, unless only the {@code jpa} profile is active.</p>
+ */
+@Slf4j
+@Component
+@Profile("!jpa | tiered")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "google.sheets.sync", name = "enabled", havingValue = "true")
+public class SheetsSyncScheduler {
+
+    private final GoogleSheetsTicketRepository repository;
+
+    @Scheduled(initialDelayString = "${google.sheets.sync.interval:PT30S}",
+            fixedDelayString = "${google.sheets.sync.interval:PT30S}")
+    public void syncAppendedRows() {
+        try {
+            int applied = repository.syncAppendedRows();
+            if (applied > 0) {
+                log.info("Picked up {} tickets appended to the sheet", applied);
+            }
+        } catch (TicketRepositoryException e) {
+            log.warn("Incremental sheet sync failed", e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${google.sheets.sync.reconcile-interval:PT10M}",
+            fixedDelayString = "${google.sheets.sync.reconcile-interval:PT10M}")
+    public void reconcile() {
+        try {
+            int applied = repository.reconcile();
+            if (applied > 0) {
+                log.info("Reconciliation applied {} changes made directly in the sheet", applied);
+            }
+        } catch (TicketRepositoryException e) {
+            log.warn("Sheet reconciliation failed", e);
+        }
+    }
+}
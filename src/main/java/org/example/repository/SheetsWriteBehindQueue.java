@@ -0,0 +1,289 @@
+package org.example.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.client.GoogleSheetsProperties;
+import org.example.entity.TicketEntity;
+import org.example.exception.TicketRepositoryException;
+import org.example.repository.wal.TicketWriteAheadLog;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded queue that collects ticket writes and hands them to a {@link BatchWriter} in batches.
+ * A batch is flushed as soon as it reaches the configured size, or when the flush interval
+ * has passed since its first element was queued, whichever comes first.
+ *
+ * <p>Producers are blocked for at most the configured offer timeout when the queue is full,
+ * after which the write is rejected. A failed batch is retried after the flush interval until it succeeds,
+ * which in turn applies back-pressure to producers.</p>
+ *
+ * <p>When a {@link TicketWriteAheadLog} is supplied, every write is logged as pending before it is acknowledged,
+ * and the log is checkpointed after each successful flush. Log order and queue order are kept identical, and
+ * the checkpoint stops below the oldest write still queued, so it never covers a write that was not flushed.</p>
+ *
+ * <p>Exposed metrics: queue depth, batch size, flush latency and rejected writes.</p>
+ */
+@Slf4j
+class SheetsWriteBehindQueue {
+
+    /**
+     * Persists a batch of tickets. Implementations must be idempotent, since a failed batch is retried as a whole.
+     */
+    @FunctionalInterface
+    interface BatchWriter {
+        void write(List<TicketEntity> batch) throws TicketRepositoryException;
+    }
+
+    /**
+     * @param holdsPermit whether the write took queue capacity that is returned once it leaves the queue
+     */
+    private record PendingWrite(TicketEntity ticket, long sequence, boolean holdsPermit) {
+    }
+
+    private final GoogleSheetsProperties.WriteBehind settings;
+    private final BatchWriter writer;
+    private final TicketWriteAheadLog wal;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Semaphore capacity;
+    // keeps the queue in log order; a lock rather than a monitor, since the log write may block on an fsync
+    private final ReentrantLock enqueueLock = new ReentrantLock();
+    private final Thread flusher;
+
+    /**
+     * Number of queued or unfinished writes per ticket ID.
+     */
+    private final Map<String, Integer> queuedTickets = new ConcurrentHashMap<>();
+
+    /**
+     * Batch currently being collected or flushed; owned by the flusher thread until it has stopped.
+     */
+    private final List<PendingWrite> batch = new ArrayList<>();
+
+    /**
+     * Highest log sequence flushed so far; owned by the flusher thread until it has stopped.
+     */
+    private long flushedSequence;
+
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter rejected;
+
+    private volatile boolean running = true;
+
+    SheetsWriteBehindQueue(GoogleSheetsProperties.WriteBehind settings, BatchWriter writer,
+                           TicketWriteAheadLog wal, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.writer = writer;
+        this.wal = wal;
+        this.capacity = new Semaphore(settings.getQueueCapacity());
+        this.flusher = new Thread(this::run, "sheets-write-behind");
+        this.flusher.setDaemon(true);
+
+        Gauge.builder("sheets.writebehind.queue.depth", queue, BlockingQueue::size)
+                .description("Ticket writes waiting to be flushed to Google Sheets")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("sheets.writebehind.flush")
+                .description("Latency of flushing one batch to Google Sheets")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("sheets.writebehind.batch.size")
+                .description("Number of ticket writes per flushed batch")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("sheets.writebehind.rejected")
+                .description("Ticket writes rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    void start() {
+        flusher.start();
+        log.info("Write-behind enabled: batch size {}, flush interval {}, capacity {}",
+                settings.getBatchSize(), settings.getFlushInterval(), settings.getQueueCapacity());
+    }
+
+    /**
+     * Queues a ticket write, waiting up to the configured offer timeout for free capacity.
+     * Returns once the write is queued and, if a write-ahead log is used, durably logged. Once the write is
+     * queued the save counts as done: if waiting for the log to be synced fails, a warning is logged instead.
+     *
+     * @param ticket the ticket to write
+     * @throws TicketRepositoryException if the queue stays full, the write cannot be logged or the caller is interrupted
+     *                                   while waiting for capacity
+     */
+    void enqueue(TicketEntity ticket) throws TicketRepositoryException {
+        try {
+            if (!capacity.tryAcquire(settings.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                throw new TicketRepositoryException("Write queue is full, ticket " + ticket.getId() + " was not saved", null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TicketRepositoryException("Interrupted while queueing ticket " + ticket.getId(), e);
+        }
+
+        TicketEntity copy = ticket.toBuilder().build();
+        long sequence;
+        enqueueLock.lock();
+        try {
+            sequence = wal != null ? wal.write(copy, true) : 0;
+            queuedTickets.merge(copy.getId(), 1, Integer::sum);
+            queue.add(new PendingWrite(copy, sequence, true));
+        } catch (IOException e) {
+            capacity.release();
+            throw new TicketRepositoryException("Failed to log ticket " + ticket.getId() + " before queueing it", e);
+        } finally {
+            enqueueLock.unlock();
+        }
+        if (wal == null) {
+            return;
+        }
+        try {
+            wal.awaitDurable(sequence);
+        } catch (IOException e) {
+            // The write is queued and will reach the sheet, so the save succeeds; only its crash protection is missing.
+            log.warn("Ticket {} was queued but not confirmed durable in the write-ahead log", ticket.getId(), e);
+        }
+    }
+
+    /**
+     * Queues a write recovered from the write-ahead log on startup, without logging it again.
+     * Recovered writes do not take queue capacity: they are queued before the flusher runs,
+     * so waiting for capacity could block the startup forever.
+     */
+    void enqueueRecovered(TicketEntity ticket, long sequence) {
+        queuedTickets.merge(ticket.getId(), 1, Integer::sum);
+        queue.add(new PendingWrite(ticket, sequence, false));
+    }
+
+    int size() {
+        return queue.size();
+    }
+
+    /**
+     * Returns whether a write of the ticket is queued or being flushed, i.e. not yet known to be in the sheet.
+     */
+    boolean isQueued(String ticketId) {
+        return queuedTickets.containsKey(ticketId);
+    }
+
+    /**
+     * Stops the background flusher and writes out everything still queued.
+     */
+    void close() {
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(settings.getFlushInterval().multipliedBy(2).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            log.error("Write-behind flusher did not stop, {} queued ticket writes were not flushed", queue.size() + batch.size());
+            return;
+        }
+
+        // The unfinished batch is older than anything still queued, so it goes first.
+        List<PendingWrite> remaining = new ArrayList<>(batch);
+        queue.drainTo(remaining);
+        if (remaining.isEmpty()) {
+            return;
+        }
+        try {
+            write(remaining);
+        } catch (TicketRepositoryException e) {
+            log.error("Failed to flush {} queued ticket writes on shutdown", remaining.size(), e);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    collect();
+                }
+                if (!batch.isEmpty()) {
+                    flush();
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                break;
+            } catch (TicketRepositoryException e) {
+                log.warn("Flushing {} ticket writes failed, retrying in {}", batch.size(), settings.getFlushInterval(), e);
+                if (!pause()) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private void collect() throws InterruptedException {
+        long intervalNanos = settings.getFlushInterval().toNanos();
+        PendingWrite first = queue.poll(intervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + intervalNanos;
+        while (batch.size() < settings.getBatchSize()) {
+            queue.drainTo(batch, settings.getBatchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= settings.getBatchSize() || remaining <= 0) {
+                break;
+            }
+            PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        capacity.release((int) batch.stream().filter(PendingWrite::holdsPermit).count());
+    }
+
+    private void flush() throws TicketRepositoryException {
+        long start = System.nanoTime();
+        write(batch);
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSizes.record(batch.size());
+        log.debug("Flushed {} ticket writes to Google Sheets", batch.size());
+    }
+
+    private void write(List<PendingWrite> writes) throws TicketRepositoryException {
+        writer.write(writes.stream().map(PendingWrite::ticket).toList());
+        for (PendingWrite write : writes) {
+            queuedTickets.computeIfPresent(write.ticket().getId(), (ticketId, count) -> count > 1 ? count - 1 : null);
+        }
+        if (wal == null) {
+            return;
+        }
+        flushedSequence = Math.max(flushedSequence, writes.stream().mapToLong(PendingWrite::sequence).max().orElse(0));
+        long oldestQueued = queue.stream().mapToLong(PendingWrite::sequence).min().orElse(Long.MAX_VALUE);
+        try {
+            wal.checkpoint(Math.min(flushedSequence, oldestQueued - 1));
+        } catch (IOException e) {
+            // The batch is in the sheet; a stale checkpoint only means it is resent after a restart.
+            log.warn("Failed to checkpoint the write-ahead log", e);
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(settings.getFlushInterval().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.repository;
+
+import org.example.exception.TicketRepositoryException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs at most one instance of a task at a time; callers that arrive while it is running wait for
+ * and share its result instead of starting their own.
+ *
+ * <p>The first caller runs the task on its own thread. A failure is shared as well, so a burst of callers
+ * does not repeat a failing call one after the other. The next caller after completion starts a new run.</p>
+ *
+ * @param <T> the result type
+ */
+final class SingleFlight<T> {
+
+    @FunctionalInterface
+    interface Task<T> {
+        T run() throws TicketRepositoryException;
+    }
+
+    private final AtomicReference<CompletableFuture<T>> inFlight = new AtomicReference<>();
+    private final Runnable onJoin;
+
+    /**
+     * @param onJoin called whenever a caller joins a run instead of starting one
+     */
+    SingleFlight(Runnable onJoin) {
+        this.onJoin = onJoin;
+    }
+
+    /**
+     * Runs the task, or waits for the run that is already in flight.
+     *
+     * @param task the task to run if none is in flight
+     * @return the result of the run
+     * @throws TicketRepositoryException if the run failed
+     */
+    T run(Task<T> task) throws TicketRepositoryException {
+        CompletableFuture<T> call = new CompletableFuture<>();
+        CompletableFuture<T> running = inFlight.compareAndExchange(null, call);
+        if (running != null) {
+            onJoin.run();
+            return await(running);
+        }
+        try {
+            T result = task.run();
+            call.complete(result);
+            return result;
+        } catch (TicketRepositoryException | RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.compareAndSet(call, null);
+        }
+    }
+
+    private T await(CompletableFuture<T> running) throws TicketRepositoryException {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TicketRepositoryException("Interrupted while waiting for a shared load", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TicketRepositoryException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new TicketRepositoryException("Shared load failed", e.getCause());
+        }
+    }
+}
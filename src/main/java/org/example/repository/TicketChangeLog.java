@@ -0,0 +1,16 @@
+package org.example.repository;
+
+import org.example.entity.TicketEntity;
+
+/**
+ * Receives every change written by {@link JpaTicketRepository} inside the transaction of the write,
+ * so whatever it records commits or rolls back together with the change.
+ */
+public interface TicketChangeLog {
+
+    /**
+     * @param previous the stored version before the change, or {@code null} if the ticket is new
+     * @param current  the version being written
+     */
+    void record(TicketEntity previous, TicketEntity current);
+}
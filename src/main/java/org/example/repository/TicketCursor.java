@@ -0,0 +1,29 @@
+package org.example.repository;
+
+import org.example.entity.TicketEntity;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * Position of a ticket in listings ordered by creation time and then by ID.
+ * Used as the sort key of the status partitions and as the resume point of paginated queries.
+ *
+ * @param createdAt the creation time, {@code null} sorts first
+ * @param id        the ticket ID, breaks ties between tickets created at the same time
+ */
+public record TicketCursor(LocalDateTime createdAt, String id) implements Comparable<TicketCursor> {
+
+    private static final Comparator<TicketCursor> ORDER = Comparator
+            .comparing(TicketCursor::createdAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(TicketCursor::id);
+
+    public static TicketCursor of(TicketEntity ticket) {
+        return new TicketCursor(ticket.getCreatedAt(), ticket.getId());
+    }
+
+    @Override
+    public int compareTo(TicketCursor other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.repository;
+
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data queries behind {@link JpaTicketRepository}.
+ * Status listings are served by the <code>(status, created_at, id)</code> index, child lookups by the parent ID index.
+ */
+interface TicketJpaRepository extends JpaRepository<TicketEntity, String> {
+
+    List<TicketEntity> findByStatusOrderByCreatedAtAscIdAsc(TicketStatus status);
+
+    List<TicketEntity> findByStatusOrderByCreatedAtAscIdAsc(TicketStatus status, Pageable page);
+
+    @Query("select t from TicketEntity t where t.status = :status"
+            + " and (t.createdAt > :createdAt or (t.createdAt = :createdAt and t.id > :id))"
+            + " order by t.createdAt asc, t.id asc")
+    List<TicketEntity> findByStatusAfter(@Param("status") TicketStatus status,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") String id,
+                                         Pageable page);
+
+    List<TicketEntity> findByParentIdOrderByCreatedAtAscIdAsc(String parentId);
+
+    List<TicketEntity> findByParentIdInOrderByCreatedAtAscIdAsc(Collection<String> parentIds);
+}
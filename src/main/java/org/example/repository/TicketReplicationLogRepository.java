@@ -0,0 +1,15 @@
+package org.example.repository;
+
+import org.example.entity.TicketReplicationEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * Spring Data queries behind the replication log of {@link SheetsReplicator}.
+ */
+interface TicketReplicationLogRepository extends JpaRepository<TicketReplicationEntry, Long> {
+
+    List<TicketReplicationEntry> findAllByOrderBySeqAsc(Pageable page);
+}
@@ -8,7 +8,24 @@ import java.util.List;
 
 public interface TicketRepository {
     TicketEntity saveTicket(TicketEntity ticket) throws TicketRepositoryException;
+    List<TicketEntity> saveAll(List<TicketEntity> tickets) throws TicketRepositoryException;
     TicketEntity findById(String ticketId) throws TicketRepositoryException;
     List<TicketEntity> findAll() throws TicketRepositoryException;
+    List<TicketEntity> findByStatus(TicketStatus status) throws TicketRepositoryException;
+    List<TicketEntity> findByStatus(TicketStatus status, TicketCursor after, int limit) throws TicketRepositoryException;
+
+    /**
+     * @param parentId the parent ticket ID
+     * @return the direct children of the ticket, read-only
+     */
+    List<TicketEntity> findByParentId(String parentId) throws TicketRepositoryException;
+
+    /**
+     * Lists a ticket and all its descendants; a cycle in the parent links does not repeat tickets.
+     *
+     * @param rootId the ID of the subtree root
+     * @return the root followed by its descendants level by level, read-only; empty if the root does not exist
+     */
+    List<TicketEntity> findSubtree(String rootId) throws TicketRepositoryException;
 }
 
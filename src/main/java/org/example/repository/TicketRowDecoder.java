@@ -0,0 +1,159 @@
+package org.example.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns sheet rows into {@link TicketEntity} instances.
+ * Assumes column order: ID, Description, Parent ID, Status, Created At, Updated At.
+ *
+ * <p>Decoding a whole tab is the dominant cost of a cold load, so the hot path avoids the general-purpose parsers:
+ * statuses are resolved through a precomputed lookup, timestamps in the {@link LocalDateTime#toString()} format
+ * are parsed by hand, and repeated parent IDs share one {@link String} instance. Timestamps in any other format
+ * fall back to {@link LocalDateTime#parse(CharSequence)}.</p>
+ *
+ * <p>A row without an ID or with an unknown status is rejected with an {@link IllegalArgumentException},
+ * so callers can report and skip it without failing the rest of the tab. An unparseable timestamp is logged
+ * and left empty, as before.</p>
+ *
+ * <p>Instances keep the parent ID pool of one decoding pass and are not thread-safe.</p>
+ */
+@Slf4j
+final class TicketRowDecoder {
+
+    private static final Map<String, TicketStatus> STATUSES = new HashMap<>();
+
+    static {
+        for (TicketStatus status : TicketStatus.values()) {
+            STATUSES.put(status.name(), status);
+        }
+    }
+
+    private final Map<String, String> parentIds = new HashMap<>();
+
+    /**
+     * Decodes one row.
+     *
+     * @param row the cell values as returned by the Sheets API
+     * @return the decoded ticket
+     * @throws IllegalArgumentException if the row has no ID or an unknown status
+     */
+    TicketEntity decode(List<Object> row) {
+        int cells = row.size();
+        String id = cell(row, cells, 0);
+        if (id == null) {
+            throw new IllegalArgumentException("Missing ticket ID");
+        }
+        String statusName = cell(row, cells, 3);
+        TicketStatus status = statusName != null ? STATUSES.get(statusName) : null;
+        if (status == null) {
+            throw new IllegalArgumentException("Unknown status '" + (statusName != null ? statusName : "") + "' of ticket " + id);
+        }
+        String description = cell(row, cells, 1);
+        String parentId = cell(row, cells, 2);
+        String createdAt = cell(row, cells, 4);
+        String updatedAt = cell(row, cells, 5);
+
+        return TicketEntity.builder()
+                .id(id)
+                .description(description != null ? description : "")
+                .parentId(parentId != null ? parentIds.computeIfAbsent(parentId, key -> key) : null)
+                .status(status)
+                .createdAt(parseTimestamp(createdAt != null ? createdAt : ""))
+                .updatedAt(updatedAt != null ? parseTimestamp(updatedAt) : null)
+                .build();
+    }
+
+    /**
+     * Parses a timestamp written by {@link LocalDateTime#toString()}: {@code uuuu-MM-ddTHH:mm[:ss[.SSSSSSSSS]]}
+     * with one to nine fraction digits. Other formats go through {@link LocalDateTime#parse(CharSequence)}.
+     *
+     * @param value the cell value
+     * @return the parsed timestamp, or {@code null} if the value is not a valid ISO local date-time
+     */
+    static LocalDateTime parseTimestamp(String value) {
+        LocalDateTime parsed = parseIsoLocal(value);
+        if (parsed != null) {
+            return parsed;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            log.warn("Invalid date format: '{}'. Returning null.", value);
+            return null;
+        }
+    }
+
+    private static LocalDateTime parseIsoLocal(String value) {
+        int length = value.length();
+        if (length < 16 || value.charAt(4) != '-' || value.charAt(7) != '-' || value.charAt(10) != 'T' || value.charAt(13) != ':') {
+            return null;
+        }
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 2);
+        int day = digits(value, 8, 2);
+        int hour = digits(value, 11, 2);
+        int minute = digits(value, 14, 2);
+        int second = 0;
+        int nano = 0;
+        if (length > 16) {
+            if (length < 19 || value.charAt(16) != ':') {
+                return null;
+            }
+            second = digits(value, 17, 2);
+            if (length > 19) {
+                int fraction = length - 20;
+                if (value.charAt(19) != '.' || fraction < 1 || fraction > 9) {
+                    return null;
+                }
+                nano = digits(value, 20, fraction);
+                for (int i = fraction; i < 9 && nano >= 0; i++) {
+                    nano *= 10;
+                }
+            }
+        }
+        if ((year | month | day | hour | minute | second | nano) < 0) {
+            return null;
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the decimal value of {@code count} digits starting at {@code start}, or -1 if any of them is not a digit
+     */
+    private static int digits(String value, int start, int count) {
+        int result = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    /**
+     * @return the cell value, or {@code null} if the cell is missing or empty
+     */
+    private static String cell(List<Object> row, int cells, int index) {
+        if (index >= cells) {
+            return null;
+        }
+        Object value = row.get(index);
+        String text = value instanceof String string ? string : String.valueOf(value);
+        return text.isEmpty() ? null : text;
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Periodically writes the ticket snapshot of {@link GoogleSheetsTicketRepository}.
+ * Failures are logged and the snapshot is simply written again at the next interval.
+ *
+ * <p>Enabled with <code>tickets.snapshot.enabled</code>, unless only the {@code jpa} profile is active.</p>
+ */
+@Slf4j
+@Component
+@Profile("!jpa | tiered")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "tickets.snapshot", name = "enabled", havingValue = "true")
+public class TicketSnapshotScheduler {
+
+    private final GoogleSheetsTicketRepository repository;
+
+    @Scheduled(initialDelayString = "${tickets.snapshot.interval:PT5M}",
+            fixedDelayString = "${tickets.snapshot.interval:PT5M}")
+    public void writeSnapshot() {
+        try {
+            int written = repository.writeSnapshot();
+            if (written >= 0) {
+                log.info("Wrote a snapshot of {} tickets", written);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to write the ticket snapshot", e);
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package org.example.repository;
+
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+import org.example.repository.event.TicketChangedEvent;
+import org.example.repository.event.TicketsReloadedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process materialized view of all tickets.
+ * Keeps a hash index by ticket ID and secondary indexes by {@link TicketStatus} and parent ID,
+ * so lookups cost O(1) and filtered listings cost O(k) in the size of the result.
+ *
+ * <p>The store is populated once by the owning repository via {@link #replaceAll(Collection)}
+ * and then kept current by write-through calls to {@link #put(TicketEntity)}.</p>
+ *
+ * <p>Tickets are partitioned by status in an {@link EnumMap}. Each partition is ordered by
+ * {@link TicketCursor} (creation time, then ID), so a page after a given cursor costs O(log n + limit).
+ * Each partition also caches an immutable snapshot of its content that is rebuilt lazily after a change,
+ * so repeated status listings return the same list instance until the partition is modified.</p>
+ *
+ * <p>Every change is announced with a {@link TicketChangedEvent} or {@link TicketsReloadedEvent}
+ * once the lock is released, so derived views such as caches can update themselves. Changes and their events are
+ * ordered by a separate publish lock, so listeners see the events in the order the changes were applied. With the {@code tiered} profile
+ * the store only backs the Sheets mirror, so its events are flagged as not coming from the primary repository.</p>
+ *
+ * <p>Single-ticket lookups return a defensive copy, since callers modify the entity before saving it.
+ * Listings return the stored instances and must be treated as read-only.</p>
+ */
+@Component
+public class TicketStore {
+
+    private final Map<String, TicketEntity> byId = new HashMap<>();
+    private final Map<TicketStatus, StatusPartition> byStatus = new EnumMap<>(TicketStatus.class);
+    private final Map<String, Set<String>> byParentId = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /*
+     * Held by writers from before the write lock until their event is published, so events cannot overtake each other.
+     * Readers only take the read lock, so they are not held up by slow listeners.
+     */
+    private final ReentrantLock publishLock = new ReentrantLock();
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final boolean primary;
+
+    private volatile boolean loaded;
+
+    @Autowired
+    public TicketStore(ApplicationEventPublisher eventPublisher, Environment environment) {
+        this(eventPublisher, !environment.acceptsProfiles(Profiles.of("tiered")));
+    }
+
+    /**
+     * @param eventPublisher receives the change events
+     * @param primary        whether the store backs the repository that serves requests
+     */
+    public TicketStore(ApplicationEventPublisher eventPublisher, boolean primary) {
+        this.eventPublisher = eventPublisher;
+        this.primary = primary;
+        for (TicketStatus status : TicketStatus.values()) {
+            byStatus.put(status, new StatusPartition());
+        }
+    }
+
+    /**
+     * Indicates whether the store has been populated with the full ticket set.
+     *
+     * @return true once {@link #replaceAll(Collection)} has completed
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Replaces the whole content of the store and marks it as loaded.
+     * When the same ID occurs more than once, the last occurrence wins.
+     *
+     * @param tickets the complete ticket set
+     */
+    public void replaceAll(Collection<TicketEntity> tickets) {
+        publishLock.lock();
+        try {
+            int size;
+            lock.writeLock().lock();
+            try {
+                byId.clear();
+                byStatus.values().forEach(StatusPartition::clear);
+                byParentId.clear();
+                tickets.forEach(this::index);
+                loaded = true;
+                size = byId.size();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            eventPublisher.publishEvent(new TicketsReloadedEvent(size, primary));
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * Inserts or replaces a ticket and updates all secondary indexes.
+     *
+     * @param ticket the ticket to store; a copy is kept so later changes by the caller are not visible
+     * @return the previously stored version, or {@code null} if the ticket is new
+     */
+    public TicketEntity put(TicketEntity ticket) {
+        publishLock.lock();
+        try {
+            TicketEntity previous;
+            TicketEntity current;
+            lock.writeLock().lock();
+            try {
+                previous = index(ticket);
+                current = byId.get(ticket.getId());
+            } finally {
+                lock.writeLock().unlock();
+            }
+            eventPublisher.publishEvent(new TicketChangedEvent(previous, current, primary));
+            return previous;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces a ticket only if the store still holds the expected version, so changes read from
+     * an external source do not overwrite a local write that happened in the meantime.
+     *
+     * @param expected    the stored instance as returned by a listing, or {@code null} if the ticket must be absent
+     * @param replacement the new version, or {@code null} to remove the ticket
+     * @return true if the store held the expected version and was changed
+     */
+    public boolean compareAndPut(TicketEntity expected, TicketEntity replacement) {
+        String ticketId = expected != null ? expected.getId() : replacement.getId();
+        publishLock.lock();
+        try {
+            TicketEntity current = null;
+            lock.writeLock().lock();
+            try {
+                if (byId.get(ticketId) != expected) {
+                    return false;
+                }
+                if (replacement != null) {
+                    index(replacement);
+                    current = byId.get(ticketId);
+                } else {
+                    unindex(byId.remove(ticketId));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            eventPublisher.publishEvent(new TicketChangedEvent(expected, current, primary));
+            return true;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * Looks up a ticket by its ID.
+     *
+     * @param ticketId the ticket ID
+     * @return a copy of the stored ticket, or {@code null} if not found
+     */
+    public TicketEntity findById(String ticketId) {
+        lock.readLock().lock();
+        try {
+            TicketEntity ticket = byId.get(ticketId);
+            return ticket != null ? ticket.toBuilder().build() : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<TicketEntity> findAll() {
+        lock.readLock().lock();
+        try {
+            return List.copyOf(byId.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lists the tickets with the given status, oldest first.
+     *
+     * @param status the status partition to list
+     * @return an immutable snapshot that stays the same instance until the partition changes
+     */
+    public List<TicketEntity> findByStatus(TicketStatus status) {
+        lock.readLock().lock();
+        try {
+            return byStatus.get(status).snapshot();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lists up to {@code limit} tickets with the given status that come after the cursor, oldest first.
+     *
+     * @param status the status partition to list
+     * @param after  the position to resume after, or {@code null} to start from the oldest ticket
+     * @param limit  the maximum number of tickets to return
+     * @return the tickets following the cursor
+     */
+    public List<TicketEntity> findByStatus(TicketStatus status, TicketCursor after, int limit) {
+        lock.readLock().lock();
+        try {
+            return byStatus.get(status).page(after, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<TicketEntity> findByParentId(String parentId) {
+        lock.readLock().lock();
+        try {
+            return resolve(byParentId.getOrDefault(parentId, Set.of()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Collects a ticket and all its descendants in a single breadth-first pass over the parent index.
+     * Every ticket is visited once, so parent links that form a cycle, as edits in the sheet can produce, end the walk.
+     *
+     * @param rootId the ID of the subtree root
+     * @return the root followed by its descendants level by level, or an empty list if the root is unknown
+     */
+    public List<TicketEntity> findSubtree(String rootId) {
+        lock.readLock().lock();
+        try {
+            TicketEntity root = byId.get(rootId);
+            if (root == null) {
+                return List.of();
+            }
+            List<TicketEntity> subtree = new ArrayList<>();
+            Set<String> visited = new HashSet<>();
+            subtree.add(root);
+            visited.add(rootId);
+            for (int i = 0; i < subtree.size(); i++) {
+                for (String childId : byParentId.getOrDefault(subtree.get(i).getId(), Set.of())) {
+                    if (visited.add(childId)) {
+                        subtree.add(byId.get(childId));
+                    }
+                }
+            }
+            return subtree;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private TicketEntity index(TicketEntity ticket) {
+        TicketEntity stored = ticket.toBuilder().build();
+        TicketEntity previous = byId.put(stored.getId(), stored);
+        if (previous != null) {
+            unindex(previous);
+        }
+        if (stored.getStatus() != null) {
+            byStatus.get(stored.getStatus()).put(stored);
+        }
+        if (stored.getParentId() != null) {
+            byParentId.computeIfAbsent(stored.getParentId(), key -> new LinkedHashSet<>()).add(stored.getId());
+        }
+        return previous;
+    }
+
+    private void unindex(TicketEntity ticket) {
+        if (ticket.getStatus() != null) {
+            byStatus.get(ticket.getStatus()).remove(ticket);
+        }
+        if (ticket.getParentId() != null) {
+            Set<String> siblings = byParentId.get(ticket.getParentId());
+            if (siblings != null) {
+                siblings.remove(ticket.getId());
+                if (siblings.isEmpty()) {
+                    byParentId.remove(ticket.getParentId());
+                }
+            }
+        }
+    }
+
+    private List<TicketEntity> resolve(Set<String> ids) {
+        return ids.stream().map(byId::get).toList();
+    }
+
+    /**
+     * Tickets of a single status. Modified only under the write lock; the snapshot may be rebuilt
+     * concurrently by readers, which is harmless since they all produce the same list.
+     */
+    private static final class StatusPartition {
+        private final NavigableMap<TicketCursor, TicketEntity> tickets = new TreeMap<>();
+        private volatile List<TicketEntity> snapshot;
+
+        void put(TicketEntity ticket) {
+            tickets.put(TicketCursor.of(ticket), ticket);
+            snapshot = null;
+        }
+
+        void remove(TicketEntity ticket) {
+            tickets.remove(TicketCursor.of(ticket));
+            snapshot = null;
+        }
+
+        void clear() {
+            tickets.clear();
+            snapshot = null;
+        }
+
+        List<TicketEntity> snapshot() {
+            List<TicketEntity> current = snapshot;
+            if (current == null) {
+                current = List.copyOf(tickets.values());
+                snapshot = current;
+            }
+            return current;
+        }
+
+        List<TicketEntity> page(TicketCursor after, int limit) {
+            NavigableMap<TicketCursor, TicketEntity> following = after == null ? tickets : tickets.tailMap(after, false);
+            List<TicketEntity> page = new ArrayList<>(Math.min(limit, following.size()));
+            for (TicketEntity ticket : following.values()) {
+                if (page.size() == limit) {
+                    break;
+                }
+                page.add(ticket);
+            }
+            return page;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.repository.event;
+
+import org.example.entity.TicketEntity;
+
+/**
+ * Published by the {@link org.example.repository.TicketStore}, or by the {@link org.example.repository.JpaTicketRepository}
+ * once its transaction committed, after a single ticket was added, replaced or removed.
+ * Both versions are the stored instances and must be treated as read-only.
+ *
+ * <p>With the {@code tiered} profile the store behind the Sheets mirror publishes as well. Its events describe
+ * the mirror, not the primary repository, so views derived from the primary must ignore them.</p>
+ *
+ * @param previous the version before the change, or {@code null} if the ticket is new
+ * @param current  the version after the change, or {@code null} if the ticket was removed
+ * @param primary  whether the change was made in the repository that serves requests
+ */
+public record TicketChangedEvent(TicketEntity previous, TicketEntity current, boolean primary) {
+}
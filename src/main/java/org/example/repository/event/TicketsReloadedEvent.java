@@ -0,0 +1,10 @@
+package org.example.repository.event;
+
+/**
+ * Published by the {@link org.example.repository.TicketStore} after its whole content was replaced.
+ *
+ * @param size    the number of tickets in the store after the reload
+ * @param primary whether the store backs the repository that serves requests, see {@link TicketChangedEvent}
+ */
+public record TicketsReloadedEvent(int size, boolean primary) {
+}
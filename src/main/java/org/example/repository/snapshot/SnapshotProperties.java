@@ -0,0 +1,20 @@
+package org.example.repository.snapshot;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "tickets.snapshot")
+public class SnapshotProperties {
+
+    private boolean enabled = false;
+    private String path = "data/snapshot/tickets.snapshot";
+    private Duration interval = Duration.ofMinutes(5);
+
+}
@@ -0,0 +1,21 @@
+package org.example.repository.snapshot;
+
+import org.example.entity.TicketEntity;
+
+import java.util.List;
+
+/**
+ * Point-in-time copy of the ticket store together with the sheet position of every ticket.
+ *
+ * @param entries the tickets and their rows
+ * @param lastRow the number of the last sheet row known when the snapshot was taken
+ */
+public record TicketSnapshot(List<Entry> entries, int lastRow) {
+
+    /**
+     * @param ticket    the ticket as held by the store
+     * @param rowNumber the 1-based sheet row of the ticket
+     */
+    public record Entry(TicketEntity ticket, int rowNumber) {
+    }
+}
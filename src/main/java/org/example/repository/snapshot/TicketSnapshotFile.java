@@ -0,0 +1,281 @@
+package org.example.repository.snapshot;
+
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes {@link TicketSnapshot}s as a single columnar file.
+ *
+ * <p>Layout: a header {@code [magic:int][version:int][count:int][lastRow:int][bodyLength:int][crc32:int]}
+ * followed by one column per field, each holding the values of all tickets in the same order:</p>
+ * <ul>
+ *     <li>IDs and descriptions as string pools: the UTF-8 bytes of all values, then their end offsets</li>
+ *     <li>statuses as a dictionary of status names plus one byte code per ticket</li>
+ *     <li>parent IDs as a string pool of the distinct values plus one int code per ticket, -1 for none</li>
+ *     <li>created/updated timestamps as UTC epoch millis plus the nanos within the milli, {@link Long#MIN_VALUE} for none</li>
+ *     <li>sheet row numbers</li>
+ * </ul>
+ *
+ * <p>Statuses are stored by name, so a snapshot stays readable when constants are added or reordered.
+ * A snapshot is written to a temporary file and moved into place, so readers never see a partial file.
+ * Reading maps the file and rejects it if the header or checksum does not match.</p>
+ */
+public final class TicketSnapshotFile {
+
+    private static final int MAGIC = 0x54534E50;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 6 * Integer.BYTES;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final int NANOS_PER_MILLI = 1_000_000;
+
+    private TicketSnapshotFile() {
+    }
+
+    /**
+     * Writes the snapshot, replacing any previous one at the same path.
+     *
+     * @param path     the snapshot file
+     * @param snapshot the snapshot to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, TicketSnapshot snapshot) throws IOException {
+        byte[] body = encodeBody(snapshot.entries());
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(snapshot.entries().size())
+                .putInt(snapshot.lastRow())
+                .putInt(body.length)
+                .putInt((int) crc.getValue())
+                .flip();
+
+        Path absolute = path.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer content = ByteBuffer.wrap(body);
+            while (header.hasRemaining() || content.hasRemaining()) {
+                channel.write(new ByteBuffer[]{header, content});
+            }
+            channel.force(true);
+        }
+        Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Maps and decodes a snapshot file.
+     *
+     * @param path the snapshot file
+     * @return the decoded snapshot
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static TicketSnapshot read(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a ticket snapshot: " + path);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + ": " + path);
+        }
+        int count = buffer.getInt();
+        int lastRow = buffer.getInt();
+        int bodyLength = buffer.getInt();
+        int expectedCrc = buffer.getInt();
+        if (count < 0 || bodyLength != buffer.remaining()) {
+            throw new IOException("Truncated ticket snapshot: " + path);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice());
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IOException("Corrupted ticket snapshot: " + path);
+        }
+
+        try {
+            return new TicketSnapshot(decodeBody(buffer, count), lastRow);
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid ticket snapshot: " + path, e);
+        }
+    }
+
+    private static byte[] encodeBody(List<TicketSnapshot.Entry> entries) {
+        List<TicketEntity> tickets = entries.stream().map(TicketSnapshot.Entry::ticket).toList();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * Math.max(entries.size(), 1));
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            writePool(out, tickets.stream().map(TicketEntity::getId).toList());
+            writePool(out, tickets.stream().map(TicketEntity::getDescription).toList());
+            writeDictionary(out, tickets, TicketEntity::getStatus, TicketStatus::name, true);
+            writeDictionary(out, tickets, TicketEntity::getParentId, Function.identity(), false);
+            writeTimestamps(out, tickets, TicketEntity::getCreatedAt);
+            writeTimestamps(out, tickets, TicketEntity::getUpdatedAt);
+            for (TicketSnapshot.Entry entry : entries) {
+                out.writeInt(entry.rowNumber());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<TicketSnapshot.Entry> decodeBody(ByteBuffer in, int count) {
+        String[] ids = readPool(in, count);
+        String[] descriptions = readPool(in, count);
+        Object[] statuses = readDictionary(in, count, TicketStatus::valueOf, true);
+        Object[] parentIds = readDictionary(in, count, Function.identity(), false);
+        LocalDateTime[] createdAt = readTimestamps(in, count);
+        LocalDateTime[] updatedAt = readTimestamps(in, count);
+
+        List<TicketSnapshot.Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TicketEntity ticket = TicketEntity.builder()
+                    .id(ids[i])
+                    .description(descriptions[i])
+                    .status((TicketStatus) statuses[i])
+                    .parentId((String) parentIds[i])
+                    .createdAt(createdAt[i])
+                    .updatedAt(updatedAt[i])
+                    .build();
+            entries.add(new TicketSnapshot.Entry(ticket, in.getInt()));
+        }
+        return entries;
+    }
+
+    /**
+     * Writes all values back to back followed by the end offset of each; a {@code null} value is stored
+     * with an offset of -1 and takes no bytes.
+     */
+    private static void writePool(DataOutputStream out, List<String> values) throws IOException {
+        ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        int[] ends = new int[values.size()];
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i);
+            if (value == null) {
+                ends[i] = -1;
+                continue;
+            }
+            pool.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            ends[i] = pool.size();
+        }
+        out.writeInt(pool.size());
+        pool.writeTo(out);
+        for (int end : ends) {
+            out.writeInt(end);
+        }
+    }
+
+    private static String[] readPool(ByteBuffer in, int count) {
+        byte[] pool = new byte[in.getInt()];
+        in.get(pool);
+        String[] values = new String[count];
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            int end = in.getInt();
+            if (end >= 0) {
+                values[i] = new String(pool, start, end - start, StandardCharsets.UTF_8);
+                start = end;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Writes the distinct values as a string pool, then the dictionary code of every ticket:
+     * one byte per ticket for small dictionaries such as statuses, otherwise an int. -1 stands for {@code null}.
+     */
+    private static <T> void writeDictionary(DataOutputStream out, List<TicketEntity> tickets,
+                                            Function<TicketEntity, T> getter, Function<T, String> name,
+                                            boolean byteCodes) throws IOException {
+        Map<T, Integer> codes = new LinkedHashMap<>();
+        int[] column = new int[tickets.size()];
+        for (int i = 0; i < tickets.size(); i++) {
+            T value = getter.apply(tickets.get(i));
+            column[i] = value == null ? -1 : codes.computeIfAbsent(value, key -> codes.size());
+        }
+        if (byteCodes && codes.size() > Byte.MAX_VALUE) {
+            throw new IllegalStateException("Too many distinct values for a byte dictionary: " + codes.size());
+        }
+        out.writeInt(codes.size());
+        writePool(out, codes.keySet().stream().map(name).toList());
+        for (int code : column) {
+            if (byteCodes) {
+                out.writeByte(code);
+            } else {
+                out.writeInt(code);
+            }
+        }
+    }
+
+    private static Object[] readDictionary(ByteBuffer in, int count, Function<String, ?> parser, boolean byteCodes) {
+        int size = in.getInt();
+        String[] names = readPool(in, size);
+        Object[] dictionary = new Object[size];
+        Map<String, Object> parsed = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            dictionary[i] = parsed.computeIfAbsent(names[i], parser);
+        }
+        Object[] values = new Object[count];
+        for (int i = 0; i < count; i++) {
+            int code = byteCodes ? in.get() : in.getInt();
+            values[i] = code < 0 ? null : dictionary[code];
+        }
+        return values;
+    }
+
+    private static void writeTimestamps(DataOutputStream out, List<TicketEntity> tickets,
+                                        Function<TicketEntity, LocalDateTime> getter) throws IOException {
+        for (TicketEntity ticket : tickets) {
+            LocalDateTime value = getter.apply(ticket);
+            out.writeLong(value != null ? value.toInstant(ZoneOffset.UTC).toEpochMilli() : NO_TIMESTAMP);
+        }
+        for (TicketEntity ticket : tickets) {
+            LocalDateTime value = getter.apply(ticket);
+            out.writeInt(value != null ? value.getNano() % NANOS_PER_MILLI : 0);
+        }
+    }
+
+    private static LocalDateTime[] readTimestamps(ByteBuffer in, int count) {
+        long[] millis = new long[count];
+        for (int i = 0; i < count; i++) {
+            millis[i] = in.getLong();
+        }
+        LocalDateTime[] values = new LocalDateTime[count];
+        for (int i = 0; i < count; i++) {
+            int nanos = in.getInt();
+            if (millis[i] != NO_TIMESTAMP) {
+                long epochSecond = Math.floorDiv(millis[i], 1000);
+                int nanoOfSecond = (int) Math.floorMod(millis[i], 1000) * NANOS_PER_MILLI + nanos;
+                values[i] = LocalDateTime.ofEpochSecond(epochSecond, nanoOfSecond, ZoneOffset.UTC);
+            }
+        }
+        return values;
+    }
+}
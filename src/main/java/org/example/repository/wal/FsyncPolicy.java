@@ -0,0 +1,21 @@
+package org.example.repository.wal;
+
+/**
+ * Controls when appended log records are forced to disk.
+ */
+public enum FsyncPolicy {
+    /**
+     * Every append is forced before it returns. Safest and slowest.
+     */
+    PER_WRITE,
+    /**
+     * Appends wait for a background sync that covers all records written during the sync interval,
+     * so concurrent writers share one fsync.
+     */
+    GROUP_COMMIT,
+    /**
+     * Appends return immediately and the log is forced once per sync interval.
+     * Up to one interval of writes can be lost on a crash.
+     */
+    INTERVAL
+}
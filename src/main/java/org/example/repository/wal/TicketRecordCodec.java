@@ -0,0 +1,138 @@
+package org.example.repository.wal;
+
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary encoding of {@link WalRecord}s.
+ *
+ * <p>Layout: sequence (varint), flags (1 byte), status ordinal (1 byte, optional),
+ * ID and description (length-prefixed UTF-8), parent ID (optional),
+ * created/updated timestamps as epoch second (varint) plus nano of second (varint), each optional.
+ * A removal only carries the ID.</p>
+ */
+final class TicketRecordCodec {
+
+    private static final int PENDING = 1;
+    private static final int HAS_STATUS = 1 << 1;
+    private static final int HAS_DESCRIPTION = 1 << 2;
+    private static final int HAS_PARENT = 1 << 3;
+    private static final int HAS_CREATED_AT = 1 << 4;
+    private static final int HAS_UPDATED_AT = 1 << 5;
+    private static final int REMOVED = 1 << 6;
+
+    private static final TicketStatus[] STATUSES = TicketStatus.values();
+
+    private TicketRecordCodec() {
+    }
+
+    static byte[] encode(WalRecord record) {
+        TicketEntity ticket = record.ticket();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+
+        int flags = (record.pending() ? PENDING : 0)
+                | (ticket.getStatus() != null ? HAS_STATUS : 0)
+                | (ticket.getDescription() != null ? HAS_DESCRIPTION : 0)
+                | (ticket.getParentId() != null ? HAS_PARENT : 0)
+                | (ticket.getCreatedAt() != null ? HAS_CREATED_AT : 0)
+                | (ticket.getUpdatedAt() != null ? HAS_UPDATED_AT : 0)
+                | (record.removed() ? REMOVED : 0);
+
+        writeVarLong(out, record.sequence());
+        out.write(flags);
+        if (ticket.getStatus() != null) {
+            out.write(ticket.getStatus().ordinal());
+        }
+        writeString(out, ticket.getId());
+        if (ticket.getDescription() != null) {
+            writeString(out, ticket.getDescription());
+        }
+        if (ticket.getParentId() != null) {
+            writeString(out, ticket.getParentId());
+        }
+        if (ticket.getCreatedAt() != null) {
+            writeTimestamp(out, ticket.getCreatedAt());
+        }
+        if (ticket.getUpdatedAt() != null) {
+            writeTimestamp(out, ticket.getUpdatedAt());
+        }
+        return out.toByteArray();
+    }
+
+    static WalRecord decode(ByteBuffer in) {
+        long sequence = readVarLong(in);
+        int flags = in.get() & 0xFF;
+
+        TicketEntity.TicketEntityBuilder ticket = TicketEntity.builder();
+        if ((flags & HAS_STATUS) != 0) {
+            ticket.status(STATUSES[in.get()]);
+        }
+        ticket.id(readString(in));
+        if ((flags & HAS_DESCRIPTION) != 0) {
+            ticket.description(readString(in));
+        }
+        if ((flags & HAS_PARENT) != 0) {
+            ticket.parentId(readString(in));
+        }
+        if ((flags & HAS_CREATED_AT) != 0) {
+            ticket.createdAt(readTimestamp(in));
+        }
+        if ((flags & HAS_UPDATED_AT) != 0) {
+            ticket.updatedAt(readTimestamp(in));
+        }
+        return new WalRecord(sequence, (flags & PENDING) != 0, ticket.build(), (flags & REMOVED) != 0);
+    }
+
+    private static void writeTimestamp(ByteArrayOutputStream out, LocalDateTime value) {
+        writeVarLong(out, value.toEpochSecond(ZoneOffset.UTC));
+        writeVarLong(out, value.getNano());
+    }
+
+    private static LocalDateTime readTimestamp(ByteBuffer in) {
+        long epochSecond = readVarLong(in);
+        int nano = (int) readVarLong(in);
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = (int) readVarLong(in);
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    /**
+     * Writes an unsigned LEB128 varint. Negative values (timestamps before 1970) take the full ten bytes.
+     */
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,437 @@
+package org.example.repository.wal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.TicketEntity;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * File-backed, append-only log of ticket mutations.
+ *
+ * <p>The log is split into memory-mapped segments named {@code wal-<index>.log}. Each record is stored as
+ * {@code [length:int][crc32:int][payload]}, where the payload is produced by {@link TicketRecordCodec};
+ * a zero length marks the end of a segment. A torn or corrupted record ends the replay of its segment.</p>
+ *
+ * <p>When a record does not fit into the active segment a new one is started. Once more than
+ * {@link WalProperties#getCompactionThreshold()} segments exist, they are compacted into a single segment
+ * that keeps only the latest record of every ticket; tickets whose latest record is a removal are dropped.</p>
+ *
+ * <p>Records appended in write-behind mode are flagged as pending. The highest sequence known to be
+ * written to the sheet is stored in a separate checkpoint file, so replay can tell which pending records
+ * still have to be sent.</p>
+ */
+@Slf4j
+public class TicketWriteAheadLog implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final long syncIntervalMillis;
+    private final int compactionThreshold;
+
+    /*
+     * Explicit locks rather than monitors, so virtual threads waiting for an append or an fsync do not pin their carrier.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition synced = lock.newCondition();
+    private final ReentrantLock checkpointLock = new ReentrantLock();
+
+    private final List<Path> segments = new ArrayList<>();
+    private MappedByteBuffer active;
+    private long nextSegmentIndex;
+
+    private long lastSequence;
+    private long syncedSequence;
+    private volatile long checkpoint;
+
+    private Thread syncer;
+    private volatile boolean open = true;
+
+    public TicketWriteAheadLog(WalProperties properties) throws IOException {
+        this.directory = Path.of(properties.getDirectory());
+        this.segmentSize = (int) properties.getSegmentSize().toBytes();
+        this.fsyncPolicy = properties.getFsyncPolicy();
+        this.syncIntervalMillis = properties.getSyncInterval().toMillis();
+        this.compactionThreshold = properties.getCompactionThreshold();
+
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(TicketWriteAheadLog::isSegment)
+                    .sorted((a, b) -> Long.compare(segmentIndex(a), segmentIndex(b)))
+                    .forEach(segments::add);
+        }
+        Path checkpointFile = directory.resolve(CHECKPOINT_FILE);
+        if (Files.exists(checkpointFile)) {
+            checkpoint = ByteBuffer.wrap(Files.readAllBytes(checkpointFile)).getLong();
+        }
+        nextSegmentIndex = segments.isEmpty() ? 1 : segmentIndex(segments.get(segments.size() - 1)) + 1;
+    }
+
+    /**
+     * Reads every valid record in log order and prepares the log for appending.
+     * Must be called once, before the first append.
+     *
+     * @param consumer receives each record
+     * @throws IOException if a segment cannot be read
+     */
+    public void replay(Consumer<WalRecord> consumer) throws IOException {
+        int valid = 0;
+        lock.lock();
+        try {
+            for (Path segment : segments) {
+                MappedByteBuffer buffer = map(segment, Files.size(segment));
+                while (true) {
+                    WalRecord record = readNext(buffer);
+                    if (record == null) {
+                        break;
+                    }
+                    lastSequence = Math.max(lastSequence, record.sequence());
+                    consumer.accept(record);
+                    valid++;
+                }
+                if (segment.equals(segments.get(segments.size() - 1))) {
+                    active = buffer.capacity() >= segmentSize ? buffer : map(segment, segmentSize);
+                    active.position(buffer.position());
+                }
+            }
+            syncedSequence = lastSequence;
+            if (active == null) {
+                roll();
+            }
+            startSyncer();
+        } finally {
+            lock.unlock();
+        }
+        log.info("Replayed {} write-ahead log records from {} segments, last sequence {}", valid, segments.size(), lastSequence);
+    }
+
+    /**
+     * Appends a ticket mutation and makes it durable according to the configured {@link FsyncPolicy}.
+     *
+     * @param ticket  the full state of the ticket
+     * @param pending whether the mutation still has to be written to the sheet
+     * @return the sequence number assigned to the record
+     * @throws IOException if the record cannot be written
+     */
+    public long append(TicketEntity ticket, boolean pending) throws IOException {
+        long sequence = write(ticket, pending);
+        awaitDurable(sequence);
+        return sequence;
+    }
+
+    /**
+     * Appends a ticket mutation without waiting for it to become durable.
+     * Callers that need durability must follow up with {@link #awaitDurable(long)}.
+     *
+     * @return the sequence number assigned to the record
+     */
+    public long write(TicketEntity ticket, boolean pending) throws IOException {
+        lock.lock();
+        try {
+            long sequence = ++lastSequence;
+            writeRecord(new WalRecord(sequence, pending, ticket, false));
+            if (fsyncPolicy == FsyncPolicy.PER_WRITE) {
+                active.force();
+                syncedSequence = sequence;
+            }
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends a set of already persisted tickets with a single fsync, e.g. to seed the log from the sheet.
+     */
+    public void appendAll(Collection<TicketEntity> tickets) throws IOException {
+        appendAll(tickets, List.of());
+    }
+
+    /**
+     * Appends already persisted changes with a single fsync, e.g. the ones picked up from the sheet.
+     *
+     * @param tickets    the full state of changed tickets
+     * @param removedIds the IDs of removed tickets
+     */
+    public void appendAll(Collection<TicketEntity> tickets, Collection<String> removedIds) throws IOException {
+        lock.lock();
+        try {
+            for (TicketEntity ticket : tickets) {
+                writeRecord(new WalRecord(++lastSequence, false, ticket, false));
+            }
+            for (String ticketId : removedIds) {
+                writeRecord(new WalRecord(++lastSequence, false, TicketEntity.builder().id(ticketId).build(), true));
+            }
+            active.force();
+            syncedSequence = lastSequence;
+            synced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until the record with the given sequence has been forced to disk.
+     * Returns immediately with the {@link FsyncPolicy#INTERVAL} policy.
+     */
+    public void awaitDurable(long sequence) throws IOException {
+        if (fsyncPolicy != FsyncPolicy.GROUP_COMMIT) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (syncedSequence < sequence) {
+                if (!open) {
+                    throw new IOException("Write-ahead log closed before record " + sequence + " was synced");
+                }
+                synced.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for record " + sequence + " to be synced", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records that every pending mutation up to the given sequence has been written to the sheet.
+     */
+    public void checkpoint(long sequence) throws IOException {
+        checkpointLock.lock();
+        try {
+            if (sequence <= checkpoint) {
+                return;
+            }
+            Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence));
+                channel.force(true);
+            }
+            Files.move(temp, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            checkpoint = sequence;
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    public long getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Returns whether a replayed record still has to be written to the sheet.
+     */
+    public boolean isUnflushed(WalRecord record) {
+        return record.pending() && record.sequence() > checkpoint;
+    }
+
+    @Override
+    public void close() {
+        open = false;
+        if (syncer != null) {
+            syncer.interrupt();
+        }
+        lock.lock();
+        try {
+            if (active != null) {
+                active.force();
+                syncedSequence = lastSequence;
+            }
+            synced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeRecord(WalRecord record) throws IOException {
+        if (active == null) {
+            throw new IllegalStateException("The write-ahead log must be replayed before appending");
+        }
+        byte[] payload = TicketRecordCodec.encode(record);
+        int required = HEADER_BYTES + payload.length;
+        if (required + Integer.BYTES > segmentSize) {
+            throw new IOException("Record of " + required + " bytes exceeds the segment size");
+        }
+        if (active.remaining() < required + Integer.BYTES) {
+            roll();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        active.putInt(payload.length);
+        active.putInt((int) crc.getValue());
+        active.put(payload);
+        // End-of-segment marker, overwritten by the next record.
+        active.putInt(active.position(), 0);
+    }
+
+    private WalRecord readNext(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        int start = buffer.position();
+        int length = buffer.getInt();
+        int expectedCrc = buffer.getInt();
+        if (length <= 0 || length > buffer.remaining()) {
+            buffer.position(start);
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != expectedCrc) {
+            log.warn("Corrupted write-ahead log record at offset {}, ignoring the rest of the segment", start);
+            buffer.position(start);
+            return null;
+        }
+        return TicketRecordCodec.decode(ByteBuffer.wrap(payload));
+    }
+
+    /**
+     * Starts a new active segment, compacting the existing ones first when there are too many.
+     */
+    private void roll() throws IOException {
+        if (active != null) {
+            active.force();
+            syncedSequence = lastSequence;
+            synced.signalAll();
+        }
+        if (segments.size() >= compactionThreshold) {
+            compact();
+        }
+        Path segment = directory.resolve(segmentName(nextSegmentIndex++));
+        active = map(segment, segmentSize);
+        segments.add(segment);
+    }
+
+    /**
+     * Rewrites all segments into one that holds only the latest record of each ticket.
+     * The compacted segment is written under a temporary name and moved into place before the old
+     * segments are deleted, so a crash at any point leaves a log that replays to the same state.
+     */
+    private void compact() throws IOException {
+        long start = System.currentTimeMillis();
+        Map<String, WalRecord> latest = new LinkedHashMap<>();
+        for (Path segment : segments) {
+            MappedByteBuffer buffer = map(segment, Files.size(segment));
+            WalRecord record;
+            while ((record = readNext(buffer)) != null) {
+                WalRecord flushed = isUnflushed(record) ? record : new WalRecord(record.sequence(), false, record.ticket(), false);
+                latest.remove(record.ticket().getId());
+                if (!record.removed()) {
+                    latest.put(record.ticket().getId(), flushed);
+                }
+            }
+        }
+
+        Path compacted = directory.resolve(segmentName(nextSegmentIndex++));
+        Path temp = directory.resolve(compacted.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (WalRecord record : latest.values()) {
+                byte[] payload = TicketRecordCodec.encode(record);
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(payload.length).putInt((int) crc.getValue()).flip();
+                channel.write(new ByteBuffer[]{header, ByteBuffer.wrap(payload)});
+            }
+            channel.force(true);
+        }
+        Files.move(temp, compacted, StandardCopyOption.ATOMIC_MOVE);
+
+        for (Path segment : segments) {
+            Files.deleteIfExists(segment);
+        }
+        segments.clear();
+        segments.add(compacted);
+        log.info("Compacted write-ahead log to {} records in {} ms", latest.size(), System.currentTimeMillis() - start);
+    }
+
+    private void startSyncer() {
+        if (fsyncPolicy == FsyncPolicy.PER_WRITE) {
+            return;
+        }
+        syncer = new Thread(this::syncLoop, "ticket-wal-sync");
+        syncer.setDaemon(true);
+        syncer.start();
+    }
+
+    private void syncLoop() {
+        while (open) {
+            try {
+                Thread.sleep(syncIntervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            MappedByteBuffer buffer;
+            long target;
+            boolean upToDate;
+            lock.lock();
+            try {
+                buffer = active;
+                target = lastSequence;
+                upToDate = target <= syncedSequence;
+            } finally {
+                lock.unlock();
+            }
+            if (upToDate) {
+                continue;
+            }
+            // Forced outside the lock so writers keep appending; earlier segments were forced when rolled.
+            buffer.force();
+            lock.lock();
+            try {
+                syncedSequence = Math.max(syncedSequence, target);
+                synced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static MappedByteBuffer map(Path segment, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long segmentIndex(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static String segmentName(long index) {
+        return String.format("%s%012d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX);
+    }
+}
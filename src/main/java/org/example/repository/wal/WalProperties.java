@@ -0,0 +1,24 @@
+package org.example.repository.wal;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "tickets.wal")
+public class WalProperties {
+
+    private boolean enabled = false;
+    private String directory = "data/wal";
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+    private FsyncPolicy fsyncPolicy = FsyncPolicy.GROUP_COMMIT;
+    private Duration syncInterval = Duration.ofMillis(5);
+    private int compactionThreshold = 4;
+
+}
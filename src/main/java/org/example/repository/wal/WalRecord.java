@@ -0,0 +1,14 @@
+package org.example.repository.wal;
+
+import org.example.entity.TicketEntity;
+
+/**
+ * A single ticket mutation read back from the write-ahead log.
+ *
+ * @param sequence monotonically increasing position of the record in the log
+ * @param pending  whether the mutation still has to be written to the remote sheet
+ * @param ticket   the full state of the ticket after the mutation; only the ID for a removal
+ * @param removed  whether the ticket was removed
+ */
+public record WalRecord(long sequence, boolean pending, TicketEntity ticket, boolean removed) {
+}
@@ -0,0 +1,33 @@
+package org.example.service;
+
+import org.example.entity.TicketEntity;
+
+/**
+ * Outcome of one item of a batch operation.
+ *
+ * @param index   the position of the item in the batch
+ * @param outcome what happened to the item
+ * @param ticket  the saved ticket, or {@code null} if the item failed
+ * @param error   the reason of a failure, or {@code null} on success
+ */
+public record BatchItemResult(int index, Outcome outcome, TicketEntity ticket, String error) {
+
+    public enum Outcome {
+        CREATED,
+        UPDATED,
+        INVALID,
+        NOT_FOUND;
+
+        public boolean isSuccess() {
+            return this == CREATED || this == UPDATED;
+        }
+    }
+
+    static BatchItemResult success(int index, Outcome outcome, TicketEntity ticket) {
+        return new BatchItemResult(index, outcome, ticket, null);
+    }
+
+    static BatchItemResult failure(int index, Outcome outcome, String error) {
+        return new BatchItemResult(index, outcome, null, error);
+    }
+}
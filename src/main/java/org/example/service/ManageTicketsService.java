@@ -1,12 +1,15 @@
 package org.example.service;
 
 import org.example.dto.request.CreateTicketRequest;
+import org.example.dto.request.TicketStatusUpdate;
 import org.example.dto.request.UpdateTicketRequest;
 import org.example.entity.TicketEntity;
 import org.example.enums.TicketStatus;
 import org.example.exception.TicketRepositoryException;
+import org.example.repository.TicketCursor;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service interface for managing ticket operations.
@@ -17,5 +20,16 @@ public interface ManageTicketsService {
     TicketEntity createTicket(CreateTicketRequest request) throws TicketRepositoryException;
     TicketEntity updateTicket(String ticketId, UpdateTicketRequest request) throws TicketRepositoryException;
     List<TicketEntity> getTicketsByStatus(TicketStatus status) throws TicketRepositoryException;
+    List<TicketEntity> getTicketsByStatus(TicketStatus status, TicketCursor after, int limit) throws TicketRepositoryException;
+
+    List<TicketEntity> getChildren(String ticketId) throws TicketRepositoryException;
+    List<TicketEntity> getSubtree(String ticketId) throws TicketRepositoryException;
+
+    List<BatchItemResult> createTickets(List<CreateTicketRequest> requests) throws TicketRepositoryException;
+    List<BatchItemResult> updateTicketStatuses(List<TicketStatusUpdate> updates) throws TicketRepositoryException;
+
+    CompletableFuture<TicketEntity> createTicketAsync(CreateTicketRequest request);
+    CompletableFuture<TicketEntity> updateTicketAsync(String ticketId, UpdateTicketRequest request);
+    CompletableFuture<List<TicketEntity>> getTicketsByStatusAsync(TicketStatus status);
 
 }
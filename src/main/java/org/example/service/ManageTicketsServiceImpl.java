@@ -1,35 +1,52 @@
 package org.example.service;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.dto.request.CreateTicketRequest;
+import org.example.dto.request.TicketStatusUpdate;
 import org.example.dto.request.UpdateTicketRequest;
 import org.example.entity.TicketEntity;
 import org.example.enums.TicketStatus;
 import org.example.exception.TicketRepositoryException;
 import org.example.mapper.TicketMapper;
+import org.example.repository.AsyncTicketRepository;
+import org.example.repository.TicketCursor;
 import org.example.repository.TicketRepository;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-
-import static java.util.Locale.filter;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Implementation of {@link ManageTicketsService} that handles core ticket operations.
  * Responsible for creating, updating, and retrieving tickets, and delegating persistence to the {@link TicketRepository}.
- * Applies business rules such as default status assignment and timestamping.
+ * Applies business rules such as default status assignment, timestamping, parent existence and an acyclic hierarchy.
+ *
+ * <p>The {@code *Async} variants chain calls of the {@link AsyncTicketRepository} instead of blocking the caller,
+ * so a request holds no thread while waiting for Sheets. Like the blocking variants, they look tickets up
+ * through the {@link TicketByIdCache}.</p>
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Timed(value = "tickets.service", description = "Latency of ticket service operations")
 public class ManageTicketsServiceImpl implements ManageTicketsService  {
 
     private final TicketRepository ticketRepository;
     private final TicketMapper mapper;
     private final TicketIdGenerator idGenerator;
+    private final TicketByIdCache ticketByIdCache;
+    private final AsyncTicketRepository asyncTicketRepository;
 
     /**
      * Creates a new ticket with default status and timestamp.
@@ -38,18 +55,53 @@ public class ManageTicketsServiceImpl implements ManageTicketsService  {
      * @param request the ticket creation request
      * @return the persisted {@link TicketEntity}
      * @throws TicketRepositoryException if saving fails
+     * @throws EntityNotFoundException if the parent ticket does not exist
+     * @throws IllegalArgumentException if the ancestors of the parent ticket form a cycle
      */
     public TicketEntity createTicket(CreateTicketRequest request) throws TicketRepositoryException {
         log.info("Creating new ticket with description: {}", request.getDescription());
 
-        TicketEntity entity = mapper.toEntity(request);
-        entity.setStatus(TicketStatus.OPEN);
-        entity.setId(idGenerator.generateId());
-        entity.setCreatedAt(LocalDateTime.now());
+        TicketEntity entity = newTicket(request);
+        if (entity.getParentId() != null) {
+            TicketEntity parent = ticketByIdCache.findById(entity.getParentId());
+            if (parent == null) {
+                throw parentNotFound(entity.getParentId());
+            }
+            requireAcyclic(parent, entity.getId());
+        }
 
         return ticketRepository.saveTicket(entity);
     }
 
+    /**
+     * Asynchronous variant of {@link #createTicket(CreateTicketRequest)}.
+     * The write is only issued once the parent is known to exist, so a failed check never leaves a row behind.
+     *
+     * @param request the ticket creation request
+     * @return a future of the persisted {@link TicketEntity}, failing with {@link EntityNotFoundException}
+     *         if the parent ticket does not exist, or {@link IllegalArgumentException} if its ancestors form a cycle
+     */
+    public CompletableFuture<TicketEntity> createTicketAsync(CreateTicketRequest request) {
+        log.info("Creating new ticket with description: {}", request.getDescription());
+
+        TicketEntity entity = newTicket(request);
+        if (entity.getParentId() == null) {
+            return asyncTicketRepository.saveTicket(entity);
+        }
+        return ticketByIdCache.findByIdAsync(entity.getParentId())
+                .thenCompose(parent -> {
+                    if (parent == null) {
+                        throw parentNotFound(entity.getParentId());
+                    }
+                    try {
+                        requireAcyclic(parent, entity.getId());
+                    } catch (TicketRepositoryException e) {
+                        throw new CompletionException(e);
+                    }
+                    return asyncTicketRepository.saveTicket(entity);
+                });
+    }
+
     /**
      * Updates the status of an existing ticket and sets the updated timestamp.
      * Validates existence before applying changes.
@@ -70,29 +122,266 @@ public class ManageTicketsServiceImpl implements ManageTicketsService  {
         return ticketRepository.saveTicket(entity);
     }
 
+    /**
+     * Asynchronous variant of {@link #updateTicket(String, UpdateTicketRequest)}.
+     *
+     * @param ticketId the ID of the ticket to update
+     * @param request the update request containing the new status
+     * @return a future of the updated {@link TicketEntity}, failing with {@link EntityNotFoundException}
+     *         if the ticket does not exist
+     */
+    public CompletableFuture<TicketEntity> updateTicketAsync(String ticketId, UpdateTicketRequest request) {
+        log.info("Updating ticket {} to status {}", ticketId, request.getStatus());
+
+        return ticketByIdCache.findByIdAsync(ticketId)
+                .thenCompose(entity -> {
+                    if (entity == null) {
+                        throw new EntityNotFoundException("Ticket with ID " + ticketId + " not found");
+                    }
+                    entity.setStatus(request.getStatus());
+                    entity.setUpdatedAt(LocalDateTime.now());
+                    return asyncTicketRepository.saveTicket(entity);
+                });
+    }
+
+    /**
+     * Creates a batch of tickets with a single repository write.
+     * Every item is validated first; items without a description, with an unknown parent or with a parent whose
+     * ancestors form a cycle are reported as failed and skipped, and the IDs of the remaining ones are generated in one call.
+     *
+     * @param requests the ticket creation requests
+     * @return one result per request, in request order
+     * @throws TicketRepositoryException if saving the valid tickets fails
+     */
+    public List<BatchItemResult> createTickets(List<CreateTicketRequest> requests) throws TicketRepositoryException {
+        log.info("Creating {} tickets", requests.size());
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        Map<String, Boolean> parentExists = new HashMap<>();
+        Map<String, Boolean> parentAcyclic = new HashMap<>();
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateTicketRequest request = requests.get(i);
+            if (request == null || request.getDescription() == null) {
+                results[i] = BatchItemResult.failure(i, BatchItemResult.Outcome.INVALID, "Description must not be null");
+            } else if (request.getParentId() != null && !exists(request.getParentId(), parentExists)) {
+                results[i] = BatchItemResult.failure(i, BatchItemResult.Outcome.NOT_FOUND, parentNotFound(request.getParentId()).getMessage());
+            } else if (request.getParentId() != null && !acyclic(request.getParentId(), parentAcyclic)) {
+                results[i] = BatchItemResult.failure(i, BatchItemResult.Outcome.INVALID, cyclicParent(request.getParentId()).getMessage());
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        List<String> ids = idGenerator.generateIds(accepted.size());
+        LocalDateTime createdAt = LocalDateTime.now();
+        List<TicketEntity> entities = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            TicketEntity entity = mapper.toEntity(requests.get(accepted.get(i)));
+            entity.setStatus(TicketStatus.OPEN);
+            entity.setId(ids.get(i));
+            entity.setCreatedAt(createdAt);
+            entities.add(entity);
+        }
+
+        List<TicketEntity> saved = ticketRepository.saveAll(entities);
+        for (int i = 0; i < accepted.size(); i++) {
+            results[accepted.get(i)] = BatchItemResult.success(accepted.get(i), BatchItemResult.Outcome.CREATED, saved.get(i));
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Changes the status of a batch of tickets with a single repository write.
+     * Items without an ID or status, or naming an unknown ticket, are reported as failed and skipped.
+     * A ticket may occur only once: every later item naming it is reported as invalid and skipped.
+     *
+     * @param updates the ticket IDs and their new status
+     * @return one result per update, in request order
+     * @throws TicketRepositoryException if looking up or saving the tickets fails
+     */
+    public List<BatchItemResult> updateTicketStatuses(List<TicketStatusUpdate> updates) throws TicketRepositoryException {
+        log.info("Updating the status of {} tickets", updates.size());
+
+        BatchItemResult[] results = new BatchItemResult[updates.size()];
+        List<Integer> accepted = new ArrayList<>();
+        List<TicketEntity> entities = new ArrayList<>();
+        Map<String, Integer> firstItems = new HashMap<>();
+        LocalDateTime updatedAt = LocalDateTime.now();
+        for (int i = 0; i < updates.size(); i++) {
+            TicketStatusUpdate update = updates.get(i);
+            if (update == null || update.getId() == null || update.getStatus() == null) {
+                results[i] = BatchItemResult.failure(i, BatchItemResult.Outcome.INVALID, "Ticket ID and status must not be null");
+                continue;
+            }
+            Integer first = firstItems.get(update.getId());
+            if (first != null) {
+                results[i] = BatchItemResult.failure(i, BatchItemResult.Outcome.INVALID,
+                        "Ticket with ID " + update.getId() + " is already updated by item " + first);
+                continue;
+            }
+            TicketEntity entity = ticketByIdCache.findById(update.getId());
+            if (entity == null) {
+                results[i] = BatchItemResult.failure(i, BatchItemResult.Outcome.NOT_FOUND, "Ticket with ID " + update.getId() + " not found");
+                continue;
+            }
+            entity.setStatus(update.getStatus());
+            entity.setUpdatedAt(updatedAt);
+            firstItems.put(update.getId(), i);
+            accepted.add(i);
+            entities.add(entity);
+        }
+
+        List<TicketEntity> saved = ticketRepository.saveAll(entities);
+        for (int i = 0; i < accepted.size(); i++) {
+            results[accepted.get(i)] = BatchItemResult.success(accepted.get(i), BatchItemResult.Outcome.UPDATED, saved.get(i));
+        }
+        return Arrays.asList(results);
+    }
+
     /**
      * Retrieves all tickets matching the specified status.
+     * The repository answers from a status-partitioned index, so the cost depends on the result size only.
      *
      * @param status the status to filter by
-     * @return a list of matching {@link TicketEntity} objects
+     * @return a read-only list of matching {@link TicketEntity} objects
      * @throws TicketRepositoryException if retrieval fails
      */
     public List<TicketEntity> getTicketsByStatus(TicketStatus status) throws TicketRepositoryException {
         log.info("Fetching tickets with status: {}", status);
-        return ticketRepository.findAll().stream()
-                .filter(ticket -> ticket.getStatus() == status)
-                .toList();
+        return ticketRepository.findByStatus(status);
+    }
+
+    /**
+     * Retrieves one page of tickets matching the specified status, oldest first.
+     *
+     * @param status the status to filter by
+     * @param after the position of the last ticket already returned, or {@code null} for the first page
+     * @param limit the maximum number of tickets to return
+     * @return the matching {@link TicketEntity} objects following the cursor
+     * @throws TicketRepositoryException if retrieval fails
+     */
+    public List<TicketEntity> getTicketsByStatus(TicketStatus status, TicketCursor after, int limit) throws TicketRepositoryException {
+        log.debug("Fetching {} tickets with status {} after {}", limit, status, after);
+        return ticketRepository.findByStatus(status, after, limit);
+    }
+
+    /**
+     * Lists the direct children of a ticket.
+     *
+     * @param ticketId the ID of the parent ticket
+     * @return the read-only list of child tickets
+     * @throws TicketRepositoryException if retrieval fails
+     * @throws EntityNotFoundException if the ticket does not exist
+     */
+    public List<TicketEntity> getChildren(String ticketId) throws TicketRepositoryException {
+        log.debug("Fetching children of ticket {}", ticketId);
+        List<TicketEntity> children = ticketRepository.findByParentId(ticketId);
+        if (children.isEmpty()) {
+            getTicketEntity(ticketId);
+        }
+        return children;
+    }
+
+    /**
+     * Lists a ticket and all its descendants.
+     *
+     * @param ticketId the ID of the subtree root
+     * @return the root followed by its descendants level by level, read-only
+     * @throws TicketRepositoryException if retrieval fails
+     * @throws EntityNotFoundException if the ticket does not exist
+     */
+    public List<TicketEntity> getSubtree(String ticketId) throws TicketRepositoryException {
+        log.debug("Fetching subtree of ticket {}", ticketId);
+        List<TicketEntity> subtree = ticketRepository.findSubtree(ticketId);
+        if (subtree.isEmpty()) {
+            throw new EntityNotFoundException("Ticket with ID " + ticketId + " not found");
+        }
+        return subtree;
+    }
+
+    /**
+     * Asynchronous variant of {@link #getTicketsByStatus(TicketStatus)}.
+     *
+     * @param status the status to filter by
+     * @return a future of the read-only list of matching {@link TicketEntity} objects
+     */
+    public CompletableFuture<List<TicketEntity>> getTicketsByStatusAsync(TicketStatus status) {
+        log.info("Fetching tickets with status: {}", status);
+        return asyncTicketRepository.findByStatus(status);
+    }
+
+    private TicketEntity newTicket(CreateTicketRequest request) {
+        TicketEntity entity = mapper.toEntity(request);
+        entity.setStatus(TicketStatus.OPEN);
+        entity.setId(idGenerator.generateId());
+        entity.setCreatedAt(LocalDateTime.now());
+        return entity;
+    }
+
+    private boolean exists(String ticketId, Map<String, Boolean> known) throws TicketRepositoryException {
+        Boolean exists = known.get(ticketId);
+        if (exists == null) {
+            exists = ticketByIdCache.findById(ticketId) != null;
+            known.put(ticketId, exists);
+        }
+        return exists;
+    }
+
+    private boolean acyclic(String parentId, Map<String, Boolean> known) throws TicketRepositoryException {
+        Boolean acyclic = known.get(parentId);
+        if (acyclic == null) {
+            try {
+                requireAcyclic(ticketByIdCache.findById(parentId), null);
+                acyclic = true;
+            } catch (IllegalArgumentException e) {
+                acyclic = false;
+            }
+            known.put(parentId, acyclic);
+        }
+        return acyclic;
+    }
+
+    /**
+     * Walks up from the parent of a new ticket to the root of its hierarchy. The walk must neither revisit a ticket
+     * nor reach the new ticket itself, otherwise attaching the ticket would place it in a cycle,
+     * which parent links edited in the sheet can produce.
+     *
+     * @param parent   the parent of the new ticket
+     * @param ticketId the ID of the new ticket, or {@code null} if not known yet
+     * @throws IllegalArgumentException if the ancestors form a cycle
+     */
+    private void requireAcyclic(TicketEntity parent, String ticketId) throws TicketRepositoryException {
+        Set<String> seen = new HashSet<>();
+        if (ticketId != null) {
+            seen.add(ticketId);
+        }
+        TicketEntity ancestor = parent;
+        while (ancestor != null) {
+            if (!seen.add(ancestor.getId())) {
+                throw cyclicParent(parent.getId());
+            }
+            ancestor = ancestor.getParentId() != null ? ticketByIdCache.findById(ancestor.getParentId()) : null;
+        }
+    }
+
+    private static IllegalArgumentException cyclicParent(String parentId) {
+        return new IllegalArgumentException("Parent ticket " + parentId + " is part of a cycle in the ticket hierarchy");
+    }
+
+    private static EntityNotFoundException parentNotFound(String parentId) {
+        return new EntityNotFoundException("Parent ticket with ID " + parentId + " not found");
     }
 
     /**
-     * Helper method to retrieve a ticket by ID.
+     * Helper method to retrieve a ticket by ID through the {@link TicketByIdCache}.
      *
      * @param ticketId the ID of the ticket
      * @return the matching {@link TicketEntity}
      * @throws EntityNotFoundException if no ticket is found
      */
     private TicketEntity getTicketEntity(String ticketId) throws TicketRepositoryException {
-        TicketEntity entity = ticketRepository.findById(ticketId);
+        TicketEntity entity = ticketByIdCache.findById(ticketId);
         if (entity == null ) {
             throw new EntityNotFoundException("Ticket with ID " + ticketId + " not found");
         }
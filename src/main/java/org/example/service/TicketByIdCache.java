@@ -0,0 +1,194 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.CacheProperties;
+import org.example.entity.TicketEntity;
+import org.example.exception.TicketRepositoryException;
+import org.example.repository.ExecutorAsyncTicketRepository;
+import org.example.repository.TicketRepository;
+import org.example.repository.event.TicketChangedEvent;
+import org.example.repository.event.TicketsReloadedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Caffeine cache in front of {@link TicketRepository#findById(String)}.
+ * Unknown IDs are cached as well, for a much shorter time, so repeated lookups of missing tickets
+ * do not each reach the repository, which may consult the sheet before reporting a miss.
+ *
+ * <p>Entries are weighed by the approximate size of the ticket and evicted once the total weight
+ * exceeds <code>maximum-weight</code>. An entry is dropped as soon as the primary repository reports a change of its
+ * ticket; changes of the Sheets mirror of the {@code tiered} profile are ignored.
+ * Hit, miss and eviction counts are published to Micrometer as the <code>tickets-by-id</code> cache.</p>
+ *
+ * <p>{@link #findByIdAsync(String)} runs the same lookup on the virtual threads of the
+ * {@link ExecutorAsyncTicketRepository}, so asynchronous callers share the cache and its statistics.</p>
+ *
+ * <p>Configured with <code>cache.specs.tickets-by-id.*</code>.</p>
+ */
+@Slf4j
+@Component
+public class TicketByIdCache {
+
+    public static final String NAME = "tickets-by-id";
+
+    private static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(5);
+
+    private final TicketRepository ticketRepository;
+
+    private final Cache<String, Optional<TicketEntity>> cache;
+
+    private final Executor lookupExecutor;
+
+    @Autowired
+    public TicketByIdCache(TicketRepository ticketRepository, CacheProperties cacheProperties, MeterRegistry meterRegistry,
+                           ExecutorAsyncTicketRepository asyncTicketRepository) {
+        this(ticketRepository, cacheProperties, meterRegistry, asyncTicketRepository.executor());
+    }
+
+    /**
+     * @param lookupExecutor runs the lookups of {@link #findByIdAsync(String)}
+     */
+    public TicketByIdCache(TicketRepository ticketRepository, CacheProperties cacheProperties, MeterRegistry meterRegistry,
+                           Executor lookupExecutor) {
+        this.ticketRepository = ticketRepository;
+        this.lookupExecutor = lookupExecutor;
+
+        CacheProperties.Spec spec = cacheProperties.resolve(NAME);
+        Duration negativeTtl = spec.getNegativeExpireAfterWrite() != null ? spec.getNegativeExpireAfterWrite() : DEFAULT_NEGATIVE_TTL;
+        Caffeine<String, Optional<TicketEntity>> builder = Caffeine.newBuilder()
+                .expireAfter(new FoundOrMissingExpiry(spec.getExpireAfterWrite(), negativeTtl))
+                .recordStats();
+        if (spec.getMaximumWeight() != null) {
+            builder.maximumWeight(spec.getMaximumWeight())
+                    .weigher((String ticketId, Optional<TicketEntity> ticket) -> weigh(ticketId, ticket));
+        } else if (spec.getMaximumSize() != null) {
+            builder.maximumSize(spec.getMaximumSize());
+        }
+        this.cache = builder.build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    /**
+     * Looks up a ticket, reading through to the repository on a miss.
+     * Concurrent lookups of the same ID share one repository call.
+     *
+     * @param ticketId the ticket ID
+     * @return a copy of the ticket, or {@code null} if not found
+     * @throws TicketRepositoryException if the repository lookup fails; failures are not cached
+     */
+    public TicketEntity findById(String ticketId) throws TicketRepositoryException {
+        Optional<TicketEntity> ticket;
+        try {
+            ticket = cache.get(ticketId, this::load);
+        } catch (LookupFailedException e) {
+            throw e.getCause();
+        }
+        return ticket.map(found -> found.toBuilder().build()).orElse(null);
+    }
+
+    /**
+     * Asynchronous variant of {@link #findById(String)}.
+     *
+     * @param ticketId the ticket ID
+     * @return a future of a copy of the ticket, or of {@code null} if not found; failing with
+     *         {@link TicketRepositoryException} if the repository lookup fails
+     */
+    public CompletableFuture<TicketEntity> findByIdAsync(String ticketId) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return findById(ticketId);
+            } catch (TicketRepositoryException e) {
+                throw new CompletionException(e);
+            }
+        }, lookupExecutor);
+    }
+
+    @EventListener
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (!event.primary()) {
+            return;
+        }
+        TicketEntity changed = event.current() != null ? event.current() : event.previous();
+        cache.invalidate(changed.getId());
+    }
+
+    @EventListener
+    public void onTicketsReloaded(TicketsReloadedEvent event) {
+        if (!event.primary()) {
+            return;
+        }
+        cache.invalidateAll();
+    }
+
+    private Optional<TicketEntity> load(String ticketId) {
+        try {
+            return Optional.ofNullable(ticketRepository.findById(ticketId));
+        } catch (TicketRepositoryException e) {
+            throw new LookupFailedException(e);
+        }
+    }
+
+    /**
+     * Approximates the retained size of an entry in bytes: object headers plus two bytes per character.
+     */
+    private static int weigh(String ticketId, Optional<TicketEntity> ticket) {
+        int chars = ticketId.length();
+        if (ticket.isPresent()) {
+            TicketEntity found = ticket.get();
+            chars += length(found.getDescription()) + length(found.getParentId());
+        }
+        return 128 + 2 * chars;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    /**
+     * Keeps found tickets for the regular TTL and missing ones for the negative TTL.
+     */
+    private record FoundOrMissingExpiry(Duration foundTtl, Duration missingTtl) implements Expiry<String, Optional<TicketEntity>> {
+
+        @Override
+        public long expireAfterCreate(String ticketId, Optional<TicketEntity> ticket, long currentTime) {
+            if (ticket.isEmpty()) {
+                return missingTtl.toNanos();
+            }
+            return foundTtl != null ? foundTtl.toNanos() : Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterUpdate(String ticketId, Optional<TicketEntity> ticket, long currentTime, long currentDuration) {
+            return expireAfterCreate(ticketId, ticket, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String ticketId, Optional<TicketEntity> ticket, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static final class LookupFailedException extends RuntimeException {
+        LookupFailedException(TicketRepositoryException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized TicketRepositoryException getCause() {
+            return (TicketRepositoryException) super.getCause();
+        }
+    }
+}
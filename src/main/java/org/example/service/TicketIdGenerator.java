@@ -1,6 +1,22 @@
 package org.example.service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface TicketIdGenerator {
     String generateId();
-}
 
+    /**
+     * Generates IDs for a batch of new tickets.
+     *
+     * @param count the number of IDs to generate
+     * @return {@code count} distinct IDs
+     */
+    default List<String> generateIds(int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(generateId());
+        }
+        return ids;
+    }
+}
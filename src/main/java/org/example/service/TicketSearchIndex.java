@@ -0,0 +1,423 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.TicketSearchProperties;
+import org.example.entity.TicketEntity;
+import org.example.exception.TicketRepositoryException;
+import org.example.repository.TicketCursor;
+import org.example.repository.TicketRepository;
+import org.example.repository.event.TicketChangedEvent;
+import org.example.repository.event.TicketsReloadedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over ticket descriptions.
+ *
+ * <p>Descriptions are split into lower-cased words at every character that is not a letter or digit.
+ * The words are kept in a sorted term dictionary, so every query word also matches the indexed words it is
+ * a prefix of, up to <code>max-expansions</code> of them in alphabetical order. A ticket must match all query words.
+ * Matches are ranked by tf-idf, with words matched through their prefix weighted at half, then newest first
+ * by creation time and ID, the way {@link TicketCursor} orders them.</p>
+ *
+ * <p>Tickets are numbered in the order they are indexed. The postings of a word are the increasing ticket numbers,
+ * stored as variable-length deltas followed by the number of occurrences, so a common word costs about two bytes
+ * per ticket. A changed description is indexed under a new number and the old one is marked deleted;
+ * once deleted numbers outnumber the live ones the index is rebuilt, which keeps memory proportional to
+ * the live tickets. Status changes do not touch the index.</p>
+ *
+ * <p>The index is built from {@link TicketRepository#findAll()} on the first search and then kept up to date
+ * from the primary repository's {@link TicketChangedEvent}s, like {@link TicketStatistics}. Results are read through
+ * the {@link TicketByIdCache}.
+ * Configured with <code>tickets.search.*</code>.</p>
+ */
+@Slf4j
+@Component
+public class TicketSearchIndex {
+
+    private static final int MAX_TERM_LENGTH = 32;
+    private static final int MAX_QUERY_TERMS = 16;
+    private static final int MIN_DELETED_BEFORE_REBUILD = 1024;
+    private static final float PREFIX_WEIGHT = 0.5f;
+
+    private final TicketRepository ticketRepository;
+
+    private final TicketByIdCache ticketByIdCache;
+
+    private final int maxExpansions;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // the fields below are guarded by lock
+    private Index index = new Index();
+    private boolean stale = true;
+    private long reloads;
+    private Map<String, TicketEntity> pending;
+
+    public TicketSearchIndex(TicketRepository ticketRepository, TicketByIdCache ticketByIdCache,
+                             TicketSearchProperties properties) {
+        this.ticketRepository = ticketRepository;
+        this.ticketByIdCache = ticketByIdCache;
+        this.maxExpansions = properties.getMaxExpansions();
+    }
+
+    /**
+     * Finds the tickets whose description contains every word of the query, as a whole word or as a prefix.
+     * Only the first {@value #MAX_QUERY_TERMS} words of the query are used.
+     *
+     * @param query the words to search for
+     * @param limit the maximum number of results
+     * @return copies of the matching tickets, best match first; empty if the query has no words
+     * @throws TicketRepositoryException if the index must be built and the tickets cannot be loaded
+     */
+    public List<TicketEntity> search(String query, int limit) throws TicketRepositoryException {
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        words = words.subList(0, Math.min(words.size(), MAX_QUERY_TERMS));
+        if (isStale()) {
+            rebuild();
+        }
+
+        List<String> ticketIds;
+        lock.readLock().lock();
+        try {
+            ticketIds = index.rank(words, limit, maxExpansions);
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<TicketEntity> tickets = new ArrayList<>(ticketIds.size());
+        for (String ticketId : ticketIds) {
+            TicketEntity ticket = ticketByIdCache.findById(ticketId);
+            if (ticket != null) {
+                tickets.add(ticket);
+            }
+        }
+        return tickets;
+    }
+
+    @EventListener
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (!event.primary()) {
+            return;
+        }
+        TicketEntity previous = event.previous();
+        TicketEntity current = event.current();
+        String ticketId = current != null ? current.getId() : previous.getId();
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.put(ticketId, current);
+            } else if (!stale && (previous == null || current == null
+                    || !Objects.equals(previous.getDescription(), current.getDescription()))) {
+                index.put(ticketId, current);
+                stale = index.deleted() > Math.max(index.live(), MIN_DELETED_BEFORE_REBUILD);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onTicketsReloaded(TicketsReloadedEvent event) {
+        if (!event.primary()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            stale = true;
+            reloads++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Splits a text into lower-cased words at every character that is not a letter or digit.
+     * Words longer than {@value #MAX_TERM_LENGTH} characters are cut off.
+     *
+     * @param text the text, may be {@code null}
+     * @return the words in order of occurrence, with repetitions
+     */
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (word.length() < MAX_TERM_LENGTH) {
+                    word.appendCodePoint(codePoint);
+                }
+            } else if (!word.isEmpty()) {
+                words.add(word.toString().toLowerCase(Locale.ROOT));
+                word.setLength(0);
+            }
+        }
+        if (!word.isEmpty()) {
+            words.add(word.toString().toLowerCase(Locale.ROOT));
+        }
+        return words;
+    }
+
+    private boolean isStale() {
+        lock.readLock().lock();
+        try {
+            return stale;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a new index outside the lock and swaps it in, applying the changes published in the meantime.
+     */
+    private void rebuild() throws TicketRepositoryException {
+        rebuildLock.lock();
+        try {
+            long generation;
+            lock.writeLock().lock();
+            try {
+                if (!stale) {
+                    return;
+                }
+                generation = reloads;
+                pending = new HashMap<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Index rebuilt = new Index();
+            try {
+                for (TicketEntity ticket : ticketRepository.findAll()) {
+                    rebuilt.put(ticket.getId(), ticket);
+                }
+            } catch (TicketRepositoryException | RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pending = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                pending.forEach(rebuilt::put);
+                pending = null;
+                index = rebuilt;
+                stale = reloads != generation;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.debug("Rebuilt the ticket search index with {} tickets and {} terms", rebuilt.live(), rebuilt.terms.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * The term dictionary and postings. Not thread-safe.
+     */
+    private static final class Index {
+
+        private final TreeMap<String, Postings> terms = new TreeMap<>();
+        private final Map<String, Integer> docsByTicket = new HashMap<>();
+        private final List<TicketCursor> cursors = new ArrayList<>();
+        private final BitSet deleted = new BitSet();
+
+        int live() {
+            return docsByTicket.size();
+        }
+
+        int deleted() {
+            return deleted.cardinality();
+        }
+
+        /**
+         * Indexes the new version of a ticket under a new number and deletes the old one.
+         *
+         * @param ticket the new version, or {@code null} if the ticket was removed
+         */
+        void put(String ticketId, TicketEntity ticket) {
+            Integer old = ticket != null ? docsByTicket.get(ticketId) : docsByTicket.remove(ticketId);
+            if (old != null) {
+                deleted.set(old);
+                cursors.set(old, null);
+            }
+            if (ticket == null) {
+                return;
+            }
+            int doc = cursors.size();
+            cursors.add(TicketCursor.of(ticket));
+            docsByTicket.put(ticketId, doc);
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String word : tokenize(ticket.getDescription())) {
+                frequencies.merge(word, 1, Integer::sum);
+            }
+            frequencies.forEach((word, frequency) -> terms.computeIfAbsent(word, key -> new Postings()).add(doc, frequency));
+        }
+
+        /**
+         * Scores the tickets matching all words, keeping each ticket only while it matched every word so far,
+         * and returns the IDs of the best ones. Scores are kept per ticket matching the first word, so the cost
+         * follows the postings read rather than the number of tickets ever indexed.
+         */
+        List<String> rank(List<String> words, int limit, int maxExpansions) {
+            Map<Integer, Match> matches = new HashMap<>();
+            int live = Math.max(live(), 1);
+
+            for (int w = 0; w < words.size(); w++) {
+                String word = words.get(w);
+                int expansions = 0;
+                for (Map.Entry<String, Postings> term : terms.subMap(word, true, word + Character.MAX_VALUE, false).entrySet()) {
+                    if (expansions++ == maxExpansions) {
+                        break;
+                    }
+                    Postings postings = term.getValue();
+                    float weight = (float) Math.log(1 + (double) live / postings.docFrequency)
+                            * (term.getKey().length() == word.length() ? 1 : PREFIX_WEIGHT);
+                    PostingsReader reader = postings.reader();
+                    while (reader.next()) {
+                        int doc = reader.doc;
+                        if (deleted.get(doc)) {
+                            continue;
+                        }
+                        Match match = w == 0 ? matches.computeIfAbsent(doc, key -> new Match(cursors.get(key))) : matches.get(doc);
+                        if (match == null || match.words < w) {
+                            continue;
+                        }
+                        match.words = w + 1;
+                        match.score += weight * (1 + (float) Math.log(reader.frequency));
+                    }
+                }
+            }
+
+            PriorityQueue<Match> best = new PriorityQueue<>((a, b) -> a == b ? 0 : a.isBetterThan(b) ? 1 : -1);
+            for (Match match : matches.values()) {
+                if (match.words < words.size()) {
+                    continue;
+                }
+                if (best.size() < limit) {
+                    best.add(match);
+                } else if (!best.isEmpty() && match.isBetterThan(best.peek())) {
+                    best.poll();
+                    best.add(match);
+                }
+            }
+            String[] ranked = new String[best.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = best.poll().cursor.id();
+            }
+            return Arrays.asList(ranked);
+        }
+    }
+
+    /**
+     * A ticket matching the query words so far, with its score.
+     */
+    private static final class Match {
+
+        private final TicketCursor cursor;
+        private int words;
+        private float score;
+
+        Match(TicketCursor cursor) {
+            this.cursor = cursor;
+        }
+
+        boolean isBetterThan(Match other) {
+            return score > other.score || score == other.score && cursor.compareTo(other.cursor) > 0;
+        }
+    }
+
+    /**
+     * The increasing ticket numbers containing one word, each stored as the varint delta to the previous number
+     * followed by the varint number of occurrences.
+     */
+    private static final class Postings {
+
+        private byte[] bytes = new byte[4];
+        private int length;
+        private int lastDoc = -1;
+        private int docFrequency;
+
+        void add(int doc, int frequency) {
+            writeVarint(doc - lastDoc);
+            writeVarint(frequency);
+            lastDoc = doc;
+            docFrequency++;
+        }
+
+        PostingsReader reader() {
+            return new PostingsReader(bytes, length);
+        }
+
+        private void writeVarint(int value) {
+            if (length + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(length + 5, bytes.length + (bytes.length >> 1)));
+            }
+            while ((value & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+    }
+
+    private static final class PostingsReader {
+
+        private final byte[] bytes;
+        private final int length;
+        private int position;
+        int doc = -1;
+        int frequency;
+
+        PostingsReader(byte[] bytes, int length) {
+            this.bytes = bytes;
+            this.length = length;
+        }
+
+        boolean next() {
+            if (position == length) {
+                return false;
+            }
+            doc += readVarint();
+            frequency = readVarint();
+            return true;
+        }
+
+        private int readVarint() {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+    }
+}
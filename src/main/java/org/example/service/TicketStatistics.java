@@ -0,0 +1,243 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.TicketStatsProperties;
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+import org.example.exception.TicketRepositoryException;
+import org.example.repository.TicketRepository;
+import org.example.repository.event.TicketChangedEvent;
+import org.example.repository.event.TicketsReloadedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Running ticket statistics: the number of tickets per status, the tickets created and closed per time bucket
+ * and the average time from creation to closing.
+ *
+ * <p>The counters are built once from {@link TicketRepository#findAll()} on the first read and then kept up to date
+ * from the {@link TicketChangedEvent} published for every saved ticket, so reading them does not scan the tickets.
+ * Each ticket's contribution is remembered by ID, so a change replaces the previous contribution of the ticket,
+ * and a ticket that is reopened no longer counts as closed. A {@link TicketsReloadedEvent} marks the counters
+ * stale and the next read rebuilds them; changes published while a rebuild loads the tickets are applied on top.
+ * Events of the Sheets mirror in the {@code tiered} profile are ignored, since the counters describe the primary.</p>
+ *
+ * <p>A ticket is closed in the bucket of its {@code updatedAt}. Timestamps are bucketed as UTC.
+ * Configured with <code>tickets.stats.*</code>.</p>
+ */
+@Slf4j
+@Component
+public class TicketStatistics {
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    private static final int CREATED = 0;
+    private static final int CLOSED = 1;
+
+    private final TicketRepository ticketRepository;
+
+    private final long bucketSeconds;
+
+    private final int maxBuckets;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // the fields below are guarded by this
+    private final Map<String, Contribution> byTicket = new HashMap<>();
+    private final long[] byStatus = new long[TicketStatus.values().length];
+    private final TreeMap<Long, long[]> buckets = new TreeMap<>();
+    private long closedWithDuration;
+    private long totalCloseMillis;
+    private boolean stale = true;
+    private long reloads;
+    private Map<String, TicketEntity> pending;
+
+    public TicketStatistics(TicketRepository ticketRepository, TicketStatsProperties properties) {
+        this.ticketRepository = ticketRepository;
+        this.bucketSeconds = Math.max(1, properties.getBucketSize().toSeconds());
+        this.maxBuckets = properties.getMaxBuckets();
+    }
+
+    /**
+     * Returns the current statistics, building the counters first if they are stale.
+     *
+     * @return a consistent copy of the counters
+     * @throws TicketRepositoryException if the counters must be built and the tickets cannot be loaded
+     */
+    public Snapshot snapshot() throws TicketRepositoryException {
+        if (isStale()) {
+            rebuild();
+        }
+        synchronized (this) {
+            Map<TicketStatus, Long> statuses = new EnumMap<>(TicketStatus.class);
+            for (TicketStatus status : TicketStatus.values()) {
+                statuses.put(status, byStatus[status.ordinal()]);
+            }
+            List<Bucket> recent = new ArrayList<>(Math.min(buckets.size(), maxBuckets));
+            for (Map.Entry<Long, long[]> entry : buckets.descendingMap().entrySet()) {
+                if (recent.size() == maxBuckets) {
+                    break;
+                }
+                LocalDateTime start = LocalDateTime.ofEpochSecond(entry.getKey() * bucketSeconds, 0, ZoneOffset.UTC);
+                recent.add(new Bucket(start, entry.getValue()[CREATED], entry.getValue()[CLOSED]));
+            }
+            Collections.reverse(recent);
+            Duration averageTimeToClose = closedWithDuration > 0 ? Duration.ofMillis(totalCloseMillis / closedWithDuration) : null;
+            return new Snapshot(byTicket.size(), statuses, recent, averageTimeToClose);
+        }
+    }
+
+    @EventListener
+    public synchronized void onTicketChanged(TicketChangedEvent event) {
+        if (!event.primary()) {
+            return;
+        }
+        String ticketId = event.current() != null ? event.current().getId() : event.previous().getId();
+        if (pending != null) {
+            pending.put(ticketId, event.current());
+        } else if (!stale) {
+            apply(ticketId, event.current());
+        }
+    }
+
+    @EventListener
+    public synchronized void onTicketsReloaded(TicketsReloadedEvent event) {
+        if (!event.primary()) {
+            return;
+        }
+        stale = true;
+        reloads++;
+    }
+
+    private synchronized boolean isStale() {
+        return stale;
+    }
+
+    private void rebuild() throws TicketRepositoryException {
+        rebuildLock.lock();
+        try {
+            long generation;
+            synchronized (this) {
+                if (!stale) {
+                    return;
+                }
+                generation = reloads;
+                pending = new HashMap<>();
+            }
+            List<TicketEntity> tickets;
+            try {
+                tickets = ticketRepository.findAll();
+            } catch (TicketRepositoryException | RuntimeException e) {
+                synchronized (this) {
+                    pending = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                byTicket.clear();
+                buckets.clear();
+                Arrays.fill(byStatus, 0);
+                closedWithDuration = 0;
+                totalCloseMillis = 0;
+                for (TicketEntity ticket : tickets) {
+                    apply(ticket.getId(), ticket);
+                }
+                pending.forEach(this::apply);
+                pending = null;
+                stale = reloads != generation;
+            }
+            log.debug("Rebuilt the ticket statistics from {} tickets", tickets.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the contribution of a ticket with that of its new version.
+     *
+     * @param ticket the new version, or {@code null} if the ticket was removed
+     */
+    private void apply(String ticketId, TicketEntity ticket) {
+        Contribution previous = ticket != null ? byTicket.put(ticketId, contribution(ticket)) : byTicket.remove(ticketId);
+        if (previous != null) {
+            add(previous, -1);
+        }
+        if (ticket != null) {
+            add(byTicket.get(ticketId), 1);
+        }
+    }
+
+    private void add(Contribution contribution, int sign) {
+        if (contribution.status() != null) {
+            byStatus[contribution.status().ordinal()] += sign;
+        }
+        if (contribution.createdBucket() != NONE) {
+            count(contribution.createdBucket(), CREATED, sign);
+        }
+        if (contribution.closedBucket() != NONE) {
+            count(contribution.closedBucket(), CLOSED, sign);
+        }
+        if (contribution.closeMillis() != NONE) {
+            closedWithDuration += sign;
+            totalCloseMillis += sign * contribution.closeMillis();
+        }
+    }
+
+    private void count(long bucket, int counter, int sign) {
+        long[] counts = buckets.computeIfAbsent(bucket, key -> new long[2]);
+        counts[counter] += sign;
+        if (counts[CREATED] == 0 && counts[CLOSED] == 0) {
+            buckets.remove(bucket);
+        }
+    }
+
+    private Contribution contribution(TicketEntity ticket) {
+        LocalDateTime createdAt = ticket.getCreatedAt();
+        LocalDateTime closedAt = ticket.getStatus() == TicketStatus.CLOSED ? ticket.getUpdatedAt() : null;
+        long closeMillis = createdAt != null && closedAt != null && !closedAt.isBefore(createdAt)
+                ? Duration.between(createdAt, closedAt).toMillis()
+                : NONE;
+        return new Contribution(ticket.getStatus(), bucket(createdAt), bucket(closedAt), closeMillis);
+    }
+
+    private long bucket(LocalDateTime timestamp) {
+        return timestamp != null ? Math.floorDiv(timestamp.toEpochSecond(ZoneOffset.UTC), bucketSeconds) : NONE;
+    }
+
+    /**
+     * What one ticket adds to the counters; {@link #NONE} where it adds nothing.
+     */
+    private record Contribution(TicketStatus status, long createdBucket, long closedBucket, long closeMillis) {
+    }
+
+    /**
+     * @param total              the number of tickets
+     * @param byStatus           the number of tickets per status, zero for statuses no ticket has
+     * @param buckets            the most recent non-empty buckets, oldest first
+     * @param averageTimeToClose the average time from creation to closing of the closed tickets,
+     *                           or {@code null} if there are none
+     */
+    public record Snapshot(long total, Map<TicketStatus, Long> byStatus, List<Bucket> buckets, Duration averageTimeToClose) {
+    }
+
+    /**
+     * @param start   the start of the bucket
+     * @param created the number of tickets created in the bucket
+     * @param closed  the number of tickets closed in the bucket that are still closed
+     */
+    public record Bucket(LocalDateTime start, long created, long closed) {
+    }
+}
@@ -2,13 +2,37 @@ package org.example.service;
 
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Component
 public class UuidTicketIdGenerator implements TicketIdGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     @Override
     public String generateId() {
         return UUID.randomUUID().toString();
     }
-}
 
+    /**
+     * Generates random (version 4) UUIDs from a single draw of random bytes,
+     * instead of one draw per ID from the shared generator.
+     */
+    @Override
+    public List<String> generateIds(int count) {
+        byte[] bytes = new byte[count * 16];
+        RANDOM.nextBytes(bytes);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long mostSignificant = (buffer.getLong() & ~0xF000L) | 0x4000L;
+            long leastSignificant = (buffer.getLong() & ~0xC000000000000000L) | 0x8000000000000000L;
+            ids.add(new UUID(mostSignificant, leastSignificant).toString());
+        }
+        return ids;
+    }
+}
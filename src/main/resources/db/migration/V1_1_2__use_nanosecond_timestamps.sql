@@ -0,0 +1,3 @@
+-- Keep the full precision of LocalDateTime, as the sheet does, so stored tickets compare equal to the saved ones
+ALTER TABLE tickets ALTER COLUMN created_at SET DATA TYPE TIMESTAMP(9);
+ALTER TABLE tickets ALTER COLUMN updated_at SET DATA TYPE TIMESTAMP(9);
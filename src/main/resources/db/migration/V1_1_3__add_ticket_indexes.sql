@@ -0,0 +1,4 @@
+-- Status listings are ordered by creation time and then by ID, see TicketCursor
+CREATE INDEX idx_tickets_status_created_at ON tickets (status, created_at, id);
+CREATE INDEX idx_tickets_parent_id ON tickets (parent_id);
+CREATE INDEX idx_tickets_created_at ON tickets (created_at);
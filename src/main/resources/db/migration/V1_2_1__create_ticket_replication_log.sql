@@ -0,0 +1,9 @@
+-- Changes waiting to be mirrored to the sheet by the tiered repository, in commit order per ticket
+CREATE SEQUENCE ticket_replication_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE ticket_replication_log (
+    seq BIGINT PRIMARY KEY,
+    ticket_id VARCHAR(255) NOT NULL,
+    base_checksum BIGINT,
+    recorded_at TIMESTAMP(9) NOT NULL
+);
@@ -0,0 +1,272 @@
+package org.example.client;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.services.sheets.v4.Sheets;
+import com.google.api.services.sheets.v4.model.AppendValuesResponse;
+import com.google.api.services.sheets.v4.model.UpdateValuesResponse;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.exception.SheetsRequestRejectedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SheetsRequestExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GoogleSheetsProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new GoogleSheetsProperties();
+        properties.getLimiter().setMaxConcurrentRequests(1);
+        properties.getLimiter().setAcquireTimeout(Duration.ofMillis(50));
+        properties.getRetry().setInitialBackoff(Duration.ofMillis(1));
+        properties.getRetry().setMaxBackoff(Duration.ofMillis(5));
+    }
+
+    @Test
+    void execute_shouldRetryTransientFailures() throws Exception {
+        SheetsRequestExecutor executor = new SheetsRequestExecutor(meterRegistry, properties);
+        Sheets.Spreadsheets.Values.Get get = mock(Sheets.Spreadsheets.Values.Get.class);
+        when(get.execute())
+                .thenThrow(httpError(503))
+                .thenThrow(httpError(429))
+                .thenReturn(new ValueRange());
+
+        assertNotNull(executor.execute(SheetsOperation.READ, get));
+        assertEquals(2.0, meterRegistry.get("sheets.retries").tag("operation", "read").counter().count());
+    }
+
+    @Test
+    void execute_shouldNotRetryAppendAfterServerError() throws Exception {
+        SheetsRequestExecutor executor = new SheetsRequestExecutor(meterRegistry, properties);
+        Sheets.Spreadsheets.Values.Append append = mock(Sheets.Spreadsheets.Values.Append.class);
+        when(append.execute()).thenThrow(httpError(503)).thenReturn(new AppendValuesResponse());
+
+        assertThrows(HttpResponseException.class, () -> executor.execute(SheetsOperation.APPEND, append));
+        verify(append, times(1)).execute();
+    }
+
+    @Test
+    void execute_shouldRejectCallsWhileCircuitIsOpen() throws Exception {
+        properties.getRetry().setMaxAttempts(1);
+        properties.getCircuitBreaker().setFailureThreshold(2);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofMillis(200));
+        SheetsRequestExecutor executor = new SheetsRequestExecutor(meterRegistry, properties);
+        Sheets.Spreadsheets.Values.Get get = mock(Sheets.Spreadsheets.Values.Get.class);
+        when(get.execute())
+                .thenThrow(httpError(503))
+                .thenThrow(httpError(503))
+                .thenReturn(new ValueRange());
+
+        assertThrows(HttpResponseException.class, () -> executor.execute(SheetsOperation.READ, get));
+        assertThrows(HttpResponseException.class, () -> executor.execute(SheetsOperation.READ, get));
+        SheetsRequestRejectedException rejected = assertThrows(SheetsRequestRejectedException.class,
+                () -> executor.execute(SheetsOperation.READ, get));
+        assertNotNull(rejected.getRetryAfter());
+        assertEquals(2.0, meterRegistry.get("sheets.circuit.state").gauge().value());
+        assertEquals(1.0, meterRegistry.get("sheets.circuit.rejected").tag("operation", "read").counter().count());
+
+        Thread.sleep(250);
+        assertNotNull(executor.execute(SheetsOperation.READ, get));
+        assertEquals(0.0, meterRegistry.get("sheets.circuit.state").gauge().value());
+        verify(get, times(3)).execute();
+    }
+
+    @Test
+    void execute_shouldRejectCallsBeyondConcurrencyLimit() throws Exception {
+        SheetsRequestExecutor executor = new SheetsRequestExecutor(meterRegistry, properties);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Sheets.Spreadsheets.Values.Get blocking = mock(Sheets.Spreadsheets.Values.Get.class);
+        when(blocking.execute()).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return new ValueRange();
+        });
+        Sheets.Spreadsheets.Values.Get quick = mock(Sheets.Spreadsheets.Values.Get.class);
+        when(quick.execute()).thenReturn(new ValueRange());
+
+        CompletableFuture<ValueRange> inFlight = CompletableFuture.supplyAsync(() -> {
+            try {
+                return executor.execute(SheetsOperation.READ, blocking);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(SheetsRequestRejectedException.class, () -> executor.execute(SheetsOperation.READ, quick));
+        assertEquals(1.0, meterRegistry.get("sheets.limiter.rejected").tag("operation", "read").counter().count());
+        assertEquals(1.0, meterRegistry.get("sheets.limiter.in.flight").gauge().value());
+
+        release.countDown();
+        inFlight.get(5, TimeUnit.SECONDS);
+        assertNotNull(executor.execute(SheetsOperation.READ, quick));
+        assertEquals(0.0, meterRegistry.get("sheets.limiter.in.flight").gauge().value());
+    }
+
+    @Test
+    void execute_shouldReturnGlobalPermitWhenInterruptedWaitingForBulkhead() throws Exception {
+        properties.getLimiter().setMaxConcurrentRequests(2);
+        properties.getLimiter().setMaxConcurrentWrites(1);
+        properties.getLimiter().setAcquireTimeout(Duration.ofSeconds(5));
+        SheetsRequestExecutor executor = new SheetsRequestExecutor(meterRegistry, properties);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Sheets.Spreadsheets.Values.Update blocking = mock(Sheets.Spreadsheets.Values.Update.class);
+        when(blocking.execute()).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return new UpdateValuesResponse();
+        });
+        CompletableFuture<UpdateValuesResponse> inFlight = CompletableFuture.supplyAsync(() -> {
+            try {
+                return executor.execute(SheetsOperation.UPDATE, blocking);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Exception> failure = new CompletableFuture<>();
+        Thread waiting = new Thread(() -> {
+            try {
+                executor.execute(SheetsOperation.UPDATE, mock(Sheets.Spreadsheets.Values.Update.class));
+                failure.complete(null);
+            } catch (Exception e) {
+                failure.complete(e);
+            }
+        });
+        waiting.start();
+        while (waiting.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+        waiting.interrupt();
+
+        assertInstanceOf(InterruptedIOException.class, failure.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get("sheets.limiter.in.flight").gauge().value());
+        release.countDown();
+        inFlight.get(5, TimeUnit.SECONDS);
+        assertEquals(0.0, meterRegistry.get("sheets.limiter.in.flight").gauge().value());
+    }
+
+    @Test
+    void execute_shouldRejectReadsOnceQuotaIsSpent() throws Exception {
+        properties.getQuota().setEnabled(true);
+        properties.getQuota().setReadRequestsPerWindow(1);
+        properties.getQuota().setMaxWait(Duration.ofMillis(20));
+        SheetsRequestExecutor executor = new SheetsRequestExecutor(meterRegistry, properties);
+        Sheets.Spreadsheets.Values.Get get = mock(Sheets.Spreadsheets.Values.Get.class);
+        when(get.execute()).thenReturn(new ValueRange());
+
+        assertNotNull(executor.execute(SheetsOperation.READ, get));
+        SheetsRequestRejectedException rejected = assertThrows(SheetsRequestRejectedException.class,
+                () -> executor.execute(SheetsOperation.READ, get));
+
+        assertTrue(rejected.getRetryAfter().toSeconds() > 50);
+        assertEquals(1.0, meterRegistry.get("sheets.quota.rejected").tag("operation", "read").tag("priority", "user_read").counter().count());
+        verify(get, times(1)).execute();
+    }
+
+    @Test
+    void execute_shouldNotSpendQuotaOnCallsRejectedByOpenCircuit() throws Exception {
+        properties.getRetry().setMaxAttempts(1);
+        properties.getCircuitBreaker().setFailureThreshold(1);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofMinutes(1));
+        properties.getQuota().setEnabled(true);
+        properties.getQuota().setReadRequestsPerWindow(2);
+        properties.getQuota().setMaxWait(Duration.ZERO);
+        SheetsRequestExecutor executor = new SheetsRequestExecutor(meterRegistry, properties);
+        Sheets.Spreadsheets.Values.Get get = mock(Sheets.Spreadsheets.Values.Get.class);
+        when(get.execute()).thenThrow(httpError(503));
+
+        assertThrows(HttpResponseException.class, () -> executor.execute(SheetsOperation.READ, get));
+        for (int i = 0; i < 3; i++) {
+            assertThrows(SheetsRequestRejectedException.class, () -> executor.execute(SheetsOperation.READ, get));
+        }
+
+        assertEquals(3.0, meterRegistry.get("sheets.circuit.rejected").tag("operation", "read").counter().count());
+        assertEquals(0.0, meterRegistry.get("sheets.quota.rejected").tag("operation", "read").tag("priority", "user_read").counter().count());
+        assertEquals(1.0, meterRegistry.get("sheets.quota.tokens").tag("bucket", "read").gauge().value(), 0.01);
+    }
+
+    @Test
+    void execute_shouldKeepReserveForUserReadsFromBackgroundReads() throws Exception {
+        properties.getQuota().setEnabled(true);
+        properties.getQuota().setReadRequestsPerWindow(4);
+        properties.getQuota().setBackgroundReserve(0.5);
+        properties.getQuota().setMaxWait(Duration.ZERO);
+        SheetsRequestExecutor executor = new SheetsRequestExecutor(meterRegistry, properties);
+        Sheets.Spreadsheets.Values.Get get = mock(Sheets.Spreadsheets.Values.Get.class);
+        when(get.execute()).thenReturn(new ValueRange());
+
+        executor.execute(SheetsOperation.READ, SheetsPriority.BACKGROUND, get);
+        executor.execute(SheetsOperation.READ, SheetsPriority.BACKGROUND, get);
+        assertThrows(SheetsRequestRejectedException.class, () -> executor.execute(SheetsOperation.READ, SheetsPriority.BACKGROUND, get));
+
+        assertNotNull(executor.execute(SheetsOperation.READ, SheetsPriority.USER_READ, get));
+        assertNotNull(executor.execute(SheetsOperation.READ, SheetsPriority.USER_READ, get));
+    }
+
+    @Test
+    void execute_shouldShareIdenticalReadsInFlight() throws Exception {
+        properties.getQuota().setCoalesceReads(true);
+        SheetsRequestExecutor executor = new SheetsRequestExecutor(meterRegistry, properties);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ValueRange tab = new ValueRange();
+        Sheets.Spreadsheets.Values.Get leader = mock(Sheets.Spreadsheets.Values.Get.class);
+        when(leader.buildHttpRequestUrl()).thenReturn(new GenericUrl("https://sheets.googleapis.com/v4/spreadsheets/id/values/tab"));
+        when(leader.execute()).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return tab;
+        });
+        Sheets.Spreadsheets.Values.Get follower = mock(Sheets.Spreadsheets.Values.Get.class);
+        when(follower.buildHttpRequestUrl()).thenReturn(new GenericUrl("https://sheets.googleapis.com/v4/spreadsheets/id/values/tab"));
+
+        CompletableFuture<ValueRange> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return executor.execute(SheetsOperation.READ, leader);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<ValueRange> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return executor.execute(SheetsOperation.READ, follower);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (meterRegistry.get("sheets.reads.coalesced").counter().count() < 1) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertSame(tab, first.get(5, TimeUnit.SECONDS));
+        assertSame(tab, second.get(5, TimeUnit.SECONDS));
+        verify(follower, times(0)).execute();
+    }
+
+    private static HttpResponseException httpError(int status) {
+        return new HttpResponseException.Builder(status, "Error " + status, new HttpHeaders()).build();
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.client.emulator;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.services.sheets.v4.Sheets;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.client.GoogleSheetsProperties;
+import org.example.client.SheetsRequestExecutor;
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+import org.example.repository.GoogleSheetsTicketRepository;
+import org.example.repository.TicketStore;
+import org.example.repository.snapshot.SnapshotProperties;
+import org.example.repository.wal.WalProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SheetsEmulatorTransportTest {
+
+    private static final String SPREADSHEET_ID = "sheet-id";
+    private static final String TAB_NAME = "List 1";
+
+    private SheetsEmulator emulator;
+    private SheetsEmulatorProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        emulator = new SheetsEmulator();
+        emulator.resetTab(TAB_NAME, List.of(SheetsEmulatorClient.HEADER));
+        properties = new SheetsEmulatorProperties();
+        properties.setLatency(Duration.ZERO);
+        properties.setJitter(Duration.ZERO);
+    }
+
+    @Test
+    void repository_shouldAppendUpdateAndReadThroughEmulator() throws Exception {
+        GoogleSheetsTicketRepository repository = repository(sheets());
+        TicketEntity ticket = TicketEntity.builder()
+                .id("AD-1")
+                .description("Printer is out of toner")
+                .status(TicketStatus.OPEN)
+                .createdAt(LocalDateTime.of(2024, 5, 1, 9, 0))
+                .build();
+
+        repository.saveTicket(ticket);
+        repository.saveTicket(ticket.toBuilder().status(TicketStatus.CLOSED).updatedAt(LocalDateTime.of(2024, 5, 2, 9, 0)).build());
+
+        assertEquals(2, emulator.rowCount(TAB_NAME));
+        TicketEntity reloaded = repository(sheets()).findById("AD-1");
+        assertEquals(TicketStatus.CLOSED, reloaded.getStatus());
+        assertEquals("Printer is out of toner", reloaded.getDescription());
+    }
+
+    @Test
+    void get_shouldTrimToRequestedRangeAndOmitTrailingEmptyCells() throws Exception {
+        emulator.update(TAB_NAME + "!A2:F3", List.of(
+                List.of("AD-1", "First", "", "OPEN", "2024-05-01T09:00"),
+                List.of("AD-2", "Second", "AD-1", "OPEN", "2024-05-01T10:00", "")));
+
+        ValueRange range = sheets().spreadsheets().values().get(SPREADSHEET_ID, TAB_NAME + "!A3:C").execute();
+
+        assertEquals("'List 1'!A3:C3", range.getRange());
+        assertEquals(List.of(List.of("AD-2", "Second", "AD-1")), range.getValues());
+    }
+
+    @Test
+    void execute_shouldAnswerTooManyRequestsOnceQuotaIsUsed() throws Exception {
+        properties.setReadRequestsPerWindow(1);
+        Sheets sheets = sheets();
+
+        sheets.spreadsheets().values().get(SPREADSHEET_ID, TAB_NAME).execute();
+        GoogleJsonResponseException exception = assertThrows(GoogleJsonResponseException.class,
+                () -> sheets.spreadsheets().values().get(SPREADSHEET_ID, TAB_NAME).execute());
+
+        assertEquals(429, exception.getStatusCode());
+        assertEquals("RESOURCE_EXHAUSTED", exception.getDetails().get("status"));
+    }
+
+    @Test
+    void execute_shouldInjectServerErrors() {
+        properties.setServerErrorRate(1.0);
+
+        GoogleJsonResponseException exception = assertThrows(GoogleJsonResponseException.class,
+                () -> sheets().spreadsheets().values().get(SPREADSHEET_ID, TAB_NAME).execute());
+
+        assertEquals(503, exception.getStatusCode());
+    }
+
+    private Sheets sheets() {
+        return new Sheets.Builder(new SheetsEmulatorTransport(emulator, properties, Clock.systemUTC()),
+                JacksonFactory.getDefaultInstance(), null)
+                .setApplicationName("test")
+                .build();
+    }
+
+    private GoogleSheetsTicketRepository repository(Sheets sheets) {
+        GoogleSheetsProperties sheetsProperties = new GoogleSheetsProperties();
+        sheetsProperties.setSpreadsheetId(SPREADSHEET_ID);
+        sheetsProperties.setTabName(TAB_NAME);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new GoogleSheetsTicketRepository(() -> sheets, new TicketStore(event -> { }, true), sheetsProperties, meterRegistry,
+                new WalProperties(), new SheetsRequestExecutor(meterRegistry, sheetsProperties), new SnapshotProperties());
+    }
+}
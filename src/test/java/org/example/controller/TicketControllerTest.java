@@ -1,26 +1,43 @@
 package org.example.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.CacheProperties;
 import org.example.dto.request.CreateTicketRequest;
 import org.example.dto.request.UpdateTicketRequest;
+import org.example.dto.response.TicketPageResponse;
 import org.example.dto.response.TicketResponse;
 import org.example.entity.TicketEntity;
 import org.example.enums.TicketStatus;
 import org.example.exception.TicketRepositoryException;
 import org.example.facade.TicketFacade;
+import org.example.facade.TicketListingCache;
 import org.example.mapper.TicketMapper;
 import org.example.mapper.TicketMapperImpl;
+import org.example.repository.TicketCursor;
 import org.example.service.ManageTicketsService;
+import org.example.service.TicketSearchIndex;
+import org.example.service.TicketStatistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,26 +46,32 @@ class TicketControllerTest {
     @Mock
     private ManageTicketsService ticketService;
 
+    @Mock
+    private TicketStatistics statistics;
+
+    @Mock
+    private TicketSearchIndex searchIndex;
+
     private TicketMapper mapper = new TicketMapperImpl();
     private TicketFacade ticketFacade;
     private TicketController controller;
 
     @BeforeEach
     void setUp() {
-        ticketFacade = new TicketFacade(mapper, ticketService);
-        controller = new TicketController(ticketFacade);
+        ticketFacade = new TicketFacade(mapper, ticketService, new TicketListingCache(ticketService, mapper, new CacheProperties(), new SimpleMeterRegistry(), Runnable::run), statistics, searchIndex);
+        controller = new TicketController(ticketFacade, new ObjectMapper().findAndRegisterModules());
     }
 
 
     @Test
-    void createTicket_shouldReturnResponse() throws TicketRepositoryException {
+    void createTicket_shouldReturnResponse() {
         CreateTicketRequest request = new CreateTicketRequest();
         request.setDescription("Test");
 
         TicketEntity entity = TicketEntity.builder().id("AD-1").description("Test").build();
-        when(ticketService.createTicket(request)).thenReturn(entity);
+        when(ticketService.createTicketAsync(request)).thenReturn(CompletableFuture.completedFuture(entity));
 
-        ResponseEntity<TicketResponse> result = controller.createTicket(request);
+        ResponseEntity<TicketResponse> result = controller.createTicket(request).join();
 
         assertEquals(HttpStatus.CREATED, result.getStatusCode());
         assertEquals("AD-1", result.getBody().getId());
@@ -56,7 +79,7 @@ class TicketControllerTest {
     }
 
     @Test
-    void updateTicket_shouldReturnUpdatedResponse() throws TicketRepositoryException {
+    void updateTicket_shouldReturnUpdatedResponse() {
         String ticketId = "AD-1";
         UpdateTicketRequest request = new UpdateTicketRequest();
         request.setStatus(TicketStatus.IN_PROGRESS);
@@ -66,11 +89,11 @@ class TicketControllerTest {
                 .status("IN_PROGRESS")
                 .build();
 
-        when(ticketService.updateTicket(ticketId, request)).thenReturn(
+        when(ticketService.updateTicketAsync(ticketId, request)).thenReturn(CompletableFuture.completedFuture(
                 TicketEntity.builder().id(ticketId).status(TicketStatus.IN_PROGRESS).build()
-        );
+        ));
 
-        ResponseEntity<TicketResponse> result = controller.updateTicket(ticketId, request);
+        ResponseEntity<TicketResponse> result = controller.updateTicket(ticketId, request).join();
 
         assertEquals(HttpStatus.OK, result.getStatusCode());
         assertEquals("IN_PROGRESS", result.getBody().getStatus());
@@ -82,7 +105,7 @@ class TicketControllerTest {
         TicketEntity entity = TicketEntity.builder().id("AD-1").status(TicketStatus.OPEN).build();
         when(ticketService.getTicketsByStatus(TicketStatus.OPEN)).thenReturn(List.of(entity));
 
-        ResponseEntity<List<TicketResponse>> result = controller.getTicketsByStatus(TicketStatus.OPEN);
+        ResponseEntity<List<TicketResponse>> result = controller.getTicketsByStatus(TicketStatus.OPEN).join();
 
         assertEquals(HttpStatus.OK, result.getStatusCode());
         assertEquals(1, result.getBody().size());
@@ -90,5 +113,49 @@ class TicketControllerTest {
         assertEquals("OPEN", result.getBody().get(0).getStatus());
     }
 
+    @Test
+    void getTicketsByStatusPage_shouldReturnCursorThatResumesAfterLastItem() throws TicketRepositoryException {
+        TicketEntity first = ticket("AD-1", LocalDateTime.of(2024, 5, 1, 9, 0));
+        TicketEntity second = ticket("AD-2", LocalDateTime.of(2024, 5, 1, 10, 0));
+        TicketEntity third = ticket("AD-3", LocalDateTime.of(2024, 5, 1, 11, 0));
+        when(ticketService.getTicketsByStatus(TicketStatus.OPEN, null, 3)).thenReturn(List.of(first, second, third));
+        when(ticketService.getTicketsByStatus(TicketStatus.OPEN, TicketCursor.of(second), 3)).thenReturn(List.of(third));
+
+        TicketPageResponse firstPage = controller.getTicketsByStatusPage(TicketStatus.OPEN, 2, null).getBody();
+        TicketPageResponse secondPage = controller.getTicketsByStatusPage(TicketStatus.OPEN, 2, firstPage.getNextCursor()).getBody();
+
+        assertEquals(List.of("AD-1", "AD-2"), firstPage.getItems().stream().map(TicketResponse::getId).toList());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(List.of("AD-3"), secondPage.getItems().stream().map(TicketResponse::getId).toList());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void getTicketsByStatusPage_shouldRejectInvalidLimitAndCursor() {
+        assertThrows(IllegalArgumentException.class, () -> controller.getTicketsByStatusPage(TicketStatus.OPEN, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> controller.getTicketsByStatusPage(TicketStatus.OPEN, 10, "not a cursor"));
+    }
+
+    @Test
+    void streamTicketsByStatus_shouldWriteOneJsonLinePerTicket() throws Exception {
+        TicketEntity first = ticket("AD-1", LocalDateTime.of(2024, 5, 1, 9, 0));
+        TicketEntity second = ticket("AD-2", LocalDateTime.of(2024, 5, 1, 10, 0));
+        when(ticketService.getTicketsByStatus(eq(TicketStatus.OPEN), isNull(), anyInt())).thenReturn(List.of(first, second));
+
+        ResponseEntity<StreamingResponseBody> result = controller.streamTicketsByStatus(TicketStatus.OPEN);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        result.getBody().writeTo(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(MediaType.APPLICATION_NDJSON, result.getHeaders().getContentType());
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":\"AD-1\""));
+        assertTrue(lines[1].contains("\"id\":\"AD-2\""));
+    }
+
+    private TicketEntity ticket(String id, LocalDateTime createdAt) {
+        return TicketEntity.builder().id(id).description("Test").status(TicketStatus.OPEN).createdAt(createdAt).build();
+    }
+
 
 }
@@ -5,9 +5,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +33,26 @@ class GlobalExceptionHandlerTest {
         assertEquals("An unexpected error occurred. Please try again later.", response.getBody());
     }
 
+    @Test
+    void shouldAnswerServiceUnavailableWhenSheetsRejectsRequest() {
+        TicketRepositoryException ex = new TicketRepositoryException("Failed to write ticket to database",
+                new SheetsRequestRejectedException("The Sheets circuit breaker is open", Duration.ofMillis(12_500)));
+
+        ResponseEntity<String> response = handler.handleRepositoryError(ex);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("12", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void shouldHandleOtherRepositoryErrorsAsServerError() {
+        TicketRepositoryException ex = new TicketRepositoryException("Failed", new IllegalStateException("Boom"));
+
+        ResponseEntity<String> response = handler.handleRepositoryError(ex);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+    }
+
     @Test
     void shouldHandleEntityNotFoundException() {
         EntityNotFoundException ex = new EntityNotFoundException("Ticket not found");
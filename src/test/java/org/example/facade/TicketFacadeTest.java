@@ -1,15 +1,22 @@
 package org.example.facade;
 
 import jakarta.persistence.EntityNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.CacheProperties;
 import org.example.dto.request.CreateTicketRequest;
 import org.example.dto.request.UpdateTicketRequest;
 import org.example.dto.response.TicketResponse;
+import org.example.dto.response.TicketRollupResponse;
 import org.example.entity.TicketEntity;
 import org.example.enums.TicketStatus;
 import org.example.exception.TicketRepositoryException;
 import org.example.mapper.TicketMapper;
 import org.example.mapper.TicketMapperImpl;
+import org.example.repository.event.TicketChangedEvent;
+import org.example.repository.event.TicketsReloadedEvent;
 import org.example.service.ManageTicketsService;
+import org.example.service.TicketSearchIndex;
+import org.example.service.TicketStatistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,9 +26,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.example.enums.TicketStatus.OPEN;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,15 +40,24 @@ public class TicketFacadeTest {
     @Mock
     private ManageTicketsService ticketService;
 
+    @Mock
+    private TicketStatistics statistics;
+
+    @Mock
+    private TicketSearchIndex searchIndex;
+
     private TicketMapper mapper = Mappers.getMapper(TicketMapper.class);
 
     @InjectMocks
     private TicketFacade facade;
 
+    private TicketListingCache listingCache;
+
     @BeforeEach
     void setUp() {
         mapper = new TicketMapperImpl();
-        facade = new TicketFacade(mapper, ticketService);
+        listingCache = new TicketListingCache(ticketService, mapper, new CacheProperties(), new SimpleMeterRegistry(), Runnable::run);
+        facade = new TicketFacade(mapper, ticketService, listingCache, statistics, searchIndex);
     }
 
 
@@ -57,6 +76,20 @@ public class TicketFacadeTest {
         assertEquals("Test", result.getDescription());
     }
 
+    @Test
+    void getSubtreeRollup_shouldCountEveryStatus() throws TicketRepositoryException {
+        when(ticketService.getSubtree("AD-1")).thenReturn(List.of(
+                TicketEntity.builder().id("AD-1").status(TicketStatus.IN_PROGRESS).build(),
+                TicketEntity.builder().id("AD-2").parentId("AD-1").status(OPEN).build(),
+                TicketEntity.builder().id("AD-3").parentId("AD-1").status(OPEN).build()
+        ));
+
+        TicketRollupResponse rollup = facade.getSubtreeRollup("AD-1");
+
+        assertEquals(3, rollup.getTotal());
+        assertEquals(Map.of(OPEN, 2, TicketStatus.IN_PROGRESS, 1, TicketStatus.CLOSED, 0), rollup.getByStatus());
+    }
+
     @Test
     void updateTicket_shouldReturnUpdatedResponse() throws TicketRepositoryException {
         String ticketId = "AD-1";
@@ -103,4 +136,43 @@ public class TicketFacadeTest {
         assertEquals("AD-1", result.get(0).getId());
     }
 
+    @Test
+    void getTicketsByStatus_shouldServeCachedListingUntilStatusChanges() throws TicketRepositoryException {
+        TicketEntity existing = TicketEntity.builder().id("AD-1").status(OPEN).build();
+        TicketEntity created = TicketEntity.builder().id("AD-2").status(OPEN).build();
+        TicketEntity closed = TicketEntity.builder().id("AD-3").status(TicketStatus.CLOSED).build();
+
+        when(ticketService.getTicketsByStatus(OPEN)).thenReturn(List.of(existing), List.of(existing, created));
+
+        List<TicketResponse> first = facade.getTicketsByStatus(OPEN);
+        listingCache.onTicketChanged(new TicketChangedEvent(null, closed, true));
+        List<TicketResponse> second = facade.getTicketsByStatus(OPEN);
+        listingCache.onTicketChanged(new TicketChangedEvent(null, created, true));
+        List<TicketResponse> third = facade.getTicketsByStatus(OPEN);
+
+        assertSame(first, second);
+        assertEquals(2, third.size());
+        verify(ticketService, times(2)).getTicketsByStatus(OPEN);
+    }
+
+    @Test
+    void getTicketsByStatus_shouldIgnoreChangesOfSheetsMirror() throws TicketRepositoryException {
+        TicketEntity existing = TicketEntity.builder().id("AD-1").status(OPEN).build();
+        when(ticketService.getTicketsByStatus(OPEN)).thenReturn(List.of(existing));
+
+        List<TicketResponse> first = facade.getTicketsByStatus(OPEN);
+        listingCache.onTicketChanged(new TicketChangedEvent(null, TicketEntity.builder().id("AD-2").status(OPEN).build(), false));
+        listingCache.onTicketsReloaded(new TicketsReloadedEvent(2, false));
+
+        assertSame(first, facade.getTicketsByStatus(OPEN));
+        verify(ticketService, times(1)).getTicketsByStatus(OPEN);
+    }
+
+    @Test
+    void getTicketsByStatus_shouldPropagateLoadFailure() throws TicketRepositoryException {
+        when(ticketService.getTicketsByStatus(OPEN)).thenThrow(new TicketRepositoryException("Unavailable", null));
+
+        assertThrows(TicketRepositoryException.class, () -> facade.getTicketsByStatus(OPEN));
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,437 @@
+package org.example.repository;
+
+import com.google.api.services.sheets.v4.Sheets;
+import com.google.api.services.sheets.v4.model.AppendValuesResponse;
+import com.google.api.services.sheets.v4.model.BatchUpdateValuesRequest;
+import com.google.api.services.sheets.v4.model.UpdateValuesResponse;
+import com.google.api.services.sheets.v4.model.ValueRange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.client.GoogleSheetsProperties;
+import org.example.client.SheetsRequestExecutor;
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+import org.example.exception.TicketRepositoryException;
+import org.example.repository.snapshot.SnapshotProperties;
+import org.example.repository.wal.FsyncPolicy;
+import org.example.repository.wal.TicketWriteAheadLog;
+import org.example.repository.wal.WalProperties;
+import org.example.repository.wal.WalRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GoogleSheetsTicketRepositoryTest {
+
+    private static final String SPREADSHEET_ID = "sheet-id";
+    private static final String TAB_NAME = "List 1";
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private Sheets sheets;
+
+    private TicketStore ticketStore;
+    private GoogleSheetsProperties properties;
+    private GoogleSheetsTicketRepository repository;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GoogleSheetsProperties();
+        properties.setSpreadsheetId(SPREADSHEET_ID);
+        properties.setTabName(TAB_NAME);
+
+        ticketStore = new TicketStore(event -> { }, true);
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new GoogleSheetsTicketRepository(() -> sheets, ticketStore, properties, meterRegistry, new WalProperties(),
+                new SheetsRequestExecutor(meterRegistry, properties), new SnapshotProperties());
+    }
+
+    @Test
+    void findById_shouldReturnLastRowForDuplicatedId() throws Exception {
+        givenRows(
+                row("AD-1", "OPEN"),
+                row("AD-1", "CLOSED")
+        );
+
+        TicketEntity ticket = repository.findById("AD-1");
+
+        assertEquals(TicketStatus.CLOSED, ticket.getStatus());
+        assertEquals(1, meterRegistry.get("sheets.requests").tag("operation", "read").tag("outcome", "success").timer().count());
+        assertEquals(3.0, meterRegistry.get("sheets.rows").tag("operation", "read").summary().totalAmount());
+    }
+
+    @Test
+    void findAll_shouldSkipInvalidRows() throws Exception {
+        givenRows(
+                row("AD-1", "OPEN"),
+                row("AD-2", "DONE"),
+                List.of(),
+                row("AD-3", "CLOSED")
+        );
+
+        List<TicketEntity> tickets = repository.findAll();
+
+        assertEquals(List.of("AD-1", "AD-3"), tickets.stream().map(TicketEntity::getId).sorted().toList());
+        assertEquals(1.0, meterRegistry.get("sheets.rows.invalid").counter().count());
+    }
+
+    @Test
+    void saveTicket_shouldUpdateExistingRowInPlace() throws Exception {
+        givenRows(
+                row("AD-1", "OPEN"),
+                row("AD-2", "OPEN")
+        );
+        when(sheets.spreadsheets().values().update(eq(SPREADSHEET_ID), eq(TAB_NAME + "!A3:F3"), any(ValueRange.class))
+                .setValueInputOption("RAW")
+                .execute()).thenReturn(new UpdateValuesResponse());
+
+        TicketEntity ticket = repository.findById("AD-2");
+        ticket.setStatus(TicketStatus.CLOSED);
+        ticket.setUpdatedAt(LocalDateTime.now());
+        repository.saveTicket(ticket);
+
+        verify(sheets.spreadsheets().values(), never()).append(any(), any(), any());
+        assertEquals(TicketStatus.CLOSED, repository.findById("AD-2").getStatus());
+    }
+
+    @Test
+    void saveTicket_shouldAppendNewTicketAndUpdateItAfterwards() throws Exception {
+        givenRows();
+        when(sheets.spreadsheets().values().append(eq(SPREADSHEET_ID), eq(TAB_NAME + "!A1"), any(ValueRange.class))
+                .setValueInputOption("RAW")
+                .setInsertDataOption("INSERT_ROWS")
+                .execute()).thenReturn(appendedAt(TAB_NAME + "!A2:F2"));
+        when(sheets.spreadsheets().values().update(eq(SPREADSHEET_ID), eq(TAB_NAME + "!A2:F2"), any(ValueRange.class))
+                .setValueInputOption("RAW")
+                .execute()).thenReturn(new UpdateValuesResponse());
+
+        TicketEntity ticket = newTicket("AD-1");
+        repository.saveTicket(ticket);
+
+        ticket.setStatus(TicketStatus.IN_PROGRESS);
+        repository.saveTicket(ticket);
+
+        assertEquals(TicketStatus.IN_PROGRESS, repository.findById("AD-1").getStatus());
+        assertEquals(1, repository.findAll().size());
+    }
+
+    @Test
+    void saveTicket_shouldLogWriteAsPendingUntilSheetsConfirmsIt(@TempDir Path directory) throws Exception {
+        WalProperties walProperties = walProperties(directory);
+        givenRows(row("AD-1", "OPEN"));
+        List<WalRecord> unflushedDuringWrite = new ArrayList<>();
+        when(sheets.spreadsheets().values().update(eq(SPREADSHEET_ID), eq(TAB_NAME + "!A2:F2"), any(ValueRange.class))
+                .setValueInputOption("RAW")
+                .execute()).thenAnswer(invocation -> {
+                    unflushedDuringWrite.addAll(unflushed(walProperties));
+                    return new UpdateValuesResponse();
+                });
+        GoogleSheetsTicketRepository logged = new GoogleSheetsTicketRepository(() -> sheets, ticketStore, properties,
+                meterRegistry, walProperties, new SheetsRequestExecutor(meterRegistry, properties), new SnapshotProperties());
+        logged.start();
+
+        TicketEntity ticket = logged.findById("AD-1");
+        ticket.setStatus(TicketStatus.CLOSED);
+        logged.saveTicket(ticket);
+        logged.stop();
+
+        assertEquals(1, unflushedDuringWrite.size());
+        assertEquals(TicketStatus.CLOSED, unflushedDuringWrite.get(0).ticket().getStatus());
+        assertTrue(unflushed(walProperties).isEmpty());
+    }
+
+    @Test
+    void saveTicket_shouldNotReplayWriteThatSheetsRejected(@TempDir Path directory) throws Exception {
+        WalProperties walProperties = walProperties(directory);
+        givenRows(row("AD-1", "OPEN"));
+        when(sheets.spreadsheets().values().update(eq(SPREADSHEET_ID), eq(TAB_NAME + "!A2:F2"), any(ValueRange.class))
+                .setValueInputOption("RAW")
+                .execute()).thenThrow(new IOException("Unavailable"));
+        GoogleSheetsTicketRepository logged = new GoogleSheetsTicketRepository(() -> sheets, ticketStore, properties,
+                meterRegistry, walProperties, new SheetsRequestExecutor(meterRegistry, properties), new SnapshotProperties());
+        logged.start();
+
+        TicketEntity ticket = logged.findById("AD-1");
+        ticket.setStatus(TicketStatus.CLOSED);
+        assertThrows(TicketRepositoryException.class, () -> logged.saveTicket(ticket));
+        logged.stop();
+
+        TicketStore restartedStore = new TicketStore(event -> { }, true);
+        GoogleSheetsTicketRepository restarted = new GoogleSheetsTicketRepository(() -> sheets, restartedStore, properties,
+                meterRegistry, walProperties, new SheetsRequestExecutor(meterRegistry, properties), new SnapshotProperties());
+        restarted.start();
+        restarted.stop();
+
+        assertEquals(TicketStatus.OPEN, restartedStore.findById("AD-1").getStatus());
+        assertTrue(unflushed(walProperties).isEmpty());
+    }
+
+    @Test
+    void saveTicket_writeBehind_shouldAppendQueuedTicketsInOneCall() throws Exception {
+        givenRows();
+        properties.getWriteBehind().setEnabled(true);
+        properties.getWriteBehind().setBatchSize(2);
+        properties.getWriteBehind().setFlushInterval(Duration.ofSeconds(5));
+        when(sheets.spreadsheets().values().append(eq(SPREADSHEET_ID), eq(TAB_NAME + "!A1"), any(ValueRange.class))
+                .setValueInputOption("RAW")
+                .setInsertDataOption("INSERT_ROWS")
+                .execute()).thenReturn(appendedAt(TAB_NAME + "!A2:F3"));
+
+        repository.start();
+        try {
+            repository.saveTicket(newTicket("AD-1"));
+            repository.saveTicket(newTicket("AD-2"));
+
+            assertEquals(2, repository.findAll().size());
+            ArgumentCaptor<ValueRange> body = ArgumentCaptor.forClass(ValueRange.class);
+            verify(sheets.spreadsheets().values(), timeout(2000)).append(eq(SPREADSHEET_ID), eq(TAB_NAME + "!A1"), body.capture());
+            assertEquals(2, body.getValue().getValues().size());
+        } finally {
+            repository.stop();
+        }
+    }
+
+    @Test
+    void saveAll_shouldWriteBatchWithOneUpdateAndOneAppend() throws Exception {
+        givenRows(row("AD-1", "OPEN"));
+        when(sheets.spreadsheets().values().append(eq(SPREADSHEET_ID), eq(TAB_NAME + "!A1"), any(ValueRange.class))
+                .setValueInputOption("RAW")
+                .setInsertDataOption("INSERT_ROWS")
+                .execute()).thenReturn(appendedAt(TAB_NAME + "!A3:F4"));
+
+        TicketEntity existing = repository.findById("AD-1");
+        existing.setStatus(TicketStatus.CLOSED);
+        repository.saveAll(List.of(existing, newTicket("AD-2"), newTicket("AD-3")));
+
+        ArgumentCaptor<BatchUpdateValuesRequest> updates = ArgumentCaptor.forClass(BatchUpdateValuesRequest.class);
+        verify(sheets.spreadsheets().values()).batchUpdate(eq(SPREADSHEET_ID), updates.capture());
+        assertEquals(List.of(TAB_NAME + "!A2:F2"), updates.getValue().getData().stream().map(ValueRange::getRange).toList());
+        ArgumentCaptor<ValueRange> appended = ArgumentCaptor.forClass(ValueRange.class);
+        verify(sheets.spreadsheets().values()).append(eq(SPREADSHEET_ID), eq(TAB_NAME + "!A1"), appended.capture());
+        assertEquals(2, appended.getValue().getValues().size());
+        assertEquals(TicketStatus.CLOSED, repository.findById("AD-1").getStatus());
+        assertEquals(3, repository.findAll().size());
+    }
+
+    @Test
+    void syncAppendedRows_shouldFetchOnlyRowsBelowLastKnownRow() throws Exception {
+        givenRows(
+                row("AD-1", "OPEN"),
+                row("AD-2", "OPEN")
+        );
+        repository.findAll();
+        when(sheets.spreadsheets().values().get(SPREADSHEET_ID, TAB_NAME + "!A4:F").execute())
+                .thenReturn(new ValueRange().setValues(List.of(row("AD-3", "IN_PROGRESS"))));
+
+        int applied = repository.syncAppendedRows();
+
+        assertEquals(1, applied);
+        assertEquals(TicketStatus.IN_PROGRESS, repository.findById("AD-3").getStatus());
+        assertEquals(3, repository.findAll().size());
+    }
+
+    @Test
+    void syncAppendedRows_shouldFetchRowsAppendedWhileDownAfterWriteAheadLogWasReplayed(@TempDir Path directory) throws Exception {
+        WalProperties walProperties = walProperties(directory);
+        try (TicketWriteAheadLog wal = new TicketWriteAheadLog(walProperties)) {
+            wal.replay(record -> { });
+            wal.appendAll(List.of(loggedTicket("AD-1"), loggedTicket("AD-3")));
+        }
+        when(sheets.spreadsheets().values().get(SPREADSHEET_ID, TAB_NAME + "!A:A").execute())
+                .thenReturn(new ValueRange().setValues(List.of(List.of("ID"), List.of("AD-1"), List.of("AD-2"), List.of("AD-3"))));
+        when(sheets.spreadsheets().values().get(SPREADSHEET_ID, TAB_NAME + "!A3:F").execute())
+                .thenReturn(new ValueRange().setValues(List.of(row("AD-2", "IN_PROGRESS"), row("AD-3", "OPEN"))));
+        GoogleSheetsTicketRepository restored = new GoogleSheetsTicketRepository(() -> sheets, ticketStore, properties,
+                meterRegistry, walProperties, new SheetsRequestExecutor(meterRegistry, properties), new SnapshotProperties());
+        restored.start();
+
+        assertEquals(1, restored.syncAppendedRows());
+        assertEquals(TicketStatus.IN_PROGRESS, ticketStore.findById("AD-2").getStatus());
+        assertEquals(3, ticketStore.size());
+        restored.stop();
+    }
+
+    @Test
+    void reconcile_shouldApplyRowsEditedOrRemovedInSheet() throws Exception {
+        givenRows(
+                row("AD-1", "OPEN"),
+                row("AD-2", "OPEN"),
+                row("AD-3", "OPEN")
+        );
+        repository.findAll();
+        givenRows(
+                row("AD-1", "OPEN"),
+                row("AD-3", "CLOSED")
+        );
+
+        int applied = repository.reconcile();
+
+        assertEquals(2, applied);
+        assertNull(repository.findById("AD-2"));
+        assertEquals(TicketStatus.CLOSED, repository.findById("AD-3").getStatus());
+        assertEquals(TicketStatus.OPEN, repository.findById("AD-1").getStatus());
+    }
+
+    @Test
+    void reconcile_shouldApplyRowsEditedBeforeWriteAheadLogWasReplayed(@TempDir Path directory) throws Exception {
+        WalProperties walProperties = walProperties(directory);
+        try (TicketWriteAheadLog wal = new TicketWriteAheadLog(walProperties)) {
+            wal.replay(record -> { });
+            wal.appendAll(List.of(loggedTicket("AD-1"), loggedTicket("AD-2")));
+        }
+        givenRows(
+                row("AD-1", "OPEN"),
+                row("AD-2", "CLOSED")
+        );
+        GoogleSheetsTicketRepository restored = new GoogleSheetsTicketRepository(() -> sheets, ticketStore, properties,
+                meterRegistry, walProperties, new SheetsRequestExecutor(meterRegistry, properties), new SnapshotProperties());
+        restored.start();
+
+        assertTrue(ticketStore.isLoaded());
+        assertEquals(1, restored.reconcile());
+        assertEquals(TicketStatus.CLOSED, restored.findById("AD-2").getStatus());
+        assertEquals(TicketStatus.OPEN, restored.findById("AD-1").getStatus());
+        assertEquals(0, restored.reconcile());
+        restored.stop();
+    }
+
+    @Test
+    void reconcile_shouldRemoveRestoredTicketsWhoseRowIsGoneAndLogTheRemoval(@TempDir Path directory) throws Exception {
+        WalProperties walProperties = walProperties(directory);
+        try (TicketWriteAheadLog wal = new TicketWriteAheadLog(walProperties)) {
+            wal.replay(record -> { });
+            wal.appendAll(List.of(loggedTicket("AD-1"), loggedTicket("AD-2")));
+        }
+        givenRows(row("AD-1", "OPEN"));
+        GoogleSheetsTicketRepository restored = new GoogleSheetsTicketRepository(() -> sheets, ticketStore, properties,
+                meterRegistry, walProperties, new SheetsRequestExecutor(meterRegistry, properties), new SnapshotProperties());
+        restored.start();
+
+        assertEquals(1, restored.reconcile());
+        assertNull(ticketStore.findById("AD-2"));
+        restored.stop();
+
+        TicketStore restartedStore = new TicketStore(event -> { }, true);
+        GoogleSheetsTicketRepository restarted = new GoogleSheetsTicketRepository(() -> sheets, restartedStore, properties,
+                meterRegistry, walProperties, new SheetsRequestExecutor(meterRegistry, properties), new SnapshotProperties());
+        restarted.start();
+
+        assertTrue(restartedStore.isLoaded());
+        assertEquals(1, restartedStore.size());
+        assertNull(restartedStore.findById("AD-2"));
+        restarted.stop();
+    }
+
+    @Test
+    void start_shouldRestoreSnapshotAndReconcileInBackground(@TempDir Path directory) throws Exception {
+        SnapshotProperties snapshotProperties = new SnapshotProperties();
+        snapshotProperties.setEnabled(true);
+        snapshotProperties.setPath(directory.resolve("tickets.snapshot").toString());
+        givenRows(
+                row("AD-1", "OPEN"),
+                row("AD-2", "OPEN")
+        );
+        GoogleSheetsTicketRepository writer = new GoogleSheetsTicketRepository(() -> sheets, ticketStore, properties,
+                meterRegistry, new WalProperties(), new SheetsRequestExecutor(meterRegistry, properties), snapshotProperties);
+        writer.findAll();
+        assertEquals(2, writer.writeSnapshot());
+        givenRows(
+                row("AD-1", "OPEN"),
+                row("AD-2", "CLOSED")
+        );
+
+        TicketStore restoredStore = new TicketStore(event -> { }, true);
+        GoogleSheetsTicketRepository restored = new GoogleSheetsTicketRepository(() -> sheets, restoredStore, properties,
+                meterRegistry, new WalProperties(), new SheetsRequestExecutor(meterRegistry, properties), snapshotProperties);
+        restored.start();
+
+        assertTrue(restoredStore.isLoaded());
+        assertEquals(2, restoredStore.size());
+        long deadline = System.currentTimeMillis() + 2000;
+        while (restoredStore.findById("AD-2").getStatus() != TicketStatus.CLOSED && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(TicketStatus.CLOSED, restored.findById("AD-2").getStatus());
+        assertEquals(TicketStatus.OPEN, restored.findById("AD-1").getStatus());
+    }
+
+    @Test
+    void findAll_shouldWrapSheetsFailure() throws Exception {
+        when(sheets.spreadsheets().values().get(SPREADSHEET_ID, TAB_NAME).execute())
+                .thenThrow(new IOException("Unavailable"));
+
+        assertThrows(TicketRepositoryException.class, () -> repository.findAll());
+    }
+
+    private static WalProperties walProperties(Path directory) {
+        WalProperties walProperties = new WalProperties();
+        walProperties.setEnabled(true);
+        walProperties.setDirectory(directory.toString());
+        walProperties.setFsyncPolicy(FsyncPolicy.PER_WRITE);
+        return walProperties;
+    }
+
+    private static List<WalRecord> unflushed(WalProperties walProperties) throws IOException {
+        List<WalRecord> records = new ArrayList<>();
+        try (TicketWriteAheadLog wal = new TicketWriteAheadLog(walProperties)) {
+            wal.replay(records::add);
+            records.removeIf(record -> !wal.isUnflushed(record));
+        }
+        return records;
+    }
+
+    @SafeVarargs
+    private void givenRows(List<Object>... rows) throws IOException {
+        List<List<Object>> values = new ArrayList<>();
+        values.add(List.of("ID", "Description", "Parent ID", "Status", "Created At", "Updated At"));
+        values.addAll(List.of(rows));
+        when(sheets.spreadsheets().values().get(SPREADSHEET_ID, TAB_NAME).execute())
+                .thenReturn(new ValueRange().setValues(values));
+    }
+
+    private TicketEntity newTicket(String id) {
+        return TicketEntity.builder()
+                .id(id)
+                .description("Test")
+                .status(TicketStatus.OPEN)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private TicketEntity loggedTicket(String id) {
+        return TicketEntity.builder()
+                .id(id)
+                .description("Test")
+                .status(TicketStatus.OPEN)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 10, 0))
+                .build();
+    }
+
+    private List<Object> row(String id, String status) {
+        return List.of(id, "Test", "", status, "2024-01-01T10:00", "");
+    }
+
+    private AppendValuesResponse appendedAt(String range) {
+        return new AppendValuesResponse().setUpdates(new UpdateValuesResponse().setUpdatedRange(range));
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.repository;
+
+import jakarta.persistence.EntityManager;
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+import org.example.exception.TicketRepositoryException;
+import org.example.repository.event.TicketChangedEvent;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JpaTicketRepositoryTest {
+
+    @Mock
+    private TicketJpaRepository jpaRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ObjectProvider<TicketChangeLog> changeLog;
+
+    @Mock
+    private TicketChangeLog recorder;
+
+    private JpaTicketRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new JpaTicketRepository(jpaRepository, entityManager, new TransactionTemplate(transactionManager),
+                eventPublisher, changeLog);
+    }
+
+    @Test
+    void saveAll_shouldPersistNewAndMergeKnownTicketsInOneTransaction() throws TicketRepositoryException {
+        TicketEntity stored = ticket("AD-1", TicketStatus.OPEN);
+        TicketEntity update = ticket("AD-1", TicketStatus.CLOSED);
+        TicketEntity created = ticket("AD-2", TicketStatus.OPEN);
+        when(jpaRepository.findAllById(List.of("AD-1", "AD-2"))).thenReturn(List.of(stored));
+        when(entityManager.merge(update)).thenReturn(update);
+
+        List<TicketEntity> saved = repository.saveAll(List.of(update, created));
+
+        assertEquals(List.of(update, created), saved);
+        verify(entityManager).persist(created);
+        verify(entityManager, never()).persist(update);
+        verify(transactionManager).commit(any());
+        verify(eventPublisher).publishEvent(new TicketChangedEvent(stored, update, true));
+        verify(eventPublisher).publishEvent(new TicketChangedEvent(null, created, true));
+    }
+
+    @Test
+    void saveTicket_shouldRecordChangeButImportShouldNot() throws TicketRepositoryException {
+        TicketEntity stored = ticket("AD-1", TicketStatus.OPEN);
+        TicketEntity update = ticket("AD-1", TicketStatus.CLOSED);
+        TicketEntity imported = ticket("AD-2", TicketStatus.OPEN);
+        when(changeLog.getIfAvailable()).thenReturn(recorder);
+        when(jpaRepository.findAllById(List.of("AD-1"))).thenReturn(List.of(stored));
+        when(entityManager.merge(update)).thenReturn(update);
+
+        repository.saveTicket(update);
+        repository.importAll(List.of(imported));
+
+        verify(recorder).record(ticket("AD-1", TicketStatus.OPEN), update);
+        verify(recorder, never()).record(any(), eq(imported));
+        verify(entityManager).persist(imported);
+    }
+
+    @Test
+    void saveTicket_shouldWrapFailureAndPublishNothing() {
+        TicketEntity ticket = ticket("AD-1", TicketStatus.OPEN);
+        when(jpaRepository.findAllById(List.of("AD-1"))).thenReturn(List.of());
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(entityManager).persist(ticket);
+
+        assertThrows(TicketRepositoryException.class, () -> repository.saveTicket(ticket));
+        verify(transactionManager).rollback(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void findByStatus_shouldResumeAfterCursor() throws TicketRepositoryException {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+        repository.findByStatus(TicketStatus.OPEN, null, 10);
+        repository.findByStatus(TicketStatus.OPEN, new TicketCursor(createdAt, "AD-1"), 10);
+
+        verify(jpaRepository).findByStatusOrderByCreatedAtAscIdAsc(TicketStatus.OPEN, PageRequest.of(0, 10));
+        verify(jpaRepository).findByStatusAfter(TicketStatus.OPEN, createdAt, "AD-1", PageRequest.of(0, 10));
+    }
+
+    @Test
+    void migrations_shouldCreateIndexedTicketsTable() throws SQLException {
+        String url = "jdbc:h2:mem:migrations;DB_CLOSE_DELAY=-1";
+        Flyway.configure().dataSource(url, "sa", "").locations("classpath:db/migration").load().migrate();
+
+        Set<String> indexedColumns = new HashSet<>();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             ResultSet indexes = connection.getMetaData().getIndexInfo(null, "PUBLIC", "TICKETS", false, false)) {
+            while (indexes.next()) {
+                if (indexes.getInt("ORDINAL_POSITION") == 1) {
+                    indexedColumns.add(indexes.getString("COLUMN_NAME"));
+                }
+            }
+        }
+
+        assertTrue(indexedColumns.containsAll(Set.of("ID", "STATUS", "PARENT_ID", "CREATED_AT")), indexedColumns.toString());
+    }
+
+    private TicketEntity ticket(String id, TicketStatus status) {
+        return TicketEntity.builder()
+                .id(id)
+                .description("Test")
+                .status(status)
+                .createdAt(LocalDateTime.of(2024, 5, 1, 9, 0))
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.entity.TicketEntity;
+import org.example.entity.TicketReplicationEntry;
+import org.example.enums.TicketStatus;
+import org.example.exception.TicketRepositoryException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SheetsReplicatorTest {
+
+    @Mock
+    private JpaTicketRepository localRepository;
+
+    @Mock
+    private GoogleSheetsTicketRepository sheetsRepository;
+
+    @Mock
+    private TicketReplicationLogRepository replicationLog;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SheetsReplicator replicator;
+
+    @BeforeEach
+    void setUp() {
+        ReplicationProperties properties = new ReplicationProperties();
+        properties.setInitialBackoff(Duration.ofMinutes(1));
+        meterRegistry = new SimpleMeterRegistry();
+        replicator = new SheetsReplicator(localRepository, sheetsRepository, replicationLog, properties, meterRegistry);
+    }
+
+    @Test
+    void replicate_shouldSeedEmptyDatabaseFromSheet() throws TicketRepositoryException {
+        List<TicketEntity> sheet = List.of(ticket("AD-1", TicketStatus.OPEN));
+        when(localRepository.isEmpty()).thenReturn(true);
+        when(sheetsRepository.findAll()).thenReturn(sheet);
+        when(replicationLog.findAllByOrderBySeqAsc(any())).thenReturn(List.of());
+
+        replicator.replicate();
+        replicator.replicate();
+
+        verify(localRepository).importAll(sheet);
+        verify(localRepository, times(1)).isEmpty();
+    }
+
+    @Test
+    void replicate_shouldMirrorLatestVersionOnceAndCheckpoint() throws TicketRepositoryException {
+        TicketEntity original = ticket("AD-1", TicketStatus.OPEN);
+        TicketEntity latest = ticket("AD-1", TicketStatus.CLOSED);
+        TicketEntity mirrored = ticket("AD-2", TicketStatus.OPEN);
+        when(localRepository.isEmpty()).thenReturn(false);
+        when(replicationLog.findAllByOrderBySeqAsc(any())).thenReturn(List.of(
+                entry(1, "AD-1", original),
+                entry(2, "AD-1", ticket("AD-1", TicketStatus.IN_PROGRESS)),
+                entry(3, "AD-2", null)
+        ));
+        when(localRepository.findAllById(Set.of("AD-1", "AD-2"))).thenReturn(List.of(latest, mirrored));
+        when(sheetsRepository.rowChecksum("AD-1")).thenReturn(GoogleSheetsTicketRepository.checksum(original));
+        when(sheetsRepository.rowChecksum("AD-2")).thenReturn(GoogleSheetsTicketRepository.checksum(mirrored));
+
+        assertEquals(1, replicator.replicate());
+
+        verify(sheetsRepository).saveAll(List.of(latest));
+        verify(replicationLog).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+        assertEquals(0, meterRegistry.counter("tickets.replication.conflicts").count());
+    }
+
+    @Test
+    void replicate_shouldCountConflictWhenSheetWasEditedAndKeepLocalVersion() throws TicketRepositoryException {
+        TicketEntity original = ticket("AD-1", TicketStatus.OPEN);
+        TicketEntity local = ticket("AD-1", TicketStatus.CLOSED);
+        TicketEntity editedInSheet = ticket("AD-1", TicketStatus.IN_PROGRESS);
+        when(localRepository.isEmpty()).thenReturn(false);
+        when(replicationLog.findAllByOrderBySeqAsc(any())).thenReturn(List.of(entry(1, "AD-1", original)));
+        when(localRepository.findAllById(Set.of("AD-1"))).thenReturn(List.of(local));
+        when(sheetsRepository.rowChecksum("AD-1")).thenReturn(GoogleSheetsTicketRepository.checksum(editedInSheet));
+
+        replicator.replicate();
+
+        verify(sheetsRepository).saveAll(List.of(local));
+        assertEquals(1, meterRegistry.counter("tickets.replication.conflicts").count());
+    }
+
+    @Test
+    void run_shouldKeepBatchAndBackOffAfterFailure() throws TicketRepositoryException {
+        TicketEntity local = ticket("AD-1", TicketStatus.OPEN);
+        when(localRepository.isEmpty()).thenReturn(false);
+        when(replicationLog.findAllByOrderBySeqAsc(any())).thenReturn(List.of(entry(1, "AD-1", null)));
+        when(localRepository.findAllById(Set.of("AD-1"))).thenReturn(List.of(local));
+        doThrow(new TicketRepositoryException("Failed to write ticket to database", null))
+                .when(sheetsRepository).saveAll(List.of(local));
+
+        replicator.run();
+        replicator.run();
+
+        verify(sheetsRepository, times(1)).saveAll(any());
+        verify(replicationLog, never()).deleteAllByIdInBatch(any());
+        assertEquals(1, meterRegistry.counter("tickets.replication.failures").count());
+    }
+
+    private TicketReplicationEntry entry(long seq, String ticketId, TicketEntity base) {
+        return TicketReplicationEntry.builder()
+                .seq(seq)
+                .ticketId(ticketId)
+                .baseChecksum(base != null ? GoogleSheetsTicketRepository.checksum(base) : null)
+                .recordedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private TicketEntity ticket(String id, TicketStatus status) {
+        return TicketEntity.builder()
+                .id(id)
+                .description("Test")
+                .status(status)
+                .createdAt(LocalDateTime.of(2024, 5, 1, 9, 0))
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.client.GoogleSheetsProperties;
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+import org.example.repository.wal.FsyncPolicy;
+import org.example.repository.wal.TicketWriteAheadLog;
+import org.example.repository.wal.WalProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SheetsWriteBehindQueueTest {
+
+    private final List<String> written = new CopyOnWriteArrayList<>();
+
+    private GoogleSheetsProperties.WriteBehind settings;
+
+    private SheetsWriteBehindQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        settings = new GoogleSheetsProperties.WriteBehind();
+        settings.setBatchSize(10);
+        settings.setFlushInterval(Duration.ofMillis(20));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null) {
+            queue.close();
+        }
+    }
+
+    @Test
+    void enqueueRecovered_shouldNotWaitForCapacityBeforeFlusherRuns() throws Exception {
+        settings.setQueueCapacity(1);
+        queue = new SheetsWriteBehindQueue(settings, batch -> batch.forEach(ticket -> written.add(ticket.getId())),
+                null, new SimpleMeterRegistry());
+
+        queue.enqueueRecovered(ticket("AD-1"), 1);
+        queue.enqueueRecovered(ticket("AD-2"), 2);
+        queue.enqueueRecovered(ticket("AD-3"), 3);
+        queue.start();
+        queue.enqueue(ticket("AD-4"));
+
+        awaitWritten(4);
+        assertEquals(List.of("AD-1", "AD-2", "AD-3", "AD-4"), written);
+    }
+
+    @Test
+    void write_shouldNotCheckpointPastWriteThatIsStillQueued(@TempDir Path directory) throws Exception {
+        WalProperties walProperties = new WalProperties();
+        walProperties.setDirectory(directory.toString());
+        walProperties.setFsyncPolicy(FsyncPolicy.PER_WRITE);
+        settings.setBatchSize(1);
+        List<Long> checkpoints = new CopyOnWriteArrayList<>();
+        try (TicketWriteAheadLog wal = new TicketWriteAheadLog(walProperties)) {
+            wal.replay(record -> { });
+            queue = new SheetsWriteBehindQueue(settings, batch -> {
+                checkpoints.add(wal.getCheckpoint());
+                batch.forEach(ticket -> written.add(ticket.getId()));
+            }, wal, new SimpleMeterRegistry());
+
+            queue.enqueueRecovered(ticket("AD-1"), 5);
+            queue.enqueueRecovered(ticket("AD-2"), 2);
+            queue.start();
+            awaitWritten(2);
+            queue.close();
+            queue = null;
+
+            assertEquals(List.of(0L, 1L), checkpoints);
+            assertEquals(5, wal.getCheckpoint());
+        }
+    }
+
+    @Test
+    void enqueue_shouldKeepQueuedWriteWhenLogSyncFails() throws Exception {
+        TicketWriteAheadLog wal = mock(TicketWriteAheadLog.class);
+        when(wal.write(any(), anyBoolean())).thenReturn(1L);
+        doThrow(new IOException("closed")).when(wal).awaitDurable(anyLong());
+        queue = new SheetsWriteBehindQueue(settings, batch -> batch.forEach(ticket -> written.add(ticket.getId())),
+                wal, new SimpleMeterRegistry());
+
+        assertDoesNotThrow(() -> queue.enqueue(ticket("AD-1")));
+        assertTrue(queue.isQueued("AD-1"));
+        queue.start();
+
+        awaitWritten(1);
+        assertEquals(List.of("AD-1"), written);
+    }
+
+    private void awaitWritten(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (written.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static TicketEntity ticket(String id) {
+        return TicketEntity.builder()
+                .id(id)
+                .description("Test")
+                .status(TicketStatus.OPEN)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 10, 0))
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.repository;
+
+import org.example.exception.TicketRepositoryException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final AtomicInteger joined = new AtomicInteger();
+    private final SingleFlight<Integer> singleFlight = new SingleFlight<>(joined::incrementAndGet);
+
+    @Test
+    void run_shouldShareResultOfRunInFlight() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlight.Task<Integer> task = () -> {
+            started.countDown();
+            await(release);
+            return runs.incrementAndGet();
+        };
+
+        CompletableFuture<Integer> leader = CompletableFuture.supplyAsync(() -> run(task));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Integer> follower = CompletableFuture.supplyAsync(() -> run(task));
+        while (joined.get() == 0) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertEquals(1, leader.get(5, TimeUnit.SECONDS));
+        assertEquals(1, follower.get(5, TimeUnit.SECONDS));
+        assertEquals(2, singleFlight.run(task));
+    }
+
+    @Test
+    void run_shouldShareFailureOfRunInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TicketRepositoryException failure = new TicketRepositoryException("Failed to read tickets from database", null);
+        SingleFlight.Task<Integer> task = () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        };
+
+        CompletableFuture<Integer> leader = CompletableFuture.supplyAsync(() -> run(task));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<TicketRepositoryException> follower = CompletableFuture.supplyAsync(
+                () -> assertThrows(TicketRepositoryException.class, () -> singleFlight.run(task)));
+        while (joined.get() == 0) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertSame(failure, follower.get(5, TimeUnit.SECONDS));
+        assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+    }
+
+    private Integer run(SingleFlight.Task<Integer> task) {
+        try {
+            return singleFlight.run(task);
+        } catch (TicketRepositoryException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.repository;
+
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketRowDecoderTest {
+
+    private final TicketRowDecoder decoder = new TicketRowDecoder();
+
+    @Test
+    void decode_shouldMapAllColumnsAndShareParentIds() {
+        TicketEntity first = decoder.decode(List.of("AD-2", "Child", new String("AD-1"), "IN_PROGRESS", "2024-05-01T09:00", "2024-05-01T12:30:15.123456789"));
+        TicketEntity second = decoder.decode(List.of("AD-3", "Child", new String("AD-1"), "CLOSED", "2024-05-01T09:00:01"));
+
+        assertEquals("AD-2", first.getId());
+        assertEquals("Child", first.getDescription());
+        assertEquals(TicketStatus.IN_PROGRESS, first.getStatus());
+        assertEquals(LocalDateTime.of(2024, 5, 1, 9, 0), first.getCreatedAt());
+        assertEquals(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_789), first.getUpdatedAt());
+        assertNull(second.getUpdatedAt());
+        assertSame(first.getParentId(), second.getParentId());
+    }
+
+    @Test
+    void decode_shouldTreatMissingCellsAsEmpty() {
+        TicketEntity ticket = decoder.decode(List.of("AD-1", "", "", "OPEN", "2024-05-01T09:00"));
+
+        assertEquals("", ticket.getDescription());
+        assertNull(ticket.getParentId());
+    }
+
+    @Test
+    void decode_shouldRejectUnknownStatusAndMissingId() {
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(List.of("AD-1", "Test", "", "DONE", "2024-05-01T09:00")));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(List.of("", "Test", "", "OPEN", "2024-05-01T09:00")));
+    }
+
+    @Test
+    void parseTimestamp_shouldMatchLocalDateTimeParse() {
+        for (String value : List.of("2024-05-01T09:00", "2024-05-01T09:00:07", "2024-05-01T09:00:07.5",
+                "2024-02-29T23:59:59.000000001", "2024-05-01T09:00:07.", "+12345-01-01T00:00")) {
+            assertEquals(LocalDateTime.parse(value), TicketRowDecoder.parseTimestamp(value), value);
+        }
+        for (String value : List.of("", "2024-02-30T09:00", "2024-05-01 09:00", "yesterday")) {
+            assertNull(TicketRowDecoder.parseTimestamp(value), value);
+        }
+    }
+}
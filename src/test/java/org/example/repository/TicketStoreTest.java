@@ -0,0 +1,186 @@
+package org.example.repository;
+
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+import org.example.repository.event.TicketChangedEvent;
+import org.example.repository.event.TicketsReloadedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketStoreTest {
+
+    private TicketStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TicketStore(event -> { }, true);
+    }
+
+    @Test
+    void replaceAll_shouldMarkLoadedAndKeepLastDuplicate() {
+        assertFalse(store.isLoaded());
+
+        store.replaceAll(List.of(
+                ticket("AD-1", TicketStatus.OPEN, null),
+                ticket("AD-1", TicketStatus.CLOSED, null)
+        ));
+
+        assertTrue(store.isLoaded());
+        assertEquals(1, store.size());
+        assertEquals(TicketStatus.CLOSED, store.findById("AD-1").getStatus());
+        assertTrue(store.findByStatus(TicketStatus.OPEN).isEmpty());
+    }
+
+    @Test
+    void put_shouldMoveTicketBetweenStatusIndexes() {
+        store.replaceAll(List.of(ticket("AD-1", TicketStatus.OPEN, null)));
+
+        TicketEntity previous = store.put(ticket("AD-1", TicketStatus.IN_PROGRESS, null));
+
+        assertEquals(TicketStatus.OPEN, previous.getStatus());
+        assertTrue(store.findByStatus(TicketStatus.OPEN).isEmpty());
+        assertEquals(1, store.findByStatus(TicketStatus.IN_PROGRESS).size());
+    }
+
+    @Test
+    void findByStatus_shouldReturnSameSnapshotUntilPartitionChanges() {
+        store.replaceAll(List.of(
+                ticket("AD-1", TicketStatus.OPEN, null),
+                ticket("AD-2", TicketStatus.CLOSED, null)
+        ));
+
+        List<TicketEntity> open = store.findByStatus(TicketStatus.OPEN);
+        List<TicketEntity> closed = store.findByStatus(TicketStatus.CLOSED);
+        store.put(ticket("AD-3", TicketStatus.OPEN, null));
+
+        assertNotSame(open, store.findByStatus(TicketStatus.OPEN));
+        assertSame(closed, store.findByStatus(TicketStatus.CLOSED));
+        assertEquals(2, store.findByStatus(TicketStatus.OPEN).size());
+    }
+
+    @Test
+    void findByStatus_shouldPageInCreationOrderAfterCursor() {
+        LocalDateTime time = LocalDateTime.of(2024, 5, 1, 9, 0);
+        TicketEntity late = ticket("AD-1", TicketStatus.OPEN, null);
+        late.setCreatedAt(time.plusHours(1));
+        TicketEntity early = ticket("AD-2", TicketStatus.OPEN, null);
+        early.setCreatedAt(time);
+        TicketEntity tie = ticket("AD-3", TicketStatus.OPEN, null);
+        tie.setCreatedAt(time);
+        store.replaceAll(List.of(late, early, tie));
+
+        List<TicketEntity> firstPage = store.findByStatus(TicketStatus.OPEN, null, 2);
+        List<TicketEntity> secondPage = store.findByStatus(TicketStatus.OPEN, TicketCursor.of(firstPage.get(1)), 2);
+
+        assertEquals(List.of("AD-2", "AD-3"), firstPage.stream().map(TicketEntity::getId).toList());
+        assertEquals(List.of("AD-1"), secondPage.stream().map(TicketEntity::getId).toList());
+    }
+
+    @Test
+    void compareAndPut_shouldOnlyReplaceExpectedVersion() {
+        store.replaceAll(List.of(ticket("AD-1", TicketStatus.OPEN, null)));
+        TicketEntity stored = store.findAll().get(0);
+        store.put(ticket("AD-1", TicketStatus.IN_PROGRESS, null));
+
+        assertFalse(store.compareAndPut(stored, ticket("AD-1", TicketStatus.CLOSED, null)));
+        assertTrue(store.compareAndPut(store.findAll().get(0), null));
+        assertNull(store.findById("AD-1"));
+        assertTrue(store.findByStatus(TicketStatus.IN_PROGRESS).isEmpty());
+        assertTrue(store.compareAndPut(null, ticket("AD-1", TicketStatus.CLOSED, null)));
+    }
+
+    @Test
+    void events_shouldTellWhetherStoreBacksPrimaryRepository() {
+        List<Object> events = new ArrayList<>();
+        TicketStore mirror = new TicketStore(events::add, false);
+        mirror.replaceAll(List.of(ticket("AD-1", TicketStatus.OPEN, null)));
+        mirror.put(ticket("AD-1", TicketStatus.CLOSED, null));
+        mirror.compareAndPut(mirror.findByStatus(TicketStatus.CLOSED).get(0), null);
+
+        assertEquals(new TicketsReloadedEvent(1, false), events.get(0));
+        assertEquals(2, events.stream()
+                .filter(event -> event instanceof TicketChangedEvent changed && !changed.primary())
+                .count());
+    }
+
+    @Test
+    void events_shouldArriveInTheOrderChangesWereApplied() throws Exception {
+        List<TicketChangedEvent> events = Collections.synchronizedList(new ArrayList<>());
+        TicketStore ordered = new TicketStore(event -> events.add((TicketChangedEvent) event), true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 2000; i++) {
+            TicketStatus status = TicketStatus.values()[i % TicketStatus.values().length];
+            executor.execute(() -> ordered.put(ticket("AD-1", status, null)));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(2000, events.size());
+        assertNull(events.get(0).previous());
+        for (int i = 1; i < events.size(); i++) {
+            assertSame(events.get(i - 1).current(), events.get(i).previous());
+        }
+    }
+
+    @Test
+    void findByParentId_shouldReturnChildren() {
+        store.replaceAll(List.of(
+                ticket("AD-1", TicketStatus.OPEN, null),
+                ticket("AD-2", TicketStatus.OPEN, "AD-1"),
+                ticket("AD-3", TicketStatus.CLOSED, "AD-1")
+        ));
+
+        List<TicketEntity> children = store.findByParentId("AD-1");
+
+        assertEquals(List.of("AD-2", "AD-3"), children.stream().map(TicketEntity::getId).toList());
+        assertTrue(store.findByParentId("AD-2").isEmpty());
+    }
+
+    @Test
+    void findSubtree_shouldListDescendantsLevelByLevelAndStopAtCycles() {
+        store.replaceAll(List.of(
+                ticket("AD-1", TicketStatus.OPEN, null),
+                ticket("AD-2", TicketStatus.OPEN, "AD-1"),
+                ticket("AD-3", TicketStatus.CLOSED, "AD-2"),
+                ticket("AD-4", TicketStatus.OPEN, "AD-1"),
+                ticket("AD-5", TicketStatus.OPEN, "AD-6"),
+                ticket("AD-6", TicketStatus.OPEN, "AD-5")
+        ));
+
+        assertEquals(List.of("AD-1", "AD-2", "AD-4", "AD-3"),
+                store.findSubtree("AD-1").stream().map(TicketEntity::getId).toList());
+        assertEquals(List.of("AD-5", "AD-6"),
+                store.findSubtree("AD-5").stream().map(TicketEntity::getId).toList());
+        assertTrue(store.findSubtree("AD-404").isEmpty());
+    }
+
+    @Test
+    void findById_shouldReturnCopy() {
+        store.replaceAll(List.of(ticket("AD-1", TicketStatus.OPEN, null)));
+
+        store.findById("AD-1").setStatus(TicketStatus.CLOSED);
+
+        assertEquals(TicketStatus.OPEN, store.findById("AD-1").getStatus());
+        assertEquals(1, store.findByStatus(TicketStatus.OPEN).size());
+    }
+
+    private TicketEntity ticket(String id, TicketStatus status, String parentId) {
+        return TicketEntity.builder()
+                .id(id)
+                .description("Test")
+                .parentId(parentId)
+                .status(status)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.repository.snapshot;
+
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_shouldReturnWrittenTicketsAndRows() throws IOException {
+        TicketEntity parent = ticket("AD-1", TicketStatus.OPEN, null);
+        TicketEntity child = ticket("AD-2", TicketStatus.CLOSED, "AD-1");
+        child.setDescription("Überprüfung");
+        child.setUpdatedAt(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_789));
+        TicketEntity sibling = ticket("AD-3", TicketStatus.OPEN, "AD-1");
+        sibling.setCreatedAt(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_000_001));
+        Path path = directory.resolve("nested/tickets.snapshot");
+
+        TicketSnapshotFile.write(path, new TicketSnapshot(List.of(
+                new TicketSnapshot.Entry(parent, 2),
+                new TicketSnapshot.Entry(child, 3),
+                new TicketSnapshot.Entry(sibling, 5)
+        ), 5));
+        TicketSnapshot snapshot = TicketSnapshotFile.read(path);
+
+        assertEquals(5, snapshot.lastRow());
+        assertEquals(List.of(parent, child, sibling), snapshot.entries().stream().map(TicketSnapshot.Entry::ticket).toList());
+        assertEquals(List.of(2, 3, 5), snapshot.entries().stream().map(TicketSnapshot.Entry::rowNumber).toList());
+        assertSame(snapshot.entries().get(1).ticket().getParentId(), snapshot.entries().get(2).ticket().getParentId());
+    }
+
+    @Test
+    void read_shouldRejectCorruptedFile() throws IOException {
+        Path path = directory.resolve("tickets.snapshot");
+        TicketSnapshotFile.write(path, new TicketSnapshot(List.of(
+                new TicketSnapshot.Entry(ticket("AD-1", TicketStatus.OPEN, null), 2)
+        ), 2));
+        byte[] content = Files.readAllBytes(path);
+        content[content.length - 1] ^= 1;
+        Files.write(path, content);
+
+        assertThrows(IOException.class, () -> TicketSnapshotFile.read(path));
+    }
+
+    private TicketEntity ticket(String id, TicketStatus status, String parentId) {
+        return TicketEntity.builder()
+                .id(id)
+                .description("Test")
+                .parentId(parentId)
+                .status(status)
+                .createdAt(LocalDateTime.of(2024, 5, 1, 9, 0))
+                .build();
+    }
+}
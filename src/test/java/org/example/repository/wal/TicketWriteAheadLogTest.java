@@ -0,0 +1,184 @@
+package org.example.repository.wal;
+
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketWriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    private WalProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WalProperties();
+        properties.setDirectory(directory.toString());
+        properties.setFsyncPolicy(FsyncPolicy.PER_WRITE);
+    }
+
+    @Test
+    void replay_shouldReturnAppendedRecordsInOrder() throws IOException {
+        TicketEntity parent = ticket("AD-1", TicketStatus.OPEN);
+        TicketEntity child = ticket("AD-2", TicketStatus.CLOSED);
+        child.setParentId("AD-1");
+        child.setUpdatedAt(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000));
+
+        try (TicketWriteAheadLog wal = open()) {
+            wal.append(parent, false);
+            wal.append(child, true);
+        }
+
+        List<WalRecord> records = replay();
+
+        assertEquals(2, records.size());
+        assertEquals(parent, records.get(0).ticket());
+        assertEquals(child, records.get(1).ticket());
+        assertFalse(records.get(0).pending());
+        assertTrue(records.get(1).pending());
+        assertEquals(2, records.get(1).sequence());
+    }
+
+    @Test
+    void append_shouldContinueSequenceAfterReopen() throws IOException {
+        try (TicketWriteAheadLog wal = open()) {
+            wal.append(ticket("AD-1", TicketStatus.OPEN), false);
+        }
+        try (TicketWriteAheadLog wal = open()) {
+            assertEquals(2, wal.append(ticket("AD-2", TicketStatus.OPEN), false));
+        }
+
+        assertEquals(2, replay().size());
+    }
+
+    @Test
+    void checkpoint_shouldMarkPendingRecordsAsFlushed() throws IOException {
+        long first;
+        try (TicketWriteAheadLog wal = open()) {
+            first = wal.append(ticket("AD-1", TicketStatus.OPEN), true);
+            wal.append(ticket("AD-2", TicketStatus.OPEN), true);
+            wal.checkpoint(first);
+        }
+
+        try (TicketWriteAheadLog wal = new TicketWriteAheadLog(properties)) {
+            List<WalRecord> unflushed = new ArrayList<>();
+            wal.replay(record -> {
+                if (wal.isUnflushed(record)) {
+                    unflushed.add(record);
+                }
+            });
+            assertEquals(List.of("AD-2"), unflushed.stream().map(record -> record.ticket().getId()).toList());
+        }
+    }
+
+    @Test
+    void roll_shouldCompactSegmentsToLatestRecordPerTicket() throws IOException {
+        properties.setSegmentSize(DataSize.ofBytes(512));
+        properties.setCompactionThreshold(2);
+
+        try (TicketWriteAheadLog wal = open()) {
+            for (int i = 0; i < 40; i++) {
+                wal.append(ticket("AD-" + (i % 3), TicketStatus.values()[i % 3]), false);
+            }
+        }
+
+        List<WalRecord> records = replay();
+        assertEquals(40, records.get(records.size() - 1).sequence());
+        assertEquals(TicketStatus.OPEN, latest(records, "AD-0").getStatus());
+        assertEquals(TicketStatus.IN_PROGRESS, latest(records, "AD-1").getStatus());
+        assertTrue(records.size() < 40);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.filter(file -> file.toString().endsWith(".log")).count() <= 3);
+        }
+    }
+
+    @Test
+    void appendAll_shouldRecordRemovalsThatCompactionDrops() throws IOException {
+        properties.setSegmentSize(DataSize.ofBytes(512));
+        properties.setCompactionThreshold(2);
+
+        try (TicketWriteAheadLog wal = open()) {
+            wal.appendAll(List.of(ticket("AD-1", TicketStatus.OPEN), ticket("AD-2", TicketStatus.OPEN)));
+            wal.appendAll(List.of(), List.of("AD-1"));
+        }
+        List<WalRecord> records = replay();
+        assertTrue(records.get(2).removed());
+        assertEquals("AD-1", records.get(2).ticket().getId());
+        assertFalse(records.get(2).pending());
+
+        try (TicketWriteAheadLog wal = open()) {
+            for (int i = 0; i < 20; i++) {
+                wal.append(ticket("AD-2", TicketStatus.OPEN), false);
+            }
+        }
+        assertTrue(replay().stream().noneMatch(record -> record.ticket().getId().equals("AD-1")));
+    }
+
+    @Test
+    void replay_shouldStopAtCorruptedRecord() throws IOException {
+        try (TicketWriteAheadLog wal = open()) {
+            wal.append(ticket("AD-1", TicketStatus.OPEN), false);
+            wal.append(ticket("AD-2", TicketStatus.OPEN), false);
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(file -> file.toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+        byte[] bytes = Files.readAllBytes(segment);
+        int secondRecord = 8 + ((bytes[0] & 0xFF) << 24 | (bytes[1] & 0xFF) << 16 | (bytes[2] & 0xFF) << 8 | bytes[3] & 0xFF);
+        bytes[secondRecord + 10] ^= 0x5A;
+        Files.write(segment, bytes);
+
+        List<WalRecord> records = replay();
+
+        assertEquals(1, records.size());
+        assertEquals("AD-1", records.get(0).ticket().getId());
+    }
+
+    private TicketWriteAheadLog open() throws IOException {
+        TicketWriteAheadLog wal = new TicketWriteAheadLog(properties);
+        wal.replay(record -> { });
+        return wal;
+    }
+
+    private List<WalRecord> replay() throws IOException {
+        List<WalRecord> records = new ArrayList<>();
+        try (TicketWriteAheadLog wal = new TicketWriteAheadLog(properties)) {
+            wal.replay(records::add);
+        }
+        return records;
+    }
+
+    private TicketEntity latest(List<WalRecord> records, String id) {
+        TicketEntity latest = null;
+        for (WalRecord record : records) {
+            if (record.ticket().getId().equals(id)) {
+                latest = record.ticket();
+            }
+        }
+        return latest;
+    }
+
+    private TicketEntity ticket(String id, TicketStatus status) {
+        return TicketEntity.builder()
+                .id(id)
+                .description("Printer on floor " + id + " is out of toner")
+                .status(status)
+                .createdAt(LocalDateTime.of(2024, 5, 1, 9, 0))
+                .build();
+    }
+}
@@ -1,14 +1,19 @@
 package org.example.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
+import org.example.config.CacheProperties;
 import org.example.dto.request.CreateTicketRequest;
+import org.example.dto.request.TicketStatusUpdate;
 import org.example.dto.request.UpdateTicketRequest;
 import org.example.entity.TicketEntity;
 import org.example.enums.TicketStatus;
 import org.example.exception.TicketRepositoryException;
 import org.example.mapper.TicketMapper;
 import org.example.mapper.TicketMapperImpl;
+import org.example.repository.ExecutorAsyncTicketRepository;
 import org.example.repository.TicketRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,10 +24,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 
 import static org.example.enums.TicketStatus.OPEN;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -40,11 +49,24 @@ public class ManageTicketsServiceImplTest {
 
     private TicketMapper ticketMapper = Mappers.getMapper(TicketMapper.class);
 
+    private TicketByIdCache ticketByIdCache;
+
+    private ExecutorAsyncTicketRepository asyncTicketRepository;
+
 
     @BeforeEach
     void setUp() {
         ticketMapper = new TicketMapperImpl();
-        service = new ManageTicketsServiceImpl(ticketRepository, ticketMapper, idGenerator);
+        asyncTicketRepository = new ExecutorAsyncTicketRepository(ticketRepository);
+        ticketByIdCache = new TicketByIdCache(ticketRepository, new CacheProperties(), new SimpleMeterRegistry(),
+                asyncTicketRepository.executor());
+        service = new ManageTicketsServiceImpl(ticketRepository, ticketMapper, idGenerator, ticketByIdCache,
+                asyncTicketRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncTicketRepository.stop();
     }
 
 
@@ -63,6 +85,7 @@ public class ManageTicketsServiceImplTest {
                         .createdAt(LocalDateTime.now())
                         .build();
 
+        when(ticketRepository.findById("AD-01")).thenReturn(TicketEntity.builder().id("AD-01").status(OPEN).build());
         when(ticketRepository.saveTicket(any())).thenReturn(responseEntity);
 
 
@@ -76,6 +99,128 @@ public class ManageTicketsServiceImplTest {
 //        verify(ticketRepository).save(any());
     }
 
+    @Test
+    void createTicket_shouldRejectParentInCycle() throws TicketRepositoryException {
+        CreateTicketRequest request = new CreateTicketRequest();
+        request.setDescription("Test description");
+        request.setParentId("AD-1");
+
+        when(ticketRepository.findById("AD-1")).thenReturn(TicketEntity.builder().id("AD-1").parentId("AD-2").status(OPEN).build());
+        when(ticketRepository.findById("AD-2")).thenReturn(TicketEntity.builder().id("AD-2").parentId("AD-1").status(OPEN).build());
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> service.createTicket(request));
+
+        assertEquals("Parent ticket AD-1 is part of a cycle in the ticket hierarchy", ex.getMessage());
+        verify(ticketRepository, never()).saveTicket(any());
+    }
+
+    @Test
+    void getSubtree_shouldThrowWhenTicketIsMissing() throws TicketRepositoryException {
+        when(ticketRepository.findSubtree("AD-404")).thenReturn(List.of());
+
+        assertThrows(EntityNotFoundException.class, () -> service.getSubtree("AD-404"));
+    }
+
+    @Test
+    void createTicketAsync_shouldNotWriteWhenParentIsMissing() throws TicketRepositoryException {
+        CreateTicketRequest request = new CreateTicketRequest();
+        request.setDescription("Test description");
+        request.setParentId("AD-404");
+
+        when(ticketRepository.findById("AD-404")).thenReturn(null);
+
+        CompletionException ex = assertThrows(CompletionException.class, () -> service.createTicketAsync(request).join());
+
+        assertInstanceOf(EntityNotFoundException.class, ex.getCause());
+        assertEquals("Parent ticket with ID AD-404 not found", ex.getCause().getMessage());
+        verify(ticketRepository, never()).saveTicket(any());
+    }
+
+    @Test
+    void updateTicketAsync_shouldSaveUpdatedTicket() throws TicketRepositoryException {
+        String ticketId = "AD-1";
+        UpdateTicketRequest request = new UpdateTicketRequest();
+        request.setStatus(TicketStatus.CLOSED);
+
+        when(ticketRepository.findById(ticketId)).thenReturn(TicketEntity.builder().id(ticketId).status(TicketStatus.OPEN).build());
+        when(ticketRepository.saveTicket(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TicketEntity result = service.updateTicketAsync(ticketId, request).join();
+
+        assertEquals(TicketStatus.CLOSED, result.getStatus());
+        assertNotNull(result.getUpdatedAt());
+    }
+
+    @Test
+    void createTicketAsync_shouldLookUpParentThroughCache() throws TicketRepositoryException {
+        CreateTicketRequest request = new CreateTicketRequest();
+        request.setDescription("Test description");
+        request.setParentId("AD-1");
+
+        when(ticketRepository.findById("AD-1")).thenReturn(TicketEntity.builder().id("AD-1").status(OPEN).build());
+        when(ticketRepository.saveTicket(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ticketByIdCache.findById("AD-1");
+        TicketEntity created = service.createTicketAsync(request).join();
+
+        assertEquals("AD-1", created.getParentId());
+        verify(ticketRepository, times(1)).findById("AD-1");
+    }
+
+    @Test
+    void createTickets_shouldSaveValidItemsInOneCallAndReportTheOthers() throws TicketRepositoryException {
+        CreateTicketRequest valid = new CreateTicketRequest();
+        valid.setDescription("Valid");
+        CreateTicketRequest missingDescription = new CreateTicketRequest();
+        CreateTicketRequest unknownParent = new CreateTicketRequest();
+        unknownParent.setDescription("Orphan");
+        unknownParent.setParentId("AD-404");
+
+        when(ticketRepository.findById("AD-404")).thenReturn(null);
+        when(idGenerator.generateIds(1)).thenReturn(List.of("AD-1"));
+        when(ticketRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BatchItemResult> results = service.createTickets(List.of(valid, missingDescription, unknownParent));
+
+        assertEquals(List.of(BatchItemResult.Outcome.CREATED, BatchItemResult.Outcome.INVALID, BatchItemResult.Outcome.NOT_FOUND),
+                results.stream().map(BatchItemResult::outcome).toList());
+        assertEquals("AD-1", results.get(0).ticket().getId());
+        assertEquals(OPEN, results.get(0).ticket().getStatus());
+        verify(ticketRepository).saveAll(argThat(tickets -> tickets.size() == 1));
+    }
+
+    @Test
+    void updateTicketStatuses_shouldReportUnknownTickets() throws TicketRepositoryException {
+        when(ticketRepository.findById("AD-1")).thenReturn(TicketEntity.builder().id("AD-1").status(OPEN).build());
+        when(ticketRepository.findById("AD-404")).thenReturn(null);
+        when(ticketRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BatchItemResult> results = service.updateTicketStatuses(List.of(
+                new TicketStatusUpdate("AD-1", TicketStatus.CLOSED),
+                new TicketStatusUpdate("AD-404", TicketStatus.CLOSED)));
+
+        assertEquals(BatchItemResult.Outcome.UPDATED, results.get(0).outcome());
+        assertEquals(TicketStatus.CLOSED, results.get(0).ticket().getStatus());
+        assertEquals(BatchItemResult.Outcome.NOT_FOUND, results.get(1).outcome());
+        assertEquals("Ticket with ID AD-404 not found", results.get(1).error());
+    }
+
+    @Test
+    void updateTicketStatuses_shouldRejectRepeatedTickets() throws TicketRepositoryException {
+        when(ticketRepository.findById("AD-1")).thenReturn(TicketEntity.builder().id("AD-1").status(OPEN).build());
+        when(ticketRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BatchItemResult> results = service.updateTicketStatuses(List.of(
+                new TicketStatusUpdate("AD-1", TicketStatus.IN_PROGRESS),
+                new TicketStatusUpdate("AD-1", TicketStatus.CLOSED)));
+
+        assertEquals(BatchItemResult.Outcome.UPDATED, results.get(0).outcome());
+        assertEquals(TicketStatus.IN_PROGRESS, results.get(0).ticket().getStatus());
+        assertEquals(BatchItemResult.Outcome.INVALID, results.get(1).outcome());
+        assertEquals("Ticket with ID AD-1 is already updated by item 0", results.get(1).error());
+        verify(ticketRepository).saveAll(argThat(saved -> saved.size() == 1));
+    }
+
     @Test
     public void updateTicket_OK() throws TicketRepositoryException {
         String ticketId = "AD-1";
@@ -86,12 +231,14 @@ public class ManageTicketsServiceImplTest {
         TicketEntity updated = TicketEntity.builder().id(ticketId).status(TicketStatus.CLOSED).build();
 
         when(ticketRepository.findById(ticketId)).thenReturn(existing);
-        when(ticketRepository.saveTicket(existing)).thenReturn(updated);
+        when(ticketRepository.saveTicket(any())).thenReturn(updated);
 
         TicketEntity result = service.updateTicket(ticketId, request);
 
         assertEquals(TicketStatus.CLOSED, result.getStatus());
-        verify(ticketRepository).saveTicket(existing);
+        verify(ticketRepository).saveTicket(argThat(saved -> ticketId.equals(saved.getId())
+                && saved.getStatus() == TicketStatus.CLOSED
+                && saved.getUpdatedAt() != null));
 
     }
 
@@ -117,7 +264,7 @@ public class ManageTicketsServiceImplTest {
                 TicketEntity.builder().id("AD-1").status(TicketStatus.OPEN).build()
         );
 
-        when(ticketRepository.findAll()).thenReturn(tickets);
+        when(ticketRepository.findByStatus(OPEN)).thenReturn(tickets);
 
         List<TicketEntity> result = service.getTicketsByStatus(OPEN);
 
@@ -0,0 +1,88 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.CacheProperties;
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+import org.example.exception.TicketRepositoryException;
+import org.example.repository.TicketRepository;
+import org.example.repository.event.TicketChangedEvent;
+import org.example.repository.event.TicketsReloadedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketByIdCacheTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TicketByIdCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TicketByIdCache(ticketRepository, new CacheProperties(), meterRegistry, Runnable::run);
+    }
+
+    @Test
+    void findById_shouldCacheMissingTicketUntilItIsCreated() throws TicketRepositoryException {
+        TicketEntity created = ticket("AD-1");
+        when(ticketRepository.findById("AD-1")).thenReturn(null, created);
+
+        assertNull(cache.findById("AD-1"));
+        assertNull(cache.findById("AD-1"));
+        cache.onTicketChanged(new TicketChangedEvent(null, created, true));
+
+        assertEquals("AD-1", cache.findById("AD-1").getId());
+        verify(ticketRepository, times(2)).findById("AD-1");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", TicketByIdCache.NAME).tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void onTicketChanged_shouldIgnoreChangesOfSheetsMirror() throws TicketRepositoryException {
+        TicketEntity ticket = ticket("AD-1");
+        when(ticketRepository.findById("AD-1")).thenReturn(ticket);
+
+        cache.findById("AD-1");
+        cache.onTicketChanged(new TicketChangedEvent(ticket, ticket("AD-1"), false));
+        cache.onTicketsReloaded(new TicketsReloadedEvent(1, false));
+        cache.findById("AD-1");
+
+        verify(ticketRepository, times(1)).findById("AD-1");
+    }
+
+    @Test
+    void findById_shouldReturnCopyThatDoesNotChangeCachedTicket() throws TicketRepositoryException {
+        when(ticketRepository.findById("AD-1")).thenReturn(ticket("AD-1"));
+
+        cache.findById("AD-1").setStatus(TicketStatus.CLOSED);
+
+        assertEquals(TicketStatus.OPEN, cache.findById("AD-1").getStatus());
+    }
+
+    @Test
+    void findById_shouldNotCacheFailures() throws TicketRepositoryException {
+        when(ticketRepository.findById("AD-1"))
+                .thenThrow(new TicketRepositoryException("Unavailable", new IOException()))
+                .thenReturn(ticket("AD-1"));
+
+        assertThrows(TicketRepositoryException.class, () -> cache.findById("AD-1"));
+        assertNotNull(cache.findById("AD-1"));
+    }
+
+    private TicketEntity ticket(String id) {
+        return TicketEntity.builder().id(id).description("Test").status(TicketStatus.OPEN).build();
+    }
+}
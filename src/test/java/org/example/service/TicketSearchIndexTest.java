@@ -0,0 +1,133 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.CacheProperties;
+import org.example.config.TicketSearchProperties;
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+import org.example.exception.TicketRepositoryException;
+import org.example.repository.TicketRepository;
+import org.example.repository.event.TicketChangedEvent;
+import org.example.repository.event.TicketsReloadedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketSearchIndexTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    private final Map<String, TicketEntity> tickets = new HashMap<>();
+
+    private TicketSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws TicketRepositoryException {
+        lenient().when(ticketRepository.findById(anyString())).thenAnswer(invocation -> tickets.get(invocation.<String>getArgument(0)));
+        TicketByIdCache cache = new TicketByIdCache(ticketRepository, new CacheProperties(), new SimpleMeterRegistry(), Runnable::run);
+        index = new TicketSearchIndex(ticketRepository, cache, new TicketSearchProperties());
+    }
+
+    @Test
+    void search_shouldMatchAllWordsAsPrefixesAndRankByRelevance() throws TicketRepositoryException {
+        load(
+                ticket("AD-1", "Printer on the third floor is out of toner"),
+                ticket("AD-2", "Print queue stuck, printer printer PRINTER"),
+                ticket("AD-3", "VPN disconnects every few minutes"),
+                ticket("AD-4", "Printing fails on the second floor")
+        );
+
+        assertEquals(List.of("AD-2", "AD-4", "AD-1"), ids(index.search("print", 10)));
+        assertEquals(List.of("AD-2", "AD-1"), ids(index.search("printer", 10)));
+        assertEquals(List.of("AD-4", "AD-1"), ids(index.search("Floor PRINT", 10)));
+        assertEquals(List.of("AD-2"), ids(index.search("print", 1)));
+        assertTrue(index.search("scanner", 10).isEmpty());
+        assertTrue(index.search(" ,. ", 10).isEmpty());
+        verify(ticketRepository, times(1)).findAll();
+    }
+
+    @Test
+    void search_shouldRankEqualScoresByCreationTimeNewestFirst() throws TicketRepositoryException {
+        TicketEntity newer = ticket("AD-1", "Laptop battery drains fast");
+        newer.setCreatedAt(LocalDateTime.of(2024, 3, 2, 9, 0));
+        TicketEntity older = ticket("AD-2", "Laptop battery drains fast");
+        older.setCreatedAt(LocalDateTime.of(2024, 3, 1, 9, 0));
+        load(newer, older);
+
+        assertEquals(List.of("AD-1", "AD-2"), ids(index.search("battery", 10)));
+        assertEquals(List.of("AD-1"), ids(index.search("battery", 1)));
+    }
+
+    @Test
+    void onTicketChanged_shouldReindexNewDescriptionsAndDropRemovedTickets() throws TicketRepositoryException {
+        TicketEntity vpn = ticket("AD-1", "VPN disconnects every few minutes");
+        TicketEntity monitor = ticket("AD-2", "Monitor flickers");
+        load(vpn, monitor);
+        index.search("vpn", 10);
+
+        TicketEntity renamed = ticket("AD-1", "Docking station not detected");
+        tickets.put("AD-1", renamed);
+        index.onTicketChanged(new TicketChangedEvent(vpn, renamed, true));
+        index.onTicketChanged(new TicketChangedEvent(monitor, null, true));
+        TicketEntity created = ticket("AD-3", "Second docking station request");
+        tickets.put("AD-3", created);
+        index.onTicketChanged(new TicketChangedEvent(null, created, true));
+
+        assertTrue(index.search("vpn", 10).isEmpty());
+        assertTrue(index.search("monitor", 10).isEmpty());
+        assertEquals(List.of("AD-3", "AD-1"), ids(index.search("dock station", 10)));
+        verify(ticketRepository, times(1)).findAll();
+    }
+
+    @Test
+    void onTicketChanged_shouldIgnoreChangesOfSheetsMirror() throws TicketRepositoryException {
+        TicketEntity vpn = ticket("AD-1", "VPN disconnects every few minutes");
+        load(vpn);
+        index.search("vpn", 10);
+
+        index.onTicketChanged(new TicketChangedEvent(vpn, ticket("AD-1", "Docking station not detected"), false));
+        index.onTicketChanged(new TicketChangedEvent(null, ticket("AD-2", "Second VPN account"), false));
+        index.onTicketsReloaded(new TicketsReloadedEvent(2, false));
+
+        assertEquals(List.of("AD-1"), ids(index.search("vpn", 10)));
+        assertTrue(index.search("dock", 10).isEmpty());
+        verify(ticketRepository, times(1)).findAll();
+    }
+
+    @Test
+    void tokenize_shouldSplitAtNonAlphanumericsAndLowerCase() {
+        assertEquals(List.of("can", "t", "log", "in", "über", "vpn2"), TicketSearchIndex.tokenize("Can't log-in: ÜBER  VPN2!"));
+        assertTrue(TicketSearchIndex.tokenize(null).isEmpty());
+    }
+
+    private void load(TicketEntity... loaded) throws TicketRepositoryException {
+        for (TicketEntity ticket : loaded) {
+            tickets.put(ticket.getId(), ticket);
+        }
+        when(ticketRepository.findAll()).thenReturn(List.of(loaded));
+    }
+
+    private static List<String> ids(List<TicketEntity> found) {
+        return found.stream().map(TicketEntity::getId).toList();
+    }
+
+    private static TicketEntity ticket(String id, String description) {
+        return TicketEntity.builder().id(id).description(description).status(TicketStatus.OPEN).build();
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.service;
+
+import org.example.config.TicketStatsProperties;
+import org.example.entity.TicketEntity;
+import org.example.enums.TicketStatus;
+import org.example.exception.TicketRepositoryException;
+import org.example.repository.TicketRepository;
+import org.example.repository.event.TicketChangedEvent;
+import org.example.repository.event.TicketsReloadedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketStatisticsTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 5, 1, 0, 0);
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    private TicketStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new TicketStatistics(ticketRepository, new TicketStatsProperties());
+    }
+
+    @Test
+    void snapshot_shouldBuildOnceAndThenFollowChanges() throws TicketRepositoryException {
+        TicketEntity open = ticket("AD-1", TicketStatus.OPEN, DAY.plusHours(9), null);
+        when(ticketRepository.findAll()).thenReturn(List.of(
+                open,
+                ticket("AD-2", TicketStatus.CLOSED, DAY.plusHours(10), DAY.plusHours(12))
+        ));
+
+        statistics.snapshot();
+        TicketEntity closed = ticket("AD-1", TicketStatus.CLOSED, DAY.plusHours(9), DAY.plusDays(1).plusHours(1));
+        statistics.onTicketChanged(new TicketChangedEvent(open, closed, true));
+        statistics.onTicketChanged(new TicketChangedEvent(null, ticket("AD-3", TicketStatus.OPEN, DAY.plusDays(1), null), true));
+        TicketStatistics.Snapshot snapshot = statistics.snapshot();
+
+        verify(ticketRepository, times(1)).findAll();
+        assertEquals(3, snapshot.total());
+        assertEquals(1, snapshot.byStatus().get(TicketStatus.OPEN));
+        assertEquals(0, snapshot.byStatus().get(TicketStatus.IN_PROGRESS));
+        assertEquals(2, snapshot.byStatus().get(TicketStatus.CLOSED));
+        assertEquals(List.of(
+                new TicketStatistics.Bucket(DAY, 2, 1),
+                new TicketStatistics.Bucket(DAY.plusDays(1), 1, 1)
+        ), snapshot.buckets());
+        assertEquals(Duration.ofHours(9), snapshot.averageTimeToClose());
+    }
+
+    @Test
+    void onTicketChanged_shouldStopCountingReopenedTicketAsClosed() throws TicketRepositoryException {
+        TicketEntity closed = ticket("AD-1", TicketStatus.CLOSED, DAY, DAY.plusHours(2));
+        when(ticketRepository.findAll()).thenReturn(List.of(closed));
+
+        statistics.snapshot();
+        statistics.onTicketChanged(new TicketChangedEvent(closed, ticket("AD-1", TicketStatus.OPEN, DAY, DAY.plusHours(3)), true));
+        TicketStatistics.Snapshot snapshot = statistics.snapshot();
+
+        assertEquals(0, snapshot.byStatus().get(TicketStatus.CLOSED));
+        assertEquals(List.of(new TicketStatistics.Bucket(DAY, 1, 0)), snapshot.buckets());
+        assertNull(snapshot.averageTimeToClose());
+    }
+
+    @Test
+    void onTicketsReloaded_shouldRebuildOnNextRead() throws TicketRepositoryException {
+        when(ticketRepository.findAll()).thenReturn(
+                List.of(ticket("AD-1", TicketStatus.OPEN, DAY, null)),
+                List.of(ticket("AD-1", TicketStatus.OPEN, DAY, null), ticket("AD-2", TicketStatus.OPEN, DAY, null))
+        );
+
+        assertEquals(1, statistics.snapshot().total());
+        statistics.onTicketsReloaded(new TicketsReloadedEvent(2, true));
+
+        assertEquals(2, statistics.snapshot().total());
+        verify(ticketRepository, times(2)).findAll();
+    }
+
+    @Test
+    void events_shouldIgnoreChangesOfSheetsMirror() throws TicketRepositoryException {
+        TicketEntity open = ticket("AD-1", TicketStatus.OPEN, DAY, null);
+        when(ticketRepository.findAll()).thenReturn(List.of(open));
+
+        statistics.snapshot();
+        statistics.onTicketChanged(new TicketChangedEvent(open, ticket("AD-1", TicketStatus.CLOSED, DAY, DAY.plusHours(1)), false));
+        statistics.onTicketChanged(new TicketChangedEvent(null, ticket("AD-2", TicketStatus.OPEN, DAY, null), false));
+        statistics.onTicketsReloaded(new TicketsReloadedEvent(2, false));
+        TicketStatistics.Snapshot snapshot = statistics.snapshot();
+
+        verify(ticketRepository, times(1)).findAll();
+        assertEquals(1, snapshot.total());
+        assertEquals(1, snapshot.byStatus().get(TicketStatus.OPEN));
+    }
+
+    private TicketEntity ticket(String id, TicketStatus status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        return TicketEntity.builder()
+                .id(id)
+                .description("Test")
+                .status(status)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}